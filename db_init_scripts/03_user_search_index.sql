@@ -0,0 +1,8 @@
+-- Identity Service - fuzzy user name search
+-- Trigram index over the full name used by GET /api/v1/users/search/name
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- The indexed expression must match the one used in UserJpaRepository.searchByName exactly
+CREATE INDEX IF NOT EXISTS idx_users_full_name_trgm
+    ON users USING GIN ((first_name || ' ' || last_name) gin_trgm_ops);
@@ -0,0 +1,5 @@
+-- Identity Service - pooled id allocation for users
+-- UserEntity reserves ids in blocks of 50 (Hibernate pooled optimizer) so inserts can be JDBC-batched.
+-- The increment must match @SequenceGenerator(allocationSize) on UserEntity.
+
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
@@ -0,0 +1,7 @@
+-- Identity Service - per-user session epoch
+-- Every session (and token) records the epoch it was issued under; bumping users.session_epoch
+-- revokes all of a user's sessions in one write. Validation compares the two integers.
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS session_epoch INTEGER NOT NULL DEFAULT 0;
+
+ALTER TABLE user_sessions ADD COLUMN IF NOT EXISTS session_epoch INTEGER NOT NULL DEFAULT 0;
@@ -0,0 +1,7 @@
+-- Identity Service - per-user audit history index
+-- History is read newest first with an id keyset (WHERE user_id = ? AND id < ? ORDER BY id DESC),
+-- which this index answers without a sort. It also covers the user_id foreign key lookups.
+
+CREATE INDEX IF NOT EXISTS idx_user_audit_logs_user_id_id ON user_audit_logs (user_id, id DESC);
+
+DROP INDEX IF EXISTS idx_user_audit_logs_user_id;
@@ -0,0 +1,6 @@
+-- Identity Service - incremental export index
+-- GET /api/v1/users/export?since=... streams WHERE updated_at >= ? ORDER BY updated_at, id, which this
+-- index answers as an ordered range scan, so the server-side cursor starts returning rows immediately
+-- instead of sorting every changed row first.
+
+CREATE INDEX IF NOT EXISTS idx_users_updated_at_id ON users (updated_at, id);
@@ -0,0 +1,27 @@
+-- Identity Service - collection version for list ETags
+-- List, search and export ETags combine max(users.updated_at), answered from idx_users_updated_at_id,
+-- with this counter. Inserts and updates already move updated_at; deletions do not, so they are
+-- counted here instead of counting every row of users on each request. The counter row is only
+-- written by statements that actually delete users, and becomes visible with their commit.
+
+CREATE TABLE IF NOT EXISTS user_deletion_counter (
+    id BOOLEAN PRIMARY KEY DEFAULT TRUE CHECK (id),
+    deletions BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO user_deletion_counter (id) VALUES (TRUE) ON CONFLICT DO NOTHING;
+
+CREATE OR REPLACE FUNCTION count_user_deletions()
+RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE user_deletion_counter
+    SET deletions = deletions + (SELECT count(*) FROM deleted_users)
+    WHERE EXISTS (SELECT 1 FROM deleted_users);
+    RETURN NULL;
+END;
+$$ language 'plpgsql';
+
+DROP TRIGGER IF EXISTS count_users_deleted ON users;
+CREATE TRIGGER count_users_deleted AFTER DELETE ON users
+    REFERENCING OLD TABLE AS deleted_users
+    FOR EACH STATEMENT EXECUTE FUNCTION count_user_deletions();
@@ -0,0 +1,49 @@
+#!/usr/bin/env bash
+# Compares throughput and p99 latency of platform-thread and virtual-thread request execution.
+# Requires a running PostgreSQL (docker compose up postgres_identity-service) and `hey`
+# (https://github.com/rakyll/hey) on the PATH.
+#
+#   scripts/benchmark-threading.sh                      # defaults below
+#   TARGET_PATH=/api/v1/users/1 CONCURRENCY=400 DURATION=60s scripts/benchmark-threading.sh
+set -euo pipefail
+
+PORT=${PORT:-18081}
+TARGET_PATH=${TARGET_PATH:-/api/v1/users?size=20}
+CONCURRENCY=${CONCURRENCY:-200}
+DURATION=${DURATION:-30s}
+WARMUP=${WARMUP:-10s}
+EXTRA_ARGS=${EXTRA_ARGS:-}
+
+cd "$(dirname "$0")/.."
+./gradlew -q bootJar
+JAR=$(ls build/libs/*.jar | grep -v -- '-plain' | head -n 1)
+
+run_mode() {
+    local mode=$1 virtual=$2
+    java -jar "$JAR" --server.port="$PORT" --spring.jpa.show-sql=false \
+        --spring.threads.virtual.enabled="$virtual" $EXTRA_ARGS > "build/benchmark-$mode.log" 2>&1 &
+    local pid=$!
+    trap "kill $pid 2>/dev/null || true" EXIT
+
+    for _ in $(seq 1 60); do
+        curl -fs "http://localhost:$PORT/api/v1/users/count" > /dev/null && break
+        sleep 1
+    done
+
+    hey -z "$WARMUP" -c "$CONCURRENCY" "http://localhost:$PORT$TARGET_PATH" > /dev/null
+    local report
+    report=$(hey -z "$DURATION" -c "$CONCURRENCY" "http://localhost:$PORT$TARGET_PATH")
+    local rps p99 non200
+    rps=$(awk '/Requests\/sec/ {print $2}' <<< "$report")
+    p99=$(awk '/ 99% in / {print $3}' <<< "$report")
+    non200=$(awk '/\[[0-9]+\]/ && !/\[200\]/ {sum += $2} END {print sum + 0}' <<< "$report")
+    printf '%-10s %12s %12s %12s\n' "$mode" "$rps" "${p99}s" "$non200"
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+printf '%-10s %12s %12s %12s\n' "mode" "req/s" "p99" "non-200"
+run_mode platform false
+run_mode virtual true
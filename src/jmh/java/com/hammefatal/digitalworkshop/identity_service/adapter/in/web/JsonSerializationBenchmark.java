@@ -0,0 +1,64 @@
+package com.hammefatal.digitalworkshop.identity_service.adapter.in.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.hammefatal.digitalworkshop.identity_service.domain.CursorPage;
+import com.hammefatal.digitalworkshop.identity_service.domain.User;
+import com.hammefatal.digitalworkshop.identity_service.domain.UserSummary;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response serialization with an ObjectMapper configured as Spring Boot configures it. {@code page}
+ * is a full default-size listing page.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"50"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private User user;
+    private CursorPage<UserSummary> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        user = new User("jane.doe", "jane.doe@example.com", "pbkdf2-sha256$210000$c2FsdA$aGFzaA", "Jane", "Doe");
+        user.setId(42L);
+        user.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        user.setCreatedAt(LocalDateTime.now());
+        user.setUpdatedAt(LocalDateTime.now());
+        List<UserSummary> items = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            items.add(new UserSummary((long) i, "user" + i, "First" + i, "Last" + i, User.AccountStatus.ACTIVE, LocalDateTime.now()));
+        }
+        page = new CursorPage<>(items, "MTAw");
+    }
+
+    @Benchmark
+    public byte[] serializeUser() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,47 @@
+package com.hammefatal.digitalworkshop.identity_service.adapter.out.crypto;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of one hash and one verification at the production iteration floor. The target latency is
+ * set low so calibration does not raise the count above {@code minIterations} on fast machines.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(1)
+public class Pbkdf2PasswordHasherBenchmark {
+
+    @Param({"210000"})
+    private int minIterations;
+
+    private Pbkdf2PasswordHasher passwordHasher;
+    private String encodedPassword;
+
+    @Setup
+    public void setUp() {
+        passwordHasher = new Pbkdf2PasswordHasher(Duration.ofMillis(1), minIterations, 1, 16, Duration.ofSeconds(30));
+        encodedPassword = passwordHasher.hash("correct horse battery staple");
+    }
+
+    @TearDown
+    public void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Benchmark
+    public String hash() {
+        return passwordHasher.hash("correct horse battery staple");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordHasher.matches("correct horse battery staple", encodedPassword);
+    }
+}
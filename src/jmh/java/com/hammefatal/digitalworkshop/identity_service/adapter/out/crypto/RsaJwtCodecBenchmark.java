@@ -0,0 +1,62 @@
+package com.hammefatal.digitalworkshop.identity_service.adapter.out.crypto;
+
+import com.hammefatal.digitalworkshop.identity_service.domain.AccessTokenClaims;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded access token throughput, i.e. per core. {@code verifyUncached} cycles through
+ * more tokens than the codec caches, so every call pays for the RSA verification.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class RsaJwtCodecBenchmark {
+
+    private static final int TOKEN_COUNT = 1024;
+
+    private RsaJwtCodec cachingCodec;
+    private RsaJwtCodec nonCachingCodec;
+    private AccessTokenClaims claims;
+    private String cachedToken;
+    private String[] uncachedTokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        cachingCodec = new RsaJwtCodec("identity-service", "", false, 3, 100_000);
+        nonCachingCodec = new RsaJwtCodec("identity-service", "", false, 3, 1);
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        claims = new AccessTokenClaims(42L, 7L, 0, now, now.plus(1, ChronoUnit.HOURS));
+        cachedToken = cachingCodec.encode(claims);
+        uncachedTokens = new String[TOKEN_COUNT];
+        for (int i = 0; i < TOKEN_COUNT; i++) {
+            uncachedTokens[i] = nonCachingCodec.encode(new AccessTokenClaims((long) i, 7L, 0, now, now.plus(1, ChronoUnit.HOURS)));
+        }
+    }
+
+    @Benchmark
+    public String sign() {
+        return cachingCodec.encode(claims);
+    }
+
+    @Benchmark
+    public Optional<AccessTokenClaims> verifyCached() {
+        return cachingCodec.decode(cachedToken);
+    }
+
+    @Benchmark
+    public Optional<AccessTokenClaims> verifyUncached() {
+        String token = uncachedTokens[next];
+        next = (next + 1) & (TOKEN_COUNT - 1);
+        return nonCachingCodec.decode(token);
+    }
+}
@@ -0,0 +1,48 @@
+package com.hammefatal.digitalworkshop.identity_service.adapter.out.persistence;
+
+import com.hammefatal.digitalworkshop.identity_service.domain.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Domain/entity mapping cost, paid on every repository read and write.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class UserMapperBenchmark {
+
+    private UserMapper userMapper;
+    private User user;
+    private UserEntity entity;
+
+    @Setup
+    public void setUp() {
+        userMapper = new UserMapper();
+        user = new User("jane.doe", "jane.doe@example.com", "pbkdf2-sha256$210000$c2FsdA$aGFzaA", "Jane", "Doe");
+        user.setId(42L);
+        user.setPhoneNumber("+82-10-1234-5678");
+        user.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        user.setProfileImageUrl("https://cdn.example.com/u/42.png");
+        user.setCreatedAt(LocalDateTime.now());
+        user.setUpdatedAt(LocalDateTime.now());
+        entity = userMapper.toEntity(user);
+    }
+
+    @Benchmark
+    public UserEntity toEntity() {
+        return userMapper.toEntity(user);
+    }
+
+    @Benchmark
+    public User toDomain() {
+        return userMapper.toDomain(entity);
+    }
+}
@@ -0,0 +1,135 @@
+package com.hammefatal.digitalworkshop.identity_service.application.service;
+
+import com.hammefatal.digitalworkshop.identity_service.adapter.out.memory.InMemoryUserRepository;
+import com.hammefatal.digitalworkshop.identity_service.application.port.in.GetUserUseCase;
+import com.hammefatal.digitalworkshop.identity_service.application.port.in.UpdateUserUseCase;
+import com.hammefatal.digitalworkshop.identity_service.application.port.out.PasswordHasher;
+import com.hammefatal.digitalworkshop.identity_service.domain.CursorPage;
+import com.hammefatal.digitalworkshop.identity_service.domain.User;
+import com.hammefatal.digitalworkshop.identity_service.domain.UserProfile;
+import com.hammefatal.digitalworkshop.identity_service.domain.UserSummary;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service-layer throughput with the database replaced by the {@code in-memory} profile's repository, i.e. the ceiling
+ * the application code itself imposes. Run with several threads to see contention.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class UserServiceBenchmark {
+
+    @Param({"100000"})
+    private int userCount;
+
+    private UserService userService;
+
+    @Setup
+    public void setUp() {
+        InMemoryUserRepository userRepository = new InMemoryUserRepository();
+        List<User> users = new ArrayList<>(userCount);
+        for (long id = 1; id <= userCount; id++) {
+            users.add(new User("user" + id, "user" + id + "@example.com", "unused", "First" + (id % 1000), "Last" + id));
+        }
+        // Ids are assigned from 1 in insertion order, matching randomId()
+        userRepository.insertAll(users);
+        SessionEpochRegistry sessionEpochRegistry = new SessionEpochRegistry(userRepository, Duration.ofSeconds(30), 500_000);
+        UserCountTracker userCountTracker = new UserCountTracker(userRepository, UserCountTracker.Mode.EXACT);
+        userService = new UserService(
+            userRepository,
+            (userId, beforeId, limit) -> List.of(),
+            new UserIdentifierFilter(userRepository, userCount, 0.01),
+            new NoOpPasswordHasher(),
+            new LoginAttemptTracker(userRepository, sessionEpochRegistry, userCountTracker, 5, 20, Duration.ofMinutes(5)),
+            sessionEpochRegistry,
+            new SecurityEventLog(events -> {}, 1024, 500, Duration.ofMillis(500), SecurityEventLog.OverflowPolicy.DROP, Duration.ZERO),
+            userCountTracker,
+            new NoOpTransactionManager()
+        );
+    }
+
+    @Benchmark
+    public Optional<UserProfile> getUserById() {
+        return userService.getUserById(randomId());
+    }
+
+    @Benchmark
+    public Optional<UserProfile> getUserByUsername() {
+        return userService.getUserByUsername("user" + randomId());
+    }
+
+    @Benchmark
+    public CursorPage<UserSummary> getAllUsers() {
+        return userService.getAllUsers(GetUserUseCase.PageQuery.first(GetUserUseCase.PageQuery.DEFAULT_SIZE));
+    }
+
+    @Benchmark
+    public CursorPage<UserSummary> searchUsersByName() {
+        return userService.searchUsersByName("  First" + ThreadLocalRandom.current().nextInt(1000) + "  ",
+            GetUserUseCase.PageQuery.first(20));
+    }
+
+    @Benchmark
+    public User updateUser() {
+        return userService.updateUser(new UpdateUserUseCase.UpdateUserCommand(
+            randomId(), "Updated", null, null, null, null, null, null));
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, userCount + 1);
+    }
+
+    private static final class NoOpPasswordHasher implements PasswordHasher {
+
+        @Override
+        public String hash(String rawPassword) {
+            return rawPassword;
+        }
+
+        @Override
+        public List<String> hashAll(List<String> rawPasswords) {
+            return rawPasswords;
+        }
+
+        @Override
+        public boolean matches(String rawPassword, String encodedPassword) {
+            return rawPassword.equals(encodedPassword);
+        }
+
+        @Override
+        public boolean needsRehash(String encodedPassword) {
+            return false;
+        }
+    }
+
+    private static final class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {}
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {}
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {}
+    }
+}
@@ -0,0 +1,109 @@
+package com.hammefatal.digitalworkshop.identity_service.adapter.in.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps concurrently executing API requests at the number of pooled connections they can use. With
+ * virtual threads nothing else bounds concurrency, so without this a burst would pile up inside
+ * Hikari and fail with connection timeouts; here excess requests wait on a cheap FIFO semaphore and
+ * are rejected with 503 only after {@code queue-timeout}.
+ */
+@Component
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final boolean enabled;
+    private final int maxConcurrent;
+    private final Semaphore permits;
+    private final long queueTimeoutNanos;
+    private final List<String> exemptPaths;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicLong admitted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public AdmissionControlFilter(@Value("${identity.admission.enabled:false}") boolean enabled,
+                                  @Value("${identity.admission.max-concurrent:0}") int maxConcurrent,
+                                  @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                                  @Value("${identity.admission.reserved-connections:2}") int reservedConnections,
+                                  @Value("${identity.admission.queue-timeout:PT2S}") Duration queueTimeout,
+                                  @Value("${identity.admission.exempt-paths:/.well-known/,/api/v1/internal/}") List<String> exemptPaths) {
+        this.enabled = enabled;
+        // Background writers (login counters, session access, security log, purge) keep a few connections for themselves
+        this.maxConcurrent = maxConcurrent > 0 ? maxConcurrent : Math.max(1, poolSize - reservedConnections);
+        this.permits = new Semaphore(this.maxConcurrent, true);
+        this.queueTimeoutNanos = queueTimeout.toNanos();
+        this.exemptPaths = List.copyOf(exemptPaths);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled) {
+            return true;
+        }
+        String path = request.getRequestURI();
+        return exemptPaths.stream().anyMatch(path::startsWith);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        boolean acquired;
+        waiting.incrementAndGet();
+        try {
+            acquired = permits.tryAcquire(queueTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        } finally {
+            waiting.decrementAndGet();
+        }
+        if (!acquired) {
+            rejected.incrementAndGet();
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return;
+        }
+        admitted.incrementAndGet();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    public Stats getStats() {
+        return new Stats(
+            enabled,
+            maxConcurrent,
+            maxConcurrent - permits.availablePermits(),
+            waiting.get(),
+            admitted.get(),
+            rejected.get()
+        );
+    }
+
+    public record Stats(
+        boolean enabled,
+        int maxConcurrent,
+        int inFlight,
+        int waiting,
+        long admitted,
+        long rejected
+    ) {}
+}
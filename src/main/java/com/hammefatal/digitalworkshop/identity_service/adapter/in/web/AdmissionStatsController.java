@@ -0,0 +1,22 @@
+package com.hammefatal.digitalworkshop.identity_service.adapter.in.web;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/internal/admission")
+public class AdmissionStatsController {
+
+    private final AdmissionControlFilter admissionControlFilter;
+
+    public AdmissionStatsController(AdmissionControlFilter admissionControlFilter) {
+        this.admissionControlFilter = admissionControlFilter;
+    }
+
+    @GetMapping
+    public ResponseEntity<AdmissionControlFilter.Stats> getStats() {
+        return ResponseEntity.ok(admissionControlFilter.getStats());
+    }
+}
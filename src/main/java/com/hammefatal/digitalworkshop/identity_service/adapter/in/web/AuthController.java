@@ -1,5 +1,164 @@
 package com.hammefatal.digitalworkshop.identity_service.adapter.in.web;
 
+import com.hammefatal.digitalworkshop.identity_service.application.port.in.AccessTokenUseCase;
+import com.hammefatal.digitalworkshop.identity_service.application.port.in.LoginFailedException;
+import com.hammefatal.digitalworkshop.identity_service.application.port.in.LoginUseCase;
+import com.hammefatal.digitalworkshop.identity_service.application.port.in.SessionUseCase;
+import com.hammefatal.digitalworkshop.identity_service.application.port.out.HashingCapacityExceededException;
+import com.hammefatal.digitalworkshop.identity_service.domain.AccessTokenClaims;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/v1/auth")
 public class AuthController {
 
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final LoginUseCase loginUseCase;
+    private final SessionUseCase sessionUseCase;
+    private final AccessTokenUseCase accessTokenUseCase;
+
+    public AuthController(LoginUseCase loginUseCase,
+                          SessionUseCase sessionUseCase,
+                          AccessTokenUseCase accessTokenUseCase) {
+        this.loginUseCase = loginUseCase;
+        this.sessionUseCase = sessionUseCase;
+        this.accessTokenUseCase = accessTokenUseCase;
+    }
+
+    @PostMapping("/login")
+    public ResponseEntity<LoginResponse> login(@RequestBody LoginRequest request,
+                                               HttpServletRequest httpRequest) {
+        try {
+            LoginUseCase.LoginCommand command = new LoginUseCase.LoginCommand(
+                    request.usernameOrEmail(),
+                    request.password(),
+                    httpRequest.getRemoteAddr(),
+                    httpRequest.getHeader(HttpHeaders.USER_AGENT)
+            );
+            LoginUseCase.LoginResult result = loginUseCase.login(command);
+            SessionUseCase.IssuedSession session = sessionUseCase.createSession(new SessionUseCase.CreateSessionCommand(
+                    result.userId(),
+                    request.deviceInfo(),
+                    httpRequest.getRemoteAddr(),
+                    httpRequest.getHeader(HttpHeaders.USER_AGENT)
+            ));
+            AccessTokenUseCase.IssuedAccessToken accessToken = accessTokenUseCase.issueAccessToken(result.userId(), session.sessionId());
+            return ResponseEntity.ok(new LoginResponse(
+                    result.userId(),
+                    result.username(),
+                    session.sessionToken(),
+                    session.refreshToken(),
+                    session.expiresAt(),
+                    accessToken.accessToken(),
+                    accessToken.expiresAt()
+            ));
+        } catch (LoginFailedException e) {
+            return ResponseEntity.status(statusOf(e.getReason())).build();
+        } catch (HashingCapacityExceededException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<RefreshResponse> refresh(@RequestBody RefreshRequest request) {
+        try {
+            SessionUseCase.IssuedSession session = sessionUseCase.refreshSession(request.refreshToken());
+            AccessTokenUseCase.IssuedAccessToken accessToken = accessTokenUseCase.issueAccessToken(session.userId(), session.sessionId());
+            return ResponseEntity.ok(new RefreshResponse(
+                    session.userId(),
+                    session.sessionToken(),
+                    session.refreshToken(),
+                    session.expiresAt(),
+                    accessToken.accessToken(),
+                    accessToken.expiresAt()
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        sessionUseCase.endSession(bearerToken(authorization));
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/logout-all")
+    public ResponseEntity<Void> logoutAll(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        return sessionUseCase.validateSession(bearerToken(authorization))
+                .map(session -> {
+                    sessionUseCase.endAllSessions(session.userId());
+                    return ResponseEntity.noContent().<Void>build();
+                })
+                .orElse(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+    }
+
+    @GetMapping("/session")
+    public ResponseEntity<SessionUseCase.ValidatedSession> getSession(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        return sessionUseCase.validateSession(bearerToken(authorization))
+                .map(session -> ResponseEntity.ok(session))
+                .orElse(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+    }
+
+    @GetMapping("/token")
+    public ResponseEntity<AccessTokenClaims> verifyAccessToken(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        return accessTokenUseCase.verifyAccessToken(bearerToken(authorization))
+                .map(claims -> ResponseEntity.ok(claims))
+                .orElse(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+    }
+
+    private static String bearerToken(String authorization) {
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            return null;
+        }
+        return authorization.substring(BEARER_PREFIX.length()).trim();
+    }
+
+    private static HttpStatus statusOf(LoginFailedException.Reason reason) {
+        return switch (reason) {
+            case INVALID_CREDENTIALS -> HttpStatus.UNAUTHORIZED;
+            case ACCOUNT_LOCKED -> HttpStatus.LOCKED;
+            case ACCOUNT_DISABLED -> HttpStatus.FORBIDDEN;
+            case TOO_MANY_ATTEMPTS -> HttpStatus.TOO_MANY_REQUESTS;
+        };
+    }
+
+    public record LoginRequest(
+            String usernameOrEmail,
+            String password,
+            String deviceInfo
+    ) {}
+
+    public record LoginResponse(
+            Long userId,
+            String username,
+            String sessionToken,
+            String refreshToken,
+            LocalDateTime expiresAt,
+            String accessToken,
+            Instant accessTokenExpiresAt
+    ) {}
+
+    public record RefreshResponse(
+            Long userId,
+            String sessionToken,
+            String refreshToken,
+            LocalDateTime expiresAt,
+            String accessToken,
+            Instant accessTokenExpiresAt
+    ) {}
+
+    public record RefreshRequest(
+            String refreshToken
+    ) {}
 }
@@ -0,0 +1,106 @@
+package com.hammefatal.digitalworkshop.identity_service.adapter.in.web;
+
+import com.hammefatal.digitalworkshop.identity_service.application.port.in.AuthorizationUseCase;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/v1/authz")
+public class AuthorizationController {
+
+    private final AuthorizationUseCase authorizationUseCase;
+
+    public AuthorizationController(AuthorizationUseCase authorizationUseCase) {
+        this.authorizationUseCase = authorizationUseCase;
+    }
+
+    @PostMapping("/check")
+    public ResponseEntity<CheckResponse> check(@RequestBody CheckRequest request) {
+        if (request.checks() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (request.checks().size() > AuthorizationUseCase.MAX_CHECKS) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        try {
+            List<AuthorizationUseCase.PermissionCheck> checks = request.checks().stream()
+                    .map(check -> new AuthorizationUseCase.PermissionCheck(check.userId(), check.resource(), check.action()))
+                    .toList();
+            List<Boolean> allowed = authorizationUseCase.check(checks);
+            List<CheckResult> results = new ArrayList<>(checks.size());
+            for (int i = 0; i < checks.size(); i++) {
+                AuthorizationUseCase.PermissionCheck check = checks.get(i);
+                results.add(new CheckResult(check.userId(), check.resource(), check.action(), allowed.get(i)));
+            }
+            return ResponseEntity.ok(new CheckResponse(results));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/users/{userId}/permissions")
+    public ResponseEntity<Set<String>> getEffectivePermissions(@PathVariable Long userId) {
+        return ResponseEntity.ok(authorizationUseCase.getEffectivePermissions(userId));
+    }
+
+    @PutMapping("/users/{userId}/roles/{roleId}")
+    public ResponseEntity<Void> grantRole(@PathVariable Long userId,
+                                          @PathVariable Long roleId,
+                                          @RequestBody(required = false) GrantRoleRequest request) {
+        authorizationUseCase.grantRole(new AuthorizationUseCase.GrantRoleCommand(
+                userId,
+                roleId,
+                request != null ? request.grantedBy() : null,
+                request != null ? request.expiresAt() : null
+        ));
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/users/{userId}/roles/{roleId}")
+    public ResponseEntity<Void> revokeRole(@PathVariable Long userId, @PathVariable Long roleId) {
+        try {
+            authorizationUseCase.revokeRole(userId, roleId);
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @PostMapping("/catalog/reload")
+    public ResponseEntity<Void> reloadCatalog() {
+        authorizationUseCase.reloadCatalog();
+        return ResponseEntity.noContent().build();
+    }
+
+    public record CheckRequest(
+            List<CheckItem> checks
+    ) {}
+
+    public record CheckItem(
+            Long userId,
+            String resource,
+            String action
+    ) {}
+
+    public record CheckResponse(
+            List<CheckResult> results
+    ) {}
+
+    public record CheckResult(
+            Long userId,
+            String resource,
+            String action,
+            boolean allowed
+    ) {}
+
+    public record GrantRoleRequest(
+            Long grantedBy,
+            LocalDateTime expiresAt
+    ) {}
+}
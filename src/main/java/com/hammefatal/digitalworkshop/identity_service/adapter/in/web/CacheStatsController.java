@@ -0,0 +1,31 @@
+package com.hammefatal.digitalworkshop.identity_service.adapter.in.web;
+
+import com.hammefatal.digitalworkshop.identity_service.adapter.out.cache.SessionCache;
+import com.hammefatal.digitalworkshop.identity_service.adapter.out.cache.UserCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/internal/cache")
+public class CacheStatsController {
+
+    private final UserCache userCache;
+    private final SessionCache sessionCache;
+
+    public CacheStatsController(UserCache userCache, SessionCache sessionCache) {
+        this.userCache = userCache;
+        this.sessionCache = sessionCache;
+    }
+
+    @GetMapping("/users")
+    public ResponseEntity<UserCache.Stats> getUserCacheStats() {
+        return ResponseEntity.ok(userCache.stats());
+    }
+
+    @GetMapping("/sessions")
+    public ResponseEntity<SessionCache.Stats> getSessionCacheStats() {
+        return ResponseEntity.ok(sessionCache.stats());
+    }
+}
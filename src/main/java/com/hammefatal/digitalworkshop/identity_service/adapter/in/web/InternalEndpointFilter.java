@@ -0,0 +1,81 @@
+package com.hammefatal.digitalworkshop.identity_service.adapter.in.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Guards the operational endpoints under {@code /api/v1/internal/} (stats, key rotation). With
+ * {@code identity.internal.api-token} set, callers must present it as a bearer token; without it,
+ * only loopback clients are served. Runs before admission control so rejected calls cost nothing.
+ */
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Component
+public class InternalEndpointFilter extends OncePerRequestFilter {
+
+    private static final String INTERNAL_PATH = "/api/v1/internal";
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final byte[] apiToken;
+
+    public InternalEndpointFilter(@Value("${identity.internal.api-token:}") String apiToken) {
+        this.apiToken = apiToken.isBlank() ? null : apiToken.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Match the path handlers are mapped by, decoded and without ;params, not the raw URI, so
+        // forms like /api/v1/internal;x=1/ or /api/v1/%69nternal/ cannot reach them unchecked
+        String path = UrlPathHelper.defaultInstance.getPathWithinApplication(request);
+        return !(path.equals(INTERNAL_PATH) || path.startsWith(INTERNAL_PATH + "/"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (apiToken == null) {
+            if (!isLoopback(request.getRemoteAddr())) {
+                response.setStatus(HttpStatus.FORBIDDEN.value());
+                return;
+            }
+        } else if (!hasToken(request.getHeader(HttpHeaders.AUTHORIZATION))) {
+            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private boolean hasToken(String authorization) {
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            return false;
+        }
+        byte[] presented = authorization.substring(BEARER_PREFIX.length()).trim().getBytes(StandardCharsets.UTF_8);
+        // Constant-time, so response timing does not reveal how much of the token matched
+        return MessageDigest.isEqual(presented, apiToken);
+    }
+
+    private static boolean isLoopback(String remoteAddr) {
+        try {
+            // getRemoteAddr is a literal address, so this never triggers a DNS lookup
+            return remoteAddr != null && InetAddress.getByName(remoteAddr).isLoopbackAddress();
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+}
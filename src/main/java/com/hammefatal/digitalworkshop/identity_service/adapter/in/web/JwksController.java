@@ -0,0 +1,39 @@
+package com.hammefatal.digitalworkshop.identity_service.adapter.in.web;
+
+import com.hammefatal.digitalworkshop.identity_service.application.port.in.AccessTokenUseCase;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+@RestController
+public class JwksController {
+
+    // Verifiers may hold the key set this long; rotation keeps retired keys published well beyond it
+    private static final CacheControl KEY_SET_CACHE = CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic();
+
+    private final AccessTokenUseCase accessTokenUseCase;
+
+    public JwksController(AccessTokenUseCase accessTokenUseCase) {
+        this.accessTokenUseCase = accessTokenUseCase;
+    }
+
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> getKeySet() {
+        String keySet = accessTokenUseCase.getPublicKeySet();
+        return ResponseEntity.ok()
+                .cacheControl(KEY_SET_CACHE)
+                .eTag(Integer.toHexString(keySet.hashCode()))
+                .body(keySet);
+    }
+
+    @PostMapping("/api/v1/internal/keys/rotate")
+    public ResponseEntity<Map<String, String>> rotateSigningKey() {
+        return ResponseEntity.ok(Map.of("kid", accessTokenUseCase.rotateSigningKey()));
+    }
+}
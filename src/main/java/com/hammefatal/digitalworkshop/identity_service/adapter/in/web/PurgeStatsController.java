@@ -0,0 +1,23 @@
+package com.hammefatal.digitalworkshop.identity_service.adapter.in.web;
+
+import com.hammefatal.digitalworkshop.identity_service.application.service.ExpiredDataPurger;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/internal/purge")
+public class PurgeStatsController {
+
+    private final ExpiredDataPurger expiredDataPurger;
+
+    public PurgeStatsController(ExpiredDataPurger expiredDataPurger) {
+        this.expiredDataPurger = expiredDataPurger;
+    }
+
+    @GetMapping
+    public ResponseEntity<ExpiredDataPurger.Stats> getStats() {
+        return ResponseEntity.ok(expiredDataPurger.getStats());
+    }
+}
@@ -0,0 +1,23 @@
+package com.hammefatal.digitalworkshop.identity_service.adapter.in.web;
+
+import com.hammefatal.digitalworkshop.identity_service.application.service.SecurityEventLog;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/internal/security-log")
+public class SecurityLogStatsController {
+
+    private final SecurityEventLog securityEventLog;
+
+    public SecurityLogStatsController(SecurityEventLog securityEventLog) {
+        this.securityEventLog = securityEventLog;
+    }
+
+    @GetMapping
+    public ResponseEntity<SecurityEventLog.Stats> getStats() {
+        return ResponseEntity.ok(securityEventLog.getStats());
+    }
+}
@@ -1,76 +1,201 @@
 package com.hammefatal.digitalworkshop.identity_service.adapter.in.web;
 
 import com.hammefatal.digitalworkshop.identity_service.application.port.in.*;
+import com.hammefatal.digitalworkshop.identity_service.application.port.out.HashingCapacityExceededException;
+import com.hammefatal.digitalworkshop.identity_service.domain.CursorPage;
 import com.hammefatal.digitalworkshop.identity_service.domain.User;
+import com.hammefatal.digitalworkshop.identity_service.domain.UserAuditEntry;
+import com.hammefatal.digitalworkshop.identity_service.domain.UserProfile;
+import com.hammefatal.digitalworkshop.identity_service.domain.UserSummary;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/v1/users")
 public class UserController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final CreateUserUseCase createUserUseCase;
     private final GetUserUseCase getUserUseCase;
     private final UpdateUserUseCase updateUserUseCase;
     private final DeleteUserUseCase deleteUserUseCase;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter exportWriter;
 
     public UserController(CreateUserUseCase createUserUseCase, 
                          GetUserUseCase getUserUseCase,
                          UpdateUserUseCase updateUserUseCase, 
-                         DeleteUserUseCase deleteUserUseCase) {
+                         DeleteUserUseCase deleteUserUseCase,
+                         ObjectMapper objectMapper) {
         this.createUserUseCase = createUserUseCase;
         this.getUserUseCase = getUserUseCase;
         this.updateUserUseCase = updateUserUseCase;
         this.deleteUserUseCase = deleteUserUseCase;
+        this.objectMapper = objectMapper;
+        // The servlet stream buffers; flushing after every row would turn each line into its own chunk
+        this.exportWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
-        List<User> users = getUserUseCase.getAllUsers();
-        return ResponseEntity.ok(users);
+    public ResponseEntity<CursorPage<UserSummary>> getAllUsers(@RequestParam(required = false) String cursor,
+                                                        @RequestParam(required = false) Integer size,
+                                                        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = collectionETag();
+        if (matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        try {
+            CursorPage<UserSummary> users = getUserUseCase.getAllUsers(GetUserUseCase.PageQuery.of(cursor, size));
+            return ResponseEntity.ok().eTag(etag).body(users);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Newline-delimited JSON of every profile, or of those updated at or after {@code since} for
+     * incremental syncs. Written on the request thread straight to the response, so the export keeps
+     * its admission permit and connection until the last row is sent.
+     */
+    @GetMapping(value = "/export", produces = NDJSON)
+    public void exportUsers(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                            HttpServletResponse response) throws IOException {
+        String etag = collectionETag();
+        response.setHeader(HttpHeaders.ETAG, etag);
+        if (matches(ifNoneMatch, etag)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            // Lines are terminated explicitly below rather than separated by Jackson's default space
+            generator.setRootValueSeparator(null);
+            getUserUseCase.exportUsers(since, profile -> {
+                try {
+                    exportWriter.writeValue(generator, profile);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<User> getUserById(@PathVariable Long id) {
-        return getUserUseCase.getUserById(id)
-                .map(user -> ResponseEntity.ok(user))
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<UserProfile> getUserById(@PathVariable Long id,
+                                                   @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // A revalidation is answered from the version alone, without loading or serializing the profile
+        return revalidate(id, ifNoneMatch).orElseGet(() -> profileResponse(getUserUseCase.getUserById(id), null));
+    }
+
+    @GetMapping("/{id}/audit")
+    public ResponseEntity<CursorPage<UserAuditEntry>> getAuditHistory(@PathVariable Long id,
+                                                                      @RequestParam(required = false) String cursor,
+                                                                      @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(getUserUseCase.getAuditHistory(id, GetUserUseCase.PageQuery.of(cursor, size)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // The key limit counts distinct keys, so BatchLookupQuery enforces it and an oversized lookup is a 400
+    @PostMapping("/batch")
+    public ResponseEntity<GetUserUseCase.BatchLookupResult> getUsers(@RequestBody BatchLookupRequest request) {
+        try {
+            return ResponseEntity.ok(getUserUseCase.getUsers(new GetUserUseCase.BatchLookupQuery(
+                    request.ids(),
+                    request.usernames(),
+                    request.emails()
+            )));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/username/{username}")
-    public ResponseEntity<User> getUserByUsername(@PathVariable String username) {
-        return getUserUseCase.getUserByUsername(username)
-                .map(user -> ResponseEntity.ok(user))
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<UserProfile> getUserByUsername(@PathVariable String username,
+                                                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return profileResponse(getUserUseCase.getUserByUsername(username), ifNoneMatch);
     }
 
     @GetMapping("/email/{email}")
-    public ResponseEntity<User> getUserByEmail(@PathVariable String email) {
-        return getUserUseCase.getUserByEmail(email)
-                .map(user -> ResponseEntity.ok(user))
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<UserProfile> getUserByEmail(@PathVariable String email,
+                                                      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return profileResponse(getUserUseCase.getUserByEmail(email), ifNoneMatch);
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<User>> getUsersByStatus(@PathVariable User.AccountStatus status) {
-        List<User> users = getUserUseCase.getUsersByStatus(status);
-        return ResponseEntity.ok(users);
+    public ResponseEntity<CursorPage<UserSummary>> getUsersByStatus(@PathVariable User.AccountStatus status,
+                                                             @RequestParam(required = false) String cursor,
+                                                             @RequestParam(required = false) Integer size,
+                                                             @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = collectionETag();
+        if (matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        try {
+            CursorPage<UserSummary> users = getUserUseCase.getUsersByStatus(status, GetUserUseCase.PageQuery.of(cursor, size));
+            return ResponseEntity.ok().eTag(etag).body(users);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/search/name")
-    public ResponseEntity<List<User>> searchUsersByName(@RequestParam String searchTerm) {
-        List<User> users = getUserUseCase.searchUsersByName(searchTerm);
-        return ResponseEntity.ok(users);
+    public ResponseEntity<CursorPage<UserSummary>> searchUsersByName(@RequestParam String searchTerm,
+                                                              @RequestParam(required = false) String cursor,
+                                                              @RequestParam(required = false) Integer size,
+                                                              @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = collectionETag();
+        if (matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        try {
+            CursorPage<UserSummary> users = getUserUseCase.searchUsersByName(searchTerm, GetUserUseCase.PageQuery.of(cursor, size));
+            return ResponseEntity.ok().eTag(etag).body(users);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/search/email")
-    public ResponseEntity<List<User>> searchUsersByEmail(@RequestParam String searchTerm) {
-        List<User> users = getUserUseCase.searchUsersByEmail(searchTerm);
-        return ResponseEntity.ok(users);
+    public ResponseEntity<CursorPage<UserSummary>> searchUsersByEmail(@RequestParam String searchTerm,
+                                                               @RequestParam(required = false) String cursor,
+                                                               @RequestParam(required = false) Integer size,
+                                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = collectionETag();
+        if (matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        try {
+            CursorPage<UserSummary> users = getUserUseCase.searchUsersByEmail(searchTerm, GetUserUseCase.PageQuery.of(cursor, size));
+            return ResponseEntity.ok().eTag(etag).body(users);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/count")
@@ -79,8 +204,13 @@ public class UserController {
         return ResponseEntity.ok(count);
     }
 
+    @GetMapping("/count/by-status")
+    public ResponseEntity<GetUserUseCase.UserCounts> getUserCounts() {
+        return ResponseEntity.ok(getUserUseCase.getUserCounts());
+    }
+
     @PostMapping
-    public ResponseEntity<User> createUser(@RequestBody CreateUserRequest request) {
+    public ResponseEntity<UserProfile> createUser(@RequestBody CreateUserRequest request) {
         try {
             CreateUserUseCase.CreateUserCommand command = new CreateUserUseCase.CreateUserCommand(
                     request.username(),
@@ -91,14 +221,59 @@ public class UserController {
                     request.phoneNumber()
             );
             User createdUser = createUserUseCase.createUser(command);
-            return ResponseEntity.status(HttpStatus.CREATED).body(createdUser);
+            return ResponseEntity.status(HttpStatus.CREATED).body(UserProfile.from(createdUser));
+        } catch (HashingCapacityExceededException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<CreateUserUseCase.BulkCreateResult> createUsers(@RequestBody List<CreateUserRequest> requests) {
+        if (requests.size() > CreateUserUseCase.MAX_BULK_SIZE) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        if (requests.contains(null)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        // Rows that fail command validation are reported alongside the service's failures
+        List<CreateUserUseCase.CreateUserCommand> commands = new ArrayList<>(requests.size());
+        List<Integer> requestIndexes = new ArrayList<>(requests.size());
+        List<CreateUserUseCase.RowFailure> failures = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            CreateUserRequest request = requests.get(i);
+            try {
+                commands.add(new CreateUserUseCase.CreateUserCommand(
+                        request.username(),
+                        request.email(),
+                        request.password(),
+                        request.firstName(),
+                        request.lastName(),
+                        request.phoneNumber()
+                ));
+                requestIndexes.add(i);
+            } catch (IllegalArgumentException e) {
+                failures.add(new CreateUserUseCase.RowFailure(i, e.getMessage()));
+            }
+        }
+
+        CreateUserUseCase.BulkCreateResult result;
+        try {
+            result = createUserUseCase.createUsers(commands);
+        } catch (HashingCapacityExceededException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        for (CreateUserUseCase.RowFailure failure : result.failures()) {
+            failures.add(new CreateUserUseCase.RowFailure(requestIndexes.get(failure.index()), failure.reason()));
+        }
+        failures.sort(Comparator.comparingInt(CreateUserUseCase.RowFailure::index));
+        return ResponseEntity.ok(new CreateUserUseCase.BulkCreateResult(requests.size(), result.created(), failures));
+    }
+
     @PutMapping("/{id}")
-    public ResponseEntity<User> updateUser(@PathVariable Long id, @RequestBody UpdateUserRequest request) {
+    public ResponseEntity<UserProfile> updateUser(@PathVariable Long id, @RequestBody UpdateUserRequest request) {
         try {
             UpdateUserUseCase.UpdateUserCommand command = new UpdateUserUseCase.UpdateUserCommand(
                     id,
@@ -106,48 +281,58 @@ public class UserController {
                     request.lastName(),
                     request.phoneNumber(),
                     request.dateOfBirth(),
-                    request.profileImageUrl()
+                    request.profileImageUrl(),
+                    request.changedBy(),
+                    request.changeReason()
             );
             User updatedUser = updateUserUseCase.updateUser(command);
-            return ResponseEntity.ok(updatedUser);
-        } catch (IllegalArgumentException e) {
+            return ResponseEntity.ok(UserProfile.from(updatedUser));
+        } catch (UserNotFoundException e) {
             return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         }
     }
 
     @PutMapping("/{id}/profile")
-    public ResponseEntity<User> updateUserProfile(@PathVariable Long id, @RequestBody UpdateUserProfileRequest request) {
+    public ResponseEntity<UserProfile> updateUserProfile(@PathVariable Long id, @RequestBody UpdateUserProfileRequest request) {
         try {
             UpdateUserUseCase.UpdateUserProfileCommand command = new UpdateUserUseCase.UpdateUserProfileCommand(
                     id,
                     request.firstName(),
                     request.lastName(),
                     request.phoneNumber(),
-                    request.dateOfBirth()
+                    request.dateOfBirth(),
+                    request.changedBy(),
+                    request.changeReason()
             );
             User updatedUser = updateUserUseCase.updateUserProfile(command);
-            return ResponseEntity.ok(updatedUser);
-        } catch (IllegalArgumentException e) {
+            return ResponseEntity.ok(UserProfile.from(updatedUser));
+        } catch (UserNotFoundException e) {
             return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         }
     }
 
     @PutMapping("/{id}/status")
-    public ResponseEntity<User> updateUserStatus(@PathVariable Long id, @RequestBody UpdateUserStatusRequest request) {
+    public ResponseEntity<UserProfile> updateUserStatus(@PathVariable Long id, @RequestBody UpdateUserStatusRequest request) {
         try {
             UpdateUserUseCase.UpdateUserStatusCommand command = new UpdateUserUseCase.UpdateUserStatusCommand(
                     id,
                     request.accountStatus()
             );
             User updatedUser = updateUserUseCase.updateUserStatus(command);
-            return ResponseEntity.ok(updatedUser);
-        } catch (IllegalArgumentException e) {
+            return ResponseEntity.ok(UserProfile.from(updatedUser));
+        } catch (UserNotFoundException e) {
             return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         }
     }
 
     @PutMapping("/{id}/password")
-    public ResponseEntity<User> updateUserPassword(@PathVariable Long id, @RequestBody UpdateUserPasswordRequest request) {
+    public ResponseEntity<UserProfile> updateUserPassword(@PathVariable Long id, @RequestBody UpdateUserPasswordRequest request) {
         try {
             UpdateUserUseCase.UpdateUserPasswordCommand command = new UpdateUserUseCase.UpdateUserPasswordCommand(
                     id,
@@ -155,7 +340,11 @@ public class UserController {
                     request.newPassword()
             );
             User updatedUser = updateUserUseCase.updateUserPassword(command);
-            return ResponseEntity.ok(updatedUser);
+            return ResponseEntity.ok(UserProfile.from(updatedUser));
+        } catch (HashingCapacityExceededException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (UserNotFoundException e) {
+            return ResponseEntity.notFound().build();
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
@@ -166,7 +355,7 @@ public class UserController {
         try {
             deleteUserUseCase.deleteUser(id);
             return ResponseEntity.noContent().build();
-        } catch (IllegalArgumentException e) {
+        } catch (UserNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
     }
@@ -176,7 +365,7 @@ public class UserController {
         try {
             deleteUserUseCase.deleteUserByUsername(username);
             return ResponseEntity.noContent().build();
-        } catch (IllegalArgumentException e) {
+        } catch (UserNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
     }
@@ -186,7 +375,7 @@ public class UserController {
         try {
             deleteUserUseCase.deleteUserByEmail(email);
             return ResponseEntity.noContent().build();
-        } catch (IllegalArgumentException e) {
+        } catch (UserNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
     }
@@ -196,11 +385,79 @@ public class UserController {
         try {
             deleteUserUseCase.softDeleteUser(id);
             return ResponseEntity.noContent().build();
-        } catch (IllegalArgumentException e) {
+        } catch (UserNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
+    // Username and email lookups resolve through the user cache, so only the id is taken from the cached
+    // profile; whether the client's copy is current is decided by the stored row
+    private ResponseEntity<UserProfile> profileResponse(Optional<UserProfile> profile, String ifNoneMatch) {
+        return profile
+                .map(user -> revalidate(user.id(), ifNoneMatch)
+                        .orElseGet(() -> ResponseEntity.ok().eTag(userETag(user.id(), user.updatedAt())).body(user)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * 304 when the client's tag matches the user's stored version, 404 when the user no longer exists,
+     * and empty when the profile has to be sent.
+     */
+    private Optional<ResponseEntity<UserProfile>> revalidate(Long id, String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return Optional.empty();
+        }
+        Optional<LocalDateTime> version = getUserUseCase.getUserVersion(id);
+        if (version.isEmpty()) {
+            return Optional.of(ResponseEntity.notFound().build());
+        }
+        String etag = userETag(id, version.get());
+        if (matches(ifNoneMatch, etag)) {
+            return Optional.of(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build());
+        }
+        return Optional.empty();
+    }
+
+    // Strong: the profile JSON is fully determined by the row, and every UPDATE of users moves updated_at
+    private static String userETag(Long id, LocalDateTime updatedAt) {
+        return "\"" + id + "-" + micros(updatedAt) + "\"";
+    }
+
+    // Weak: it versions the whole table rather than the bytes of one page, which the request URL identifies
+    private String collectionETag() {
+        GetUserUseCase.CollectionVersion version = getUserUseCase.getCollectionVersion();
+        return "W/\"" + micros(version.lastUpdatedAt()) + "-" + version.deletions() + "\"";
+    }
+
+    private static long micros(LocalDateTime time) {
+        return time != null ? time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000 : 0;
+    }
+
+    // If-None-Match always uses weak comparison, so W/ prefixes are ignored on both sides
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaque = opaqueTag(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || opaqueTag(tag).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaqueTag(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    public record BatchLookupRequest(
+            List<Long> ids,
+            List<String> usernames,
+            List<String> emails
+    ) {}
+
     public record CreateUserRequest(
             String username,
             String email,
@@ -215,14 +472,18 @@ public class UserController {
             String lastName,
             String phoneNumber,
             LocalDate dateOfBirth,
-            String profileImageUrl
+            String profileImageUrl,
+            Long changedBy,
+            String changeReason
     ) {}
 
     public record UpdateUserProfileRequest(
             String firstName,
             String lastName,
             String phoneNumber,
-            LocalDate dateOfBirth
+            LocalDate dateOfBirth,
+            Long changedBy,
+            String changeReason
     ) {}
 
     public record UpdateUserStatusRequest(
@@ -0,0 +1,74 @@
+package com.hammefatal.digitalworkshop.identity_service.adapter.out.cache;
+
+import com.hammefatal.digitalworkshop.identity_service.adapter.out.persistence.SessionRepositoryImpl;
+import com.hammefatal.digitalworkshop.identity_service.application.port.out.SessionRepository;
+import com.hammefatal.digitalworkshop.identity_service.domain.UserSession;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Serves session-token validation from {@link SessionCache}. Session writes are single autocommit
+ * statements, so invalidating right after the delegate returns is enough.
+ */
+@Primary
+@Component
+public class CachingSessionRepository implements SessionRepository {
+
+    private final SessionRepository delegate;
+    private final SessionCache sessionCache;
+
+    public CachingSessionRepository(SessionRepositoryImpl delegate, SessionCache sessionCache) {
+        this.delegate = delegate;
+        this.sessionCache = sessionCache;
+    }
+
+    @Override
+    public UserSession insert(UserSession session) {
+        return delegate.insert(session);
+    }
+
+    @Override
+    public Optional<UserSession> findActiveBySessionTokenHash(String sessionTokenHash) {
+        Optional<UserSession> cached = sessionCache.get(sessionTokenHash);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        long stamp = sessionCache.stamp();
+        Optional<UserSession> session = delegate.findActiveBySessionTokenHash(sessionTokenHash);
+        session.ifPresent(s -> sessionCache.put(s, stamp));
+        return session;
+    }
+
+    @Override
+    public Optional<UserSession> findActiveByRefreshTokenHash(String refreshTokenHash) {
+        return delegate.findActiveByRefreshTokenHash(refreshTokenHash);
+    }
+
+    @Override
+    public Optional<UserSession> rotateTokens(Long id,
+                                              String expectedRefreshTokenHash,
+                                              String newSessionTokenHash,
+                                              String newRefreshTokenHash,
+                                              LocalDateTime expiresAt) {
+        Optional<UserSession> rotated = delegate.rotateTokens(id, expectedRefreshTokenHash, newSessionTokenHash, newRefreshTokenHash, expiresAt);
+        sessionCache.invalidate(id);
+        return rotated;
+    }
+
+    @Override
+    public boolean deactivate(Long id) {
+        boolean deactivated = delegate.deactivate(id);
+        sessionCache.invalidate(id);
+        return deactivated;
+    }
+
+    @Override
+    public void updateLastAccessedAt(Collection<SessionAccess> accesses) {
+        // Cached entries only need to stay valid, not carry the latest access time
+        delegate.updateLastAccessedAt(accesses);
+    }
+}
@@ -0,0 +1,279 @@
+package com.hammefatal.digitalworkshop.identity_service.adapter.out.cache;
+
+import com.hammefatal.digitalworkshop.identity_service.adapter.out.persistence.UserRepositoryImpl;
+import com.hammefatal.digitalworkshop.identity_service.application.port.out.UserRepository;
+import com.hammefatal.digitalworkshop.identity_service.domain.User;
+import com.hammefatal.digitalworkshop.identity_service.domain.UserProfile;
+import com.hammefatal.digitalworkshop.identity_service.domain.UserSummary;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+@Primary
+@Profile("!in-memory")
+@Component
+public class CachingUserRepository implements UserRepository {
+
+    private final UserRepository delegate;
+    private final UserCache userCache;
+
+    public CachingUserRepository(UserRepositoryImpl delegate, UserCache userCache) {
+        this.delegate = delegate;
+        this.userCache = userCache;
+    }
+
+    @Override
+    public User save(User user) {
+        User saved = delegate.save(user);
+        invalidate(user);
+        invalidate(saved);
+        return saved;
+    }
+
+    @Override
+    public User insert(User user) {
+        return delegate.insert(user);
+    }
+
+    @Override
+    public List<User> insertAll(List<User> users) {
+        return delegate.insertAll(users);
+    }
+
+    @Override
+    public Optional<User> updateProfile(ProfileUpdate update) {
+        Optional<User> updated = delegate.updateProfile(update);
+        invalidate(update.id());
+        return updated;
+    }
+
+    @Override
+    public Optional<StatusChange> updateAccountStatus(Long id, User.AccountStatus status) {
+        Optional<StatusChange> updated = delegate.updateAccountStatus(id, status);
+        invalidate(id);
+        return updated;
+    }
+
+    @Override
+    public Optional<User> updatePassword(Long id, String expectedPasswordHash, String newPasswordHash) {
+        Optional<User> updated = delegate.updatePassword(id, expectedPasswordHash, newPasswordHash);
+        invalidate(id);
+        return updated;
+    }
+
+    @Override
+    public Optional<User> incrementSessionEpoch(Long id) {
+        Optional<User> updated = delegate.incrementSessionEpoch(id);
+        invalidate(id);
+        return updated;
+    }
+
+    @Override
+    public boolean replacePasswordHash(Long id, String expectedPasswordHash, String newPasswordHash) {
+        boolean replaced = delegate.replacePasswordHash(id, expectedPasswordHash, newPasswordHash);
+        invalidate(id);
+        return replaced;
+    }
+
+    @Override
+    public void applyLoginCounters(Collection<LoginCounter> counters) {
+        delegate.applyLoginCounters(counters);
+        counters.forEach(counter -> invalidate(counter.userId()));
+    }
+
+    @Override
+    public Optional<User> findById(Long id) {
+        return userCache.getById(id).or(() -> load(() -> delegate.findById(id)));
+    }
+
+    @Override
+    public Optional<User> findByUsername(String username) {
+        return userCache.getByUsername(username).or(() -> load(() -> delegate.findByUsername(username)));
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return userCache.getByEmail(email).or(() -> load(() -> delegate.findByEmail(email)));
+    }
+
+    // Bypasses the cache for the read; the fresh row then replaces any cached copy and its keys
+    @Override
+    public Optional<User> findCurrentById(Long id) {
+        return load(() -> delegate.findById(id));
+    }
+
+    // Bypasses the cache: it validates a client's copy, and a cached row may predate another node's update
+    @Override
+    public Optional<LocalDateTime> findUpdatedAtById(Long id) {
+        return delegate.findUpdatedAtById(id);
+    }
+
+    // Bypasses the cache: a cached row could carry an epoch from before another node's bump
+    @Override
+    public Optional<Integer> findSessionEpochById(Long id) {
+        return delegate.findSessionEpochById(id);
+    }
+
+    @Override
+    public VersionStamp findVersionStamp() {
+        return delegate.findVersionStamp();
+    }
+
+    @Override
+    public List<User> findAllByKeys(Collection<Long> ids, Collection<String> usernames, Collection<String> emails) {
+        Map<Long, User> found = new LinkedHashMap<>();
+        List<Long> missingIds = new ArrayList<>();
+        List<String> missingUsernames = new ArrayList<>();
+        List<String> missingEmails = new ArrayList<>();
+        for (Long id : ids) {
+            userCache.getById(id).ifPresentOrElse(user -> found.put(user.getId(), user), () -> missingIds.add(id));
+        }
+        for (String username : usernames) {
+            userCache.getByUsername(username).ifPresentOrElse(user -> found.put(user.getId(), user), () -> missingUsernames.add(username));
+        }
+        for (String email : emails) {
+            userCache.getByEmail(email).ifPresentOrElse(user -> found.put(user.getId(), user), () -> missingEmails.add(email));
+        }
+        if (missingIds.isEmpty() && missingUsernames.isEmpty() && missingEmails.isEmpty()) {
+            return new ArrayList<>(found.values());
+        }
+        // Only the cache misses go to the database, still as a single query
+        long stamp = userCache.stamp();
+        List<User> loaded = delegate.findAllByKeys(missingIds, missingUsernames, missingEmails);
+        boolean cacheable = isCacheableRead();
+        for (User user : loaded) {
+            if (cacheable) {
+                userCache.put(user, stamp);
+            }
+            found.putIfAbsent(user.getId(), user);
+        }
+        return new ArrayList<>(found.values());
+    }
+
+    @Override
+    public List<UserSummary> findAllAfter(Long afterId, int limit) {
+        return delegate.findAllAfter(afterId, limit);
+    }
+
+    @Override
+    public List<UserSummary> findByAccountStatusAfter(User.AccountStatus status, Long afterId, int limit) {
+        return delegate.findByAccountStatusAfter(status, afterId, limit);
+    }
+
+    @Override
+    public List<NameMatch> searchByName(String term, float afterScore, Long afterId, int limit) {
+        return delegate.searchByName(term, afterScore, afterId, limit);
+    }
+
+    @Override
+    public List<UserSummary> findByEmailContainingAfter(String email, Long afterId, int limit) {
+        return delegate.findByEmailContainingAfter(email, afterId, limit);
+    }
+
+    @Override
+    public List<UserKey> findKeysAfter(Long afterId, int limit) {
+        return delegate.findKeysAfter(afterId, limit);
+    }
+
+    @Override
+    public long streamProfiles(LocalDateTime updatedSince, int fetchSize, Consumer<UserProfile> sink) {
+        // Bulk reads bypass the cache so an export does not evict the hot working set
+        return delegate.streamProfiles(updatedSince, fetchSize, sink);
+    }
+
+    @Override
+    public boolean existsByUsername(String username) {
+        return delegate.existsByUsername(username);
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return delegate.existsByEmail(email);
+    }
+
+    @Override
+    public Set<String> findExistingUsernames(Collection<String> usernames) {
+        return delegate.findExistingUsernames(usernames);
+    }
+
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        return delegate.findExistingEmails(emails);
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public Map<User.AccountStatus, Long> countByAccountStatus() {
+        return delegate.countByAccountStatus();
+    }
+
+    @Override
+    public Map<User.AccountStatus, Long> estimateCountByAccountStatus() {
+        return delegate.estimateCountByAccountStatus();
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        delegate.deleteById(id);
+        invalidate(id);
+    }
+
+    @Override
+    public void delete(User user) {
+        delegate.delete(user);
+        invalidate(user);
+    }
+
+    private Optional<User> load(Supplier<Optional<User>> loader) {
+        long stamp = userCache.stamp();
+        Optional<User> user = loader.get();
+        if (isCacheableRead()) {
+            user.ifPresent(u -> userCache.put(u, stamp));
+        }
+        return user;
+    }
+
+    // Rows read inside a writing transaction may not be committed yet
+    private static boolean isCacheableRead() {
+        return !TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    private void invalidate(Long id) {
+        userCache.invalidate(id);
+        afterCompletion(() -> userCache.invalidate(id));
+    }
+
+    private void invalidate(User user) {
+        userCache.invalidate(user);
+        afterCompletion(() -> userCache.invalidate(user));
+    }
+
+    private void afterCompletion(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.run();
+                }
+            });
+        }
+    }
+}
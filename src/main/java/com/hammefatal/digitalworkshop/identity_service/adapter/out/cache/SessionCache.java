@@ -0,0 +1,198 @@
+package com.hammefatal.digitalworkshop.identity_service.adapter.out.cache;
+
+import com.hammefatal.digitalworkshop.identity_service.domain.UserSession;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded in-process cache of active sessions keyed by session token hash. Shards are lock-free
+ * maps; an entry never outlives its session's {@code expires_at} or the configured TTL, whichever
+ * comes first. The TTL bounds how long a logout on another node can go unnoticed here.
+ */
+@Component
+public class SessionCache {
+
+    private static final int SHARD_COUNT = 64;
+    private static final int EVICTION_SAMPLE_SIZE = 8;
+
+    private final ConcurrentHashMap<String, Entry>[] shards;
+    private final Map<Long, String> tokenHashesBySessionId = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxSize;
+    private final int shardCapacity;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @SuppressWarnings("unchecked")
+    public SessionCache(@Value("${identity.cache.sessions.max-size:200000}") int maxSize,
+                        @Value("${identity.cache.sessions.ttl:PT1M}") Duration ttl) {
+        if (maxSize < SHARD_COUNT) {
+            throw new IllegalArgumentException("Session cache max size must be at least " + SHARD_COUNT);
+        }
+        this.maxSize = maxSize;
+        this.shardCapacity = maxSize / SHARD_COUNT;
+        this.ttlNanos = ttl.toNanos();
+        this.shards = new ConcurrentHashMap[SHARD_COUNT];
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            shards[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    public Optional<UserSession> get(String sessionTokenHash) {
+        ConcurrentHashMap<String, Entry> shard = shardFor(sessionTokenHash);
+        Entry entry = shard.get(sessionTokenHash);
+        if (entry == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        if (entry.isExpired(System.nanoTime())) {
+            remove(shard, sessionTokenHash, entry);
+            evictions.increment();
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(entry.session());
+    }
+
+    /**
+     * Returns a stamp to take before a read-through load; pass it to {@link #put(UserSession, long)}
+     * so a row loaded before a concurrent invalidation is never left cached after it.
+     */
+    public long stamp() {
+        return invalidations.get();
+    }
+
+    public void put(UserSession session, long stamp) {
+        if (session == null || session.id() == null || !session.active()) {
+            return;
+        }
+        long remainingNanos = remainingNanos(session.expiresAt());
+        if (remainingNanos <= 0) {
+            return;
+        }
+        String key = session.sessionTokenHash();
+        ConcurrentHashMap<String, Entry> shard = shardFor(key);
+        if (shard.size() >= shardCapacity) {
+            makeRoom(shard);
+        }
+        Entry entry = new Entry(session, System.nanoTime() + Math.min(ttlNanos, remainingNanos));
+        shard.put(key, entry);
+        tokenHashesBySessionId.put(session.id(), key);
+        // Invalidations bump the stamp before removing, so re-checking after the put closes the race
+        if (invalidations.get() != stamp) {
+            remove(shard, key, entry);
+        }
+    }
+
+    public void invalidate(Long sessionId) {
+        if (sessionId == null) {
+            return;
+        }
+        invalidations.incrementAndGet();
+        String key = tokenHashesBySessionId.remove(sessionId);
+        if (key != null) {
+            shardFor(key).remove(key);
+        }
+    }
+
+    public void clear() {
+        invalidations.incrementAndGet();
+        for (ConcurrentHashMap<String, Entry> shard : shards) {
+            shard.clear();
+        }
+        tokenHashesBySessionId.clear();
+    }
+
+    @Scheduled(fixedDelayString = "${identity.cache.sessions.sweep-interval:PT30S}")
+    public void evictExpired() {
+        long now = System.nanoTime();
+        for (ConcurrentHashMap<String, Entry> shard : shards) {
+            shard.forEach((key, entry) -> {
+                if (entry.isExpired(now) && remove(shard, key, entry)) {
+                    evictions.increment();
+                }
+            });
+        }
+    }
+
+    public Stats stats() {
+        long size = 0;
+        for (ConcurrentHashMap<String, Entry> shard : shards) {
+            size += shard.size();
+        }
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), size, maxSize);
+    }
+
+    private void makeRoom(ConcurrentHashMap<String, Entry> shard) {
+        long now = System.nanoTime();
+        // Sampled eviction: drop expired entries among the first few seen, else the one expiring soonest
+        Iterator<Map.Entry<String, Entry>> iterator = shard.entrySet().iterator();
+        Map.Entry<String, Entry> victim = null;
+        for (int i = 0; i < EVICTION_SAMPLE_SIZE && iterator.hasNext(); i++) {
+            Map.Entry<String, Entry> candidate = iterator.next();
+            if (candidate.getValue().isExpired(now)) {
+                if (remove(shard, candidate.getKey(), candidate.getValue())) {
+                    evictions.increment();
+                }
+            } else if (victim == null || candidate.getValue().expiresAtNanos() - victim.getValue().expiresAtNanos() < 0) {
+                victim = candidate;
+            }
+        }
+        if (shard.size() >= shardCapacity && victim != null && remove(shard, victim.getKey(), victim.getValue())) {
+            evictions.increment();
+        }
+    }
+
+    private boolean remove(ConcurrentHashMap<String, Entry> shard, String key, Entry entry) {
+        if (shard.remove(key, entry)) {
+            tokenHashesBySessionId.remove(entry.session().id(), key);
+            return true;
+        }
+        return false;
+    }
+
+    private long remainingNanos(LocalDateTime expiresAt) {
+        Duration remaining = Duration.between(LocalDateTime.now(), expiresAt);
+        return remaining.compareTo(Duration.ofNanos(ttlNanos)) > 0 ? ttlNanos : remaining.toNanos();
+    }
+
+    private ConcurrentHashMap<String, Entry> shardFor(String key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return shards[h & (SHARD_COUNT - 1)];
+    }
+
+    private record Entry(UserSession session, long expiresAtNanos) {
+
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+
+    public record Stats(
+        long hits,
+        long misses,
+        long evictions,
+        long size,
+        long maxSize
+    ) {
+        public double hitRate() {
+            long requests = hits + misses;
+            return requests == 0 ? 0.0 : (double) hits / requests;
+        }
+    }
+}
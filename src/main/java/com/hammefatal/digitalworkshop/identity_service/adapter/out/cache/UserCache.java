@@ -0,0 +1,252 @@
+package com.hammefatal.digitalworkshop.identity_service.adapter.out.cache;
+
+import com.hammefatal.digitalworkshop.identity_service.domain.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded in-process user cache. Entries live in lock-striped LRU segments keyed by id;
+ * the username and email views are secondary indexes that resolve to the same entry.
+ * Invalidations are tracked per id stripe, so a write only rejects in-flight loads of ids
+ * that hash to the same stripe rather than every load in progress.
+ */
+@Component
+public class UserCache {
+
+    private static final int SEGMENT_COUNT = 16;
+    private static final int INVALIDATION_STRIPES = 4096;
+
+    private final Segment[] segments;
+    private final Map<String, Long> idsByUsername = new ConcurrentHashMap<>();
+    private final Map<String, Long> idsByEmail = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxSize;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final AtomicLong invalidationSequence = new AtomicLong();
+    private final AtomicLongArray stripeInvalidatedAt = new AtomicLongArray(INVALIDATION_STRIPES);
+    private volatile long clearedAt;
+
+    public UserCache(@Value("${identity.cache.users.max-size:100000}") int maxSize,
+                     @Value("${identity.cache.users.ttl:PT5M}") Duration ttl) {
+        if (maxSize < SEGMENT_COUNT) {
+            throw new IllegalArgumentException("User cache max size must be at least " + SEGMENT_COUNT);
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.segments = new Segment[SEGMENT_COUNT];
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(maxSize / SEGMENT_COUNT);
+        }
+    }
+
+    public Optional<User> getById(Long id) {
+        User user = lookup(id, null, null);
+        return record(user);
+    }
+
+    public Optional<User> getByUsername(String username) {
+        Long id = idsByUsername.get(username);
+        User user = id != null ? lookup(id, username, null) : null;
+        return record(user);
+    }
+
+    public Optional<User> getByEmail(String email) {
+        Long id = idsByEmail.get(email);
+        User user = id != null ? lookup(id, null, email) : null;
+        return record(user);
+    }
+
+    /**
+     * Returns a stamp to take before a read-through load; pass it to {@link #put(User, long)}
+     * so a row loaded before a concurrent write is never cached after that write's invalidation.
+     */
+    public long stamp() {
+        return invalidationSequence.get();
+    }
+
+    public void put(User user, long stamp) {
+        if (user == null || user.getId() == null) {
+            return;
+        }
+        Entry entry = new Entry(user.copy(), System.nanoTime() + ttlNanos);
+        segmentFor(user.getId()).put(entry, stamp);
+    }
+
+    public void invalidate(Long id) {
+        if (id != null) {
+            // Mark before removing: a load that passes the stamp check under the segment lock was
+            // either put before this removal or sees the mark and is rejected
+            long sequence = invalidationSequence.incrementAndGet();
+            stripeInvalidatedAt.accumulateAndGet(stripeOf(id), sequence, Math::max);
+            segmentFor(id).remove(id);
+        }
+    }
+
+    public void invalidate(User user) {
+        if (user == null) {
+            return;
+        }
+        invalidate(user.getId());
+        if (user.getUsername() != null) {
+            Long id = idsByUsername.remove(user.getUsername());
+            invalidate(id);
+        }
+        if (user.getEmail() != null) {
+            Long id = idsByEmail.remove(user.getEmail());
+            invalidate(id);
+        }
+    }
+
+    public void clear() {
+        clearedAt = invalidationSequence.incrementAndGet();
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    public Stats stats() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), size, maxSize);
+    }
+
+    private User lookup(Long id, String expectedUsername, String expectedEmail) {
+        Entry entry = segmentFor(id).get(id);
+        if (entry == null) {
+            return null;
+        }
+        // Secondary indexes may briefly point at an entry whose key has since changed
+        if (expectedUsername != null && !expectedUsername.equals(entry.user().getUsername())) {
+            return null;
+        }
+        if (expectedEmail != null && !expectedEmail.equals(entry.user().getEmail())) {
+            return null;
+        }
+        return entry.user().copy();
+    }
+
+    private Optional<User> record(User user) {
+        if (user == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(user);
+    }
+
+    private Segment segmentFor(Long id) {
+        int h = Long.hashCode(id);
+        h ^= (h >>> 16);
+        return segments[h & (SEGMENT_COUNT - 1)];
+    }
+
+    private static int stripeOf(Long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 52) & (INVALIDATION_STRIPES - 1);
+    }
+
+    private boolean invalidatedSince(Long id, long stamp) {
+        return clearedAt > stamp || stripeInvalidatedAt.get(stripeOf(id)) > stamp;
+    }
+
+    private void index(User user) {
+        idsByUsername.put(user.getUsername(), user.getId());
+        idsByEmail.put(user.getEmail(), user.getId());
+    }
+
+    private void unindex(User user) {
+        idsByUsername.remove(user.getUsername(), user.getId());
+        idsByEmail.remove(user.getEmail(), user.getId());
+    }
+
+    private record Entry(User user, long expiresAtNanos) {
+
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+
+    public record Stats(
+        long hits,
+        long misses,
+        long evictions,
+        long size,
+        long maxSize
+    ) {
+        public double hitRate() {
+            long requests = hits + misses;
+            return requests == 0 ? 0.0 : (double) hits / requests;
+        }
+    }
+
+    private final class Segment {
+
+        private final LinkedHashMap<Long, Entry> entries;
+
+        Segment(int capacity) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                    if (size() > capacity) {
+                        unindex(eldest.getValue().user());
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        synchronized Entry get(Long id) {
+            Entry entry = entries.get(id);
+            if (entry != null && entry.isExpired(System.nanoTime())) {
+                entries.remove(id);
+                unindex(entry.user());
+                evictions.increment();
+                return null;
+            }
+            return entry;
+        }
+
+        synchronized void put(Entry entry, long stamp) {
+            if (invalidatedSince(entry.user().getId(), stamp)) {
+                return;
+            }
+            Entry previous = entries.put(entry.user().getId(), entry);
+            if (previous != null) {
+                unindex(previous.user());
+            }
+            index(entry.user());
+        }
+
+        synchronized void remove(Long id) {
+            Entry previous = entries.remove(id);
+            if (previous != null) {
+                unindex(previous.user());
+            }
+        }
+
+        synchronized void clear() {
+            entries.values().forEach(entry -> unindex(entry.user()));
+            entries.clear();
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+    }
+}
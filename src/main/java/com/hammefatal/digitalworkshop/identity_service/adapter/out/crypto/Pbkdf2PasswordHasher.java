@@ -0,0 +1,235 @@
+package com.hammefatal.digitalworkshop.identity_service.adapter.out.crypto;
+
+import com.hammefatal.digitalworkshop.identity_service.application.port.out.HashingCapacityExceededException;
+import com.hammefatal.digitalworkshop.identity_service.application.port.out.PasswordHasher;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PBKDF2-HMAC-SHA256 hasher. Hashing runs on a bounded pool sized to the cores so request threads
+ * never compete for CPU with it directly; when the queue is full, callers get
+ * {@link HashingCapacityExceededException} instead of piling up. The iteration count is calibrated
+ * at startup to the configured target latency and never drops below the configured floor.
+ */
+@Component
+public class Pbkdf2PasswordHasher implements PasswordHasher {
+
+    private static final Logger log = LoggerFactory.getLogger(Pbkdf2PasswordHasher.class);
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final String PREFIX = "pbkdf2-sha256";
+    private static final String LEGACY_PREFIX = "hashed_";
+    private static final int SALT_BYTES = 16;
+    private static final int KEY_BITS = 256;
+    private static final int CALIBRATION_ITERATIONS = 20_000;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final ThreadPoolExecutor executor;
+    private final Duration waitTimeout;
+    private final int threads;
+    private final int iterations;
+
+    public Pbkdf2PasswordHasher(@Value("${identity.password.target-latency:PT0.25S}") Duration targetLatency,
+                                @Value("${identity.password.min-iterations:210000}") int minIterations,
+                                @Value("${identity.password.threads:0}") int threads,
+                                @Value("${identity.password.queue-capacity:256}") int queueCapacity,
+                                @Value("${identity.password.wait-timeout:PT5S}") Duration waitTimeout) {
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.waitTimeout = waitTimeout;
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+            this.threads, this.threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            task -> {
+                Thread thread = new Thread(task, "password-hasher-" + sequence.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        this.iterations = calibrate(targetLatency, minIterations);
+    }
+
+    @Override
+    public String hash(String rawPassword) {
+        return await(submit(() -> encode(rawPassword)));
+    }
+
+    @Override
+    public List<String> hashAll(List<String> rawPasswords) {
+        // Keep at most one task per worker in flight so a batch never fills the shared queue
+        Semaphore inFlight = new Semaphore(threads);
+        List<Future<String>> futures = new ArrayList<>(rawPasswords.size());
+        try {
+            for (String rawPassword : rawPasswords) {
+                inFlight.acquire();
+                futures.add(submit(() -> {
+                    try {
+                        return encode(rawPassword);
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            throw new HashingCapacityExceededException("Interrupted while hashing passwords", e);
+        } catch (HashingCapacityExceededException e) {
+            // The batch is abandoned, so the tasks already queued would only burn workers
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        }
+        List<String> hashes = new ArrayList<>(futures.size());
+        try {
+            for (Future<String> future : futures) {
+                hashes.add(await(future));
+            }
+        } catch (RuntimeException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        }
+        return hashes;
+    }
+
+    @Override
+    public boolean matches(String rawPassword, String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        if (encodedPassword.startsWith(LEGACY_PREFIX)) {
+            return MessageDigest.isEqual(
+                encodedPassword.getBytes(StandardCharsets.UTF_8),
+                (LEGACY_PREFIX + rawPassword).getBytes(StandardCharsets.UTF_8));
+        }
+        String[] parts = encodedPassword.split("\\$");
+        if (parts.length != 4 || !PREFIX.equals(parts[0])) {
+            return false;
+        }
+        int storedIterations;
+        byte[] salt;
+        byte[] expected;
+        try {
+            storedIterations = Integer.parseInt(parts[1]);
+            salt = Base64.getDecoder().decode(parts[2]);
+            expected = Base64.getDecoder().decode(parts[3]);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        byte[] actual = await(submit(() -> derive(rawPassword, salt, storedIterations)));
+        return MessageDigest.isEqual(expected, actual);
+    }
+
+    @Override
+    public boolean needsRehash(String encodedPassword) {
+        if (encodedPassword == null || !encodedPassword.startsWith(PREFIX + "$")) {
+            return true;
+        }
+        String[] parts = encodedPassword.split("\\$");
+        try {
+            return parts.length != 4 || Integer.parseInt(parts[1]) < iterations;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> Future<T> submit(Callable<T> task) {
+        try {
+            return executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new HashingCapacityExceededException("Password hashing capacity exceeded", e);
+        }
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new HashingCapacityExceededException("Timed out waiting for password hashing", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new HashingCapacityExceededException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private String encode(String rawPassword) {
+        byte[] salt = new byte[SALT_BYTES];
+        secureRandom.nextBytes(salt);
+        byte[] hash = derive(rawPassword, salt, iterations);
+        return PREFIX + "$" + iterations
+            + "$" + Base64.getEncoder().encodeToString(salt)
+            + "$" + Base64.getEncoder().encodeToString(hash);
+    }
+
+    private static byte[] derive(String rawPassword, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(rawPassword.toCharArray(), salt, iterations, KEY_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    private static int calibrate(Duration targetLatency, int minIterations) {
+        byte[] salt = new byte[SALT_BYTES];
+        // Warm up the JIT before timing
+        for (int i = 0; i < 3; i++) {
+            derive("calibration", salt, CALIBRATION_ITERATIONS);
+        }
+        long started = System.nanoTime();
+        derive("calibration", salt, CALIBRATION_ITERATIONS);
+        long elapsed = Math.max(1, System.nanoTime() - started);
+
+        // In double, so a long target saturates instead of overflowing into a tiny or negative count
+        long scaled = (long) ((double) CALIBRATION_ITERATIONS * targetLatency.toNanos() / elapsed);
+        int calibrated = (int) Math.min(Integer.MAX_VALUE, Math.max(minIterations, scaled / 1_000 * 1_000));
+        log.info("Password hashing calibrated to {} PBKDF2 iterations (target {} ms)", calibrated, targetLatency.toMillis());
+        return calibrated;
+    }
+}
@@ -0,0 +1,584 @@
+package com.hammefatal.digitalworkshop.identity_service.adapter.out.memory;
+
+import com.hammefatal.digitalworkshop.identity_service.application.port.out.DuplicateUserException;
+import com.hammefatal.digitalworkshop.identity_service.application.port.out.UserRepository;
+import com.hammefatal.digitalworkshop.identity_service.domain.User;
+import com.hammefatal.digitalworkshop.identity_service.domain.UserProfile;
+import com.hammefatal.digitalworkshop.identity_service.domain.UserSummary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * {@link UserRepository} held entirely in memory, enabled by the {@code in-memory} profile for load
+ * tests, benchmarks and running without Postgres for the user table. Reads are lock-free; writes are
+ * serialized so the username and email uniqueness checks and the secondary indexes stay consistent.
+ * Stored users are never mutated: every write replaces the record, and indexes are only hints that
+ * reads re-check against the current record.
+ */
+@Profile("in-memory")
+@Component
+public class InMemoryUserRepository implements UserRepository {
+
+    private static final int GRAM = 3;
+
+    private final ConcurrentHashMap<Long, User> users = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Long> ids = new ConcurrentSkipListSet<>();
+    private final ConcurrentHashMap<String, Long> idsByUsername = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Long> idsByEmail = new ConcurrentHashMap<>();
+    private final Map<User.AccountStatus, ConcurrentSkipListSet<Long>> idsByStatus = new EnumMap<>(User.AccountStatus.class);
+    private final ConcurrentHashMap<String, ConcurrentSkipListSet<Long>> nameGrams = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ConcurrentSkipListSet<Long>> emailGrams = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // Replaced under writeLock alongside the users it describes, so reads never scan or lock
+    private volatile VersionStamp versionStamp = new VersionStamp(null, 0);
+
+    public InMemoryUserRepository() {
+        for (User.AccountStatus status : User.AccountStatus.values()) {
+            idsByStatus.put(status, new ConcurrentSkipListSet<>());
+        }
+    }
+
+    @Override
+    public User save(User user) {
+        if (user.getId() == null || !users.containsKey(user.getId())) {
+            return insert(user);
+        }
+        writeLock.lock();
+        try {
+            User current = users.get(user.getId());
+            if (current == null) {
+                return insert(user);
+            }
+            checkUnique(user.getUsername(), user.getEmail(), user.getId());
+            User next = user.copy();
+            next.setUpdatedAt(LocalDateTime.now());
+            replace(current, next);
+            return next.copy();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public User insert(User user) {
+        writeLock.lock();
+        try {
+            checkUnique(user.getUsername(), user.getEmail(), null);
+            User stored = newRecord(user);
+            add(stored);
+            return stored.copy();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public List<User> insertAll(List<User> batch) {
+        writeLock.lock();
+        try {
+            // All-or-nothing like the batched INSERT: validate the whole batch, including against itself, first
+            Set<String> usernames = new HashSet<>();
+            Set<String> emails = new HashSet<>();
+            for (User user : batch) {
+                checkUnique(user.getUsername(), user.getEmail(), null);
+                if (!usernames.add(user.getUsername())) {
+                    throw new DuplicateUserException(DuplicateUserException.Field.USERNAME, null);
+                }
+                if (!emails.add(user.getEmail())) {
+                    throw new DuplicateUserException(DuplicateUserException.Field.EMAIL, null);
+                }
+            }
+            List<User> saved = new ArrayList<>(batch.size());
+            for (User user : batch) {
+                User stored = newRecord(user);
+                add(stored);
+                saved.add(stored.copy());
+            }
+            return saved;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<User> updateProfile(ProfileUpdate update) {
+        return modify(update.id(), user -> {
+            if (update.firstName() != null) {
+                user.setFirstName(update.firstName());
+            }
+            if (update.lastName() != null) {
+                user.setLastName(update.lastName());
+            }
+            if (update.phoneNumber() != null) {
+                user.setPhoneNumber(update.phoneNumber());
+            }
+            if (update.dateOfBirth() != null) {
+                user.setDateOfBirth(update.dateOfBirth());
+            }
+            if (update.profileImageUrl() != null) {
+                user.setProfileImageUrl(update.profileImageUrl());
+            }
+            return user;
+        });
+    }
+
+    @Override
+    public Optional<StatusChange> updateAccountStatus(Long id, User.AccountStatus status) {
+        // Captured under the write lock, from the same copy the change is applied to
+        User.AccountStatus[] previous = new User.AccountStatus[1];
+        return modify(id, user -> {
+            previous[0] = user.getAccountStatus();
+            if (status == User.AccountStatus.ACTIVE) {
+                user.setFailedLoginAttempts(0);
+            } else {
+                user.setSessionEpoch(user.getSessionEpoch() + 1);
+            }
+            user.setAccountStatus(status);
+            return user;
+        }).map(user -> new StatusChange(user, previous[0]));
+    }
+
+    @Override
+    public Optional<User> updatePassword(Long id, String expectedPasswordHash, String newPasswordHash) {
+        return modify(id, user -> {
+            if (!user.getPasswordHash().equals(expectedPasswordHash)) {
+                return null;
+            }
+            user.setPasswordHash(newPasswordHash);
+            user.setPasswordChangedAt(LocalDateTime.now());
+            user.setFailedLoginAttempts(0);
+            user.setSessionEpoch(user.getSessionEpoch() + 1);
+            return user;
+        });
+    }
+
+    @Override
+    public Optional<User> incrementSessionEpoch(Long id) {
+        return modify(id, user -> {
+            user.setSessionEpoch(user.getSessionEpoch() + 1);
+            return user;
+        });
+    }
+
+    @Override
+    public boolean replacePasswordHash(Long id, String expectedPasswordHash, String newPasswordHash) {
+        return modify(id, user -> {
+            if (!user.getPasswordHash().equals(expectedPasswordHash)) {
+                return null;
+            }
+            user.setPasswordHash(newPasswordHash);
+            return user;
+        }).isPresent();
+    }
+
+    @Override
+    public void applyLoginCounters(Collection<LoginCounter> counters) {
+        for (LoginCounter counter : counters) {
+            modify(counter.userId(), user -> {
+                user.setFailedLoginAttempts(counter.failedLoginAttempts());
+                if (counter.locked() && user.getAccountStatus() != User.AccountStatus.LOCKED) {
+                    user.setSessionEpoch(user.getSessionEpoch() + 1);
+                    user.setAccountStatus(User.AccountStatus.LOCKED);
+                }
+                if (counter.lastLoginAt() != null) {
+                    user.setLastLoginAt(counter.lastLoginAt());
+                }
+                return user;
+            });
+        }
+    }
+
+    @Override
+    public Optional<User> findById(Long id) {
+        User user = users.get(id);
+        return user != null ? Optional.of(user.copy()) : Optional.empty();
+    }
+
+    @Override
+    public Optional<User> findByUsername(String username) {
+        Long id = idsByUsername.get(username);
+        return id != null ? findById(id).filter(user -> user.getUsername().equals(username)) : Optional.empty();
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        Long id = idsByEmail.get(email);
+        return id != null ? findById(id).filter(user -> user.getEmail().equals(email)) : Optional.empty();
+    }
+
+    @Override
+    public Optional<User> findCurrentById(Long id) {
+        return findById(id);
+    }
+
+    @Override
+    public Optional<LocalDateTime> findUpdatedAtById(Long id) {
+        User user = users.get(id);
+        return user != null ? Optional.ofNullable(user.getUpdatedAt()) : Optional.empty();
+    }
+
+    @Override
+    public Optional<Integer> findSessionEpochById(Long id) {
+        User user = users.get(id);
+        return user != null ? Optional.of(user.getSessionEpoch()) : Optional.empty();
+    }
+
+    @Override
+    public VersionStamp findVersionStamp() {
+        return versionStamp;
+    }
+
+    @Override
+    public List<User> findAllByKeys(Collection<Long> ids, Collection<String> usernames, Collection<String> emails) {
+        Map<Long, User> found = new LinkedHashMap<>();
+        for (Long id : ids) {
+            User user = users.get(id);
+            if (user != null) {
+                found.putIfAbsent(id, user.copy());
+            }
+        }
+        for (String username : usernames) {
+            findByUsername(username).ifPresent(user -> found.putIfAbsent(user.getId(), user));
+        }
+        for (String email : emails) {
+            findByEmail(email).ifPresent(user -> found.putIfAbsent(user.getId(), user));
+        }
+        return new ArrayList<>(found.values());
+    }
+
+    @Override
+    public List<UserSummary> findAllAfter(Long afterId, int limit) {
+        return summaries(ids, afterId, limit, user -> true);
+    }
+
+    @Override
+    public List<UserSummary> findByAccountStatusAfter(User.AccountStatus status, Long afterId, int limit) {
+        return summaries(idsByStatus.get(status), afterId, limit, user -> user.getAccountStatus() == status);
+    }
+
+    @Override
+    public List<NameMatch> searchByName(String term, float afterScore, Long afterId, int limit) {
+        // Substring matches only, all scored alike, so the ranking reduces to id order
+        String needle = term.toLowerCase(Locale.ROOT);
+        return summaries(candidates(nameGrams, needle), afterId, limit, user -> fullName(user).contains(needle)).stream()
+                .map(summary -> new NameMatch(summary, 1.0f))
+                .toList();
+    }
+
+    @Override
+    public List<UserSummary> findByEmailContainingAfter(String email, Long afterId, int limit) {
+        String needle = email.toLowerCase(Locale.ROOT);
+        return summaries(candidates(emailGrams, needle), afterId, limit,
+                user -> user.getEmail().toLowerCase(Locale.ROOT).contains(needle));
+    }
+
+    @Override
+    public List<UserKey> findKeysAfter(Long afterId, int limit) {
+        List<UserKey> keys = new ArrayList<>(limit);
+        for (Long id : ids.tailSet(afterId, false)) {
+            User user = users.get(id);
+            if (user != null) {
+                keys.add(new UserKey(user.getId(), user.getUsername(), user.getEmail()));
+                if (keys.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return keys;
+    }
+
+    @Override
+    public long streamProfiles(LocalDateTime updatedSince, int fetchSize, Consumer<UserProfile> sink) {
+        long rows = 0;
+        if (updatedSince == null) {
+            for (Long id : ids) {
+                User user = users.get(id);
+                if (user != null) {
+                    sink.accept(UserProfile.from(user));
+                    rows++;
+                }
+            }
+            return rows;
+        }
+        // Same order as the SQL adapter; there is no updated_at index here, so the matches are sorted
+        List<User> changed = users.values().stream()
+                .filter(user -> !user.getUpdatedAt().isBefore(updatedSince))
+                .sorted(Comparator.comparing(User::getUpdatedAt).thenComparing(User::getId))
+                .toList();
+        for (User user : changed) {
+            sink.accept(UserProfile.from(user));
+            rows++;
+        }
+        return rows;
+    }
+
+    @Override
+    public boolean existsByUsername(String username) {
+        return idsByUsername.containsKey(username);
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return idsByEmail.containsKey(email);
+    }
+
+    @Override
+    public Set<String> findExistingUsernames(Collection<String> usernames) {
+        Set<String> existing = new HashSet<>();
+        usernames.stream().filter(idsByUsername::containsKey).forEach(existing::add);
+        return existing;
+    }
+
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        Set<String> existing = new HashSet<>();
+        emails.stream().filter(idsByEmail::containsKey).forEach(existing::add);
+        return existing;
+    }
+
+    @Override
+    public long count() {
+        return users.size();
+    }
+
+    @Override
+    public Map<User.AccountStatus, Long> countByAccountStatus() {
+        Map<User.AccountStatus, Long> counts = new EnumMap<>(User.AccountStatus.class);
+        idsByStatus.forEach((status, statusIds) -> counts.put(status, (long) statusIds.size()));
+        return counts;
+    }
+
+    @Override
+    public Map<User.AccountStatus, Long> estimateCountByAccountStatus() {
+        // Exact counts are already cheap here
+        return countByAccountStatus();
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        writeLock.lock();
+        try {
+            User current = users.get(id);
+            if (current != null) {
+                remove(current);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void delete(User user) {
+        deleteById(user.getId());
+    }
+
+    /**
+     * Applies {@code change} to a copy of the stored user; returning {@code null} from it leaves the
+     * user unchanged and yields an empty result, like a guarded UPDATE matching no row.
+     */
+    private Optional<User> modify(Long id, UnaryOperator<User> change) {
+        writeLock.lock();
+        try {
+            User current = users.get(id);
+            if (current == null) {
+                return Optional.empty();
+            }
+            User next = change.apply(current.copy());
+            if (next == null) {
+                return Optional.empty();
+            }
+            next.setUpdatedAt(LocalDateTime.now());
+            replace(current, next);
+            return Optional.of(next.copy());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private User newRecord(User user) {
+        User stored = user.copy();
+        stored.setId(sequence.incrementAndGet());
+        LocalDateTime now = LocalDateTime.now();
+        if (stored.getAccountStatus() == null) {
+            stored.setAccountStatus(User.AccountStatus.ACTIVE);
+        }
+        stored.setCreatedAt(now);
+        stored.setUpdatedAt(now);
+        return stored;
+    }
+
+    private void checkUnique(String username, String email, Long ownId) {
+        Long usernameOwner = idsByUsername.get(username);
+        if (usernameOwner != null && !usernameOwner.equals(ownId)) {
+            throw new DuplicateUserException(DuplicateUserException.Field.USERNAME, null);
+        }
+        Long emailOwner = idsByEmail.get(email);
+        if (emailOwner != null && !emailOwner.equals(ownId)) {
+            throw new DuplicateUserException(DuplicateUserException.Field.EMAIL, null);
+        }
+    }
+
+    // Index maintenance below runs under writeLock
+
+    private void add(User user) {
+        users.put(user.getId(), user);
+        ids.add(user.getId());
+        idsByUsername.put(user.getUsername(), user.getId());
+        idsByEmail.put(user.getEmail(), user.getId());
+        idsByStatus.get(user.getAccountStatus()).add(user.getId());
+        addGrams(nameGrams, grams(fullName(user)), user.getId());
+        addGrams(emailGrams, grams(emailKey(user)), user.getId());
+        touch(user.getUpdatedAt());
+    }
+
+    private void remove(User user) {
+        users.remove(user.getId());
+        ids.remove(user.getId());
+        idsByUsername.remove(user.getUsername(), user.getId());
+        idsByEmail.remove(user.getEmail(), user.getId());
+        idsByStatus.get(user.getAccountStatus()).remove(user.getId());
+        removeGrams(nameGrams, grams(fullName(user)), user.getId());
+        removeGrams(emailGrams, grams(emailKey(user)), user.getId());
+        versionStamp = new VersionStamp(versionStamp.lastUpdatedAt(), versionStamp.deletions() + 1);
+    }
+
+    private void replace(User current, User next) {
+        Long id = current.getId();
+        // Only grams that differ move; a gram shared by the old and new value keeps its posting
+        Set<String> oldNameGrams = grams(fullName(current));
+        Set<String> newNameGrams = grams(fullName(next));
+        Set<String> oldEmailGrams = grams(emailKey(current));
+        Set<String> newEmailGrams = grams(emailKey(next));
+        // Add new index entries before dropping old ones so a concurrent reader never misses the user
+        if (!current.getUsername().equals(next.getUsername())) {
+            idsByUsername.put(next.getUsername(), id);
+        }
+        if (!current.getEmail().equals(next.getEmail())) {
+            idsByEmail.put(next.getEmail(), id);
+        }
+        if (current.getAccountStatus() != next.getAccountStatus()) {
+            idsByStatus.get(next.getAccountStatus()).add(id);
+        }
+        addGrams(nameGrams, difference(newNameGrams, oldNameGrams), id);
+        addGrams(emailGrams, difference(newEmailGrams, oldEmailGrams), id);
+        users.put(id, next);
+        if (!current.getUsername().equals(next.getUsername())) {
+            idsByUsername.remove(current.getUsername(), id);
+        }
+        if (!current.getEmail().equals(next.getEmail())) {
+            idsByEmail.remove(current.getEmail(), id);
+        }
+        if (current.getAccountStatus() != next.getAccountStatus()) {
+            idsByStatus.get(current.getAccountStatus()).remove(id);
+        }
+        removeGrams(nameGrams, difference(oldNameGrams, newNameGrams), id);
+        removeGrams(emailGrams, difference(oldEmailGrams, newEmailGrams), id);
+        touch(next.getUpdatedAt());
+    }
+
+    private void touch(LocalDateTime updatedAt) {
+        LocalDateTime last = versionStamp.lastUpdatedAt();
+        if (last == null || updatedAt.isAfter(last)) {
+            versionStamp = new VersionStamp(updatedAt, versionStamp.deletions());
+        }
+    }
+
+    private List<UserSummary> summaries(NavigableSet<Long> candidateIds, Long afterId, int limit, Predicate<User> matches) {
+        List<UserSummary> page = new ArrayList<>(Math.min(limit, 256));
+        for (Long id : candidateIds.tailSet(afterId, false)) {
+            User user = users.get(id);
+            if (user != null && matches.test(user)) {
+                page.add(new UserSummary(user.getId(), user.getUsername(), user.getFirstName(), user.getLastName(),
+                        user.getAccountStatus(), user.getCreatedAt()));
+                if (page.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Smallest posting list among the term's trigrams; every match contains all of them, so scanning
+     * that one list in id order and re-checking each candidate finds exactly the matches.
+     */
+    private NavigableSet<Long> candidates(ConcurrentHashMap<String, ConcurrentSkipListSet<Long>> index, String needle) {
+        if (needle.length() < GRAM) {
+            return ids;
+        }
+        NavigableSet<Long> smallest = null;
+        for (int i = 0; i + GRAM <= needle.length(); i++) {
+            ConcurrentSkipListSet<Long> postings = index.get(needle.substring(i, i + GRAM));
+            if (postings == null) {
+                return new ConcurrentSkipListSet<>();
+            }
+            if (smallest == null || postings.size() < smallest.size()) {
+                smallest = postings;
+            }
+        }
+        return smallest;
+    }
+
+    private static Set<String> grams(String value) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static Set<String> difference(Set<String> grams, Set<String> excluded) {
+        Set<String> remaining = new HashSet<>(grams);
+        remaining.removeAll(excluded);
+        return remaining;
+    }
+
+    private static void addGrams(ConcurrentHashMap<String, ConcurrentSkipListSet<Long>> index, Set<String> grams, Long id) {
+        for (String gram : grams) {
+            index.computeIfAbsent(gram, key -> new ConcurrentSkipListSet<>()).add(id);
+        }
+    }
+
+    private static void removeGrams(ConcurrentHashMap<String, ConcurrentSkipListSet<Long>> index, Set<String> grams, Long id) {
+        for (String gram : grams) {
+            ConcurrentSkipListSet<Long> postings = index.get(gram);
+            if (postings != null) {
+                postings.remove(id);
+                // Safe to drop an empty posting list: writers are serialized, so nothing can be adding to it
+                if (postings.isEmpty()) {
+                    index.remove(gram, postings);
+                }
+            }
+        }
+    }
+
+    private static String emailKey(User user) {
+        return user.getEmail().toLowerCase(Locale.ROOT);
+    }
+
+    private static String fullName(User user) {
+        return (user.getFirstName() + " " + user.getLastName()).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,113 @@
+package com.hammefatal.digitalworkshop.identity_service.adapter.out.metrics;
+
+import com.hammefatal.digitalworkshop.identity_service.adapter.in.web.AdmissionControlFilter;
+import com.hammefatal.digitalworkshop.identity_service.adapter.out.cache.SessionCache;
+import com.hammefatal.digitalworkshop.identity_service.adapter.out.cache.UserCache;
+import com.hammefatal.digitalworkshop.identity_service.adapter.out.crypto.Pbkdf2PasswordHasher;
+import com.hammefatal.digitalworkshop.identity_service.application.service.LoginAttemptTracker;
+import com.hammefatal.digitalworkshop.identity_service.application.service.SecurityEventLog;
+import com.hammefatal.digitalworkshop.identity_service.application.service.SessionAccessRecorder;
+import com.hammefatal.digitalworkshop.identity_service.application.service.SessionEpochRegistry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Exposes the in-process caches, queues and admission state as gauges. Values are pulled at scrape
+ * time from the components' existing stats, so nothing is recorded on the request path. Connection
+ * pool metrics come from Spring Boot's Hikari binder ({@code hikaricp.*}).
+ */
+@Component
+public class IdentityMetricsBinder implements MeterBinder {
+
+    private final UserCache userCache;
+    private final SessionCache sessionCache;
+    private final Pbkdf2PasswordHasher passwordHasher;
+    private final SecurityEventLog securityEventLog;
+    private final SessionAccessRecorder sessionAccessRecorder;
+    private final LoginAttemptTracker loginAttemptTracker;
+    private final SessionEpochRegistry sessionEpochRegistry;
+    private final AdmissionControlFilter admissionControlFilter;
+
+    public IdentityMetricsBinder(UserCache userCache,
+                                 SessionCache sessionCache,
+                                 Pbkdf2PasswordHasher passwordHasher,
+                                 SecurityEventLog securityEventLog,
+                                 SessionAccessRecorder sessionAccessRecorder,
+                                 LoginAttemptTracker loginAttemptTracker,
+                                 SessionEpochRegistry sessionEpochRegistry,
+                                 AdmissionControlFilter admissionControlFilter) {
+        this.userCache = userCache;
+        this.sessionCache = sessionCache;
+        this.passwordHasher = passwordHasher;
+        this.securityEventLog = securityEventLog;
+        this.sessionAccessRecorder = sessionAccessRecorder;
+        this.loginAttemptTracker = loginAttemptTracker;
+        this.sessionEpochRegistry = sessionEpochRegistry;
+        this.admissionControlFilter = admissionControlFilter;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bindCache(registry, "users", () -> {
+            UserCache.Stats stats = userCache.stats();
+            return new CacheStats(stats.hits(), stats.misses(), stats.evictions(), stats.size());
+        });
+        bindCache(registry, "sessions", () -> {
+            SessionCache.Stats stats = sessionCache.stats();
+            return new CacheStats(stats.hits(), stats.misses(), stats.evictions(), stats.size());
+        });
+
+        Gauge.builder("identity.password.hashing.queue", passwordHasher, Pbkdf2PasswordHasher::getQueueDepth)
+                .register(registry);
+        Gauge.builder("identity.password.hashing.active", passwordHasher, Pbkdf2PasswordHasher::getActiveCount)
+                .register(registry);
+
+        Gauge.builder("identity.security.log.depth", securityEventLog, log -> log.getStats().depth())
+                .register(registry);
+        Gauge.builder("identity.security.log.lag", securityEventLog, log -> log.getStats().lastLagMillis())
+                .baseUnit("milliseconds")
+                .register(registry);
+        functionCounter(registry, "identity.security.log.enqueued", securityEventLog, log -> log.getStats().enqueued());
+        functionCounter(registry, "identity.security.log.dropped", securityEventLog, log -> log.getStats().dropped());
+        functionCounter(registry, "identity.security.log.written", securityEventLog, log -> log.getStats().written());
+        functionCounter(registry, "identity.security.log.failed", securityEventLog, log -> log.getStats().failed());
+
+        Gauge.builder("identity.session.access.pending", sessionAccessRecorder, SessionAccessRecorder::getPendingCount)
+                .register(registry);
+        Gauge.builder("identity.session.epochs", sessionEpochRegistry, SessionEpochRegistry::size)
+                .register(registry);
+        Gauge.builder("identity.login.tracked.users", loginAttemptTracker, LoginAttemptTracker::getTrackedUserCount)
+                .register(registry);
+        Gauge.builder("identity.login.tracked.ips", loginAttemptTracker, LoginAttemptTracker::getTrackedIpCount)
+                .register(registry);
+
+        Gauge.builder("identity.admission.inflight", admissionControlFilter, filter -> filter.getStats().inFlight())
+                .register(registry);
+        Gauge.builder("identity.admission.waiting", admissionControlFilter, filter -> filter.getStats().waiting())
+                .register(registry);
+        functionCounter(registry, "identity.admission.rejected", admissionControlFilter, filter -> filter.getStats().rejected());
+    }
+
+    private void bindCache(MeterRegistry registry, String name, Supplier<CacheStats> stats) {
+        Gauge.builder("identity.cache.size", stats, supplier -> supplier.get().size())
+                .tag("cache", name)
+                .register(registry);
+        functionCounter(registry, "identity.cache.hits", stats, supplier -> supplier.get().hits(), "cache", name);
+        functionCounter(registry, "identity.cache.misses", stats, supplier -> supplier.get().misses(), "cache", name);
+        functionCounter(registry, "identity.cache.evictions", stats, supplier -> supplier.get().evictions(), "cache", name);
+    }
+
+    private record CacheStats(long hits, long misses, long evictions, long size) {}
+
+    private static <T> void functionCounter(MeterRegistry registry, String name, T source, ToDoubleFunction<T> count, String... tags) {
+        FunctionCounter.builder(name, source, count)
+                .tags(tags)
+                .register(registry);
+    }
+}
@@ -0,0 +1,86 @@
+package com.hammefatal.digitalworkshop.identity_service.adapter.out.persistence;
+
+import com.hammefatal.digitalworkshop.identity_service.application.port.out.AuthorizationRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reads the RBAC tables with plain JDBC; the application layer compiles them into bitsets, so no
+ * entity graph is needed here.
+ */
+@Component
+public class AuthorizationRepositoryImpl implements AuthorizationRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AuthorizationRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<PermissionDefinition> findActivePermissions() {
+        return jdbcTemplate.query("""
+                SELECT id, resource, action FROM permissions
+                WHERE is_active
+                ORDER BY id
+                """,
+                (rs, rowNum) -> new PermissionDefinition(rs.getLong("id"), rs.getString("resource"), rs.getString("action")));
+    }
+
+    @Override
+    public List<RolePermission> findActiveRolePermissions() {
+        return jdbcTemplate.query("""
+                SELECT rp.role_id, rp.permission_id
+                FROM role_permissions rp
+                JOIN roles r ON r.id = rp.role_id
+                JOIN permissions p ON p.id = rp.permission_id
+                WHERE r.is_active AND p.is_active
+                """,
+                (rs, rowNum) -> new RolePermission(rs.getLong("role_id"), rs.getLong("permission_id")));
+    }
+
+    @Override
+    public List<RoleGrant> findActiveRoleGrants(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        // One round trip for any number of users; roles without permissions are filtered out by the catalog
+        return jdbcTemplate.query("""
+                SELECT user_id, role_id, expires_at FROM user_roles
+                WHERE user_id = ANY(?) AND is_active
+                  AND (expires_at IS NULL OR expires_at > CURRENT_TIMESTAMP)
+                """,
+                statement -> statement.setArray(1, statement.getConnection().createArrayOf("bigint", userIds.toArray())),
+                (rs, rowNum) -> {
+                    Timestamp expiresAt = rs.getTimestamp("expires_at");
+                    return new RoleGrant(rs.getLong("user_id"), rs.getLong("role_id"),
+                            expiresAt != null ? expiresAt.toLocalDateTime() : null);
+                });
+    }
+
+    @Override
+    public boolean grantRole(Long userId, Long roleId, Long grantedBy, LocalDateTime expiresAt) {
+        return jdbcTemplate.update("""
+                INSERT INTO user_roles (user_id, role_id, granted_by, expires_at, is_active)
+                VALUES (?, ?, ?, ?, TRUE)
+                ON CONFLICT (user_id, role_id) DO UPDATE SET
+                    granted_by = EXCLUDED.granted_by,
+                    granted_at = CURRENT_TIMESTAMP,
+                    expires_at = EXCLUDED.expires_at,
+                    is_active = TRUE
+                """,
+                userId, roleId, grantedBy, expiresAt != null ? Timestamp.valueOf(expiresAt) : null) > 0;
+    }
+
+    @Override
+    public boolean revokeRole(Long userId, Long roleId) {
+        return jdbcTemplate.update(
+                "UPDATE user_roles SET is_active = FALSE WHERE user_id = ? AND role_id = ? AND is_active",
+                userId, roleId) > 0;
+    }
+}
@@ -0,0 +1,87 @@
+package com.hammefatal.digitalworkshop.identity_service.adapter.out.persistence;
+
+import com.hammefatal.digitalworkshop.identity_service.application.port.out.ExpiredDataRepository;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Chunked deletes for expired rows. Each chunk runs as its own short auto-commit statement, so row
+ * locks and WAL are bounded by the chunk size rather than by the backlog.
+ */
+@Component
+public class ExpiredDataRepositoryImpl implements ExpiredDataRepository {
+
+    // Key for pg_try_advisory_lock; only needs to be unique among advisory locks in this database
+    private static final long PURGE_LOCK_KEY = "identity-service:expired-data-purge".hashCode();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ExpiredDataRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public boolean runExclusively(Runnable task) {
+        // The session-level lock is held on this connection while the chunks run on other pooled connections
+        Boolean ran = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            if (!advisoryLock(connection, "SELECT pg_try_advisory_lock(?)")) {
+                return false;
+            }
+            try {
+                task.run();
+                return true;
+            } finally {
+                advisoryLock(connection, "SELECT pg_advisory_unlock(?)");
+            }
+        });
+        return Boolean.TRUE.equals(ran);
+    }
+
+    @Override
+    public int deleteChunk(Target target, LocalDateTime cutoff, int limit) {
+        Timestamp before = Timestamp.valueOf(cutoff);
+        return switch (target) {
+            case USER_SESSIONS -> jdbcTemplate.update("""
+                    DELETE FROM user_sessions WHERE id IN (
+                        SELECT id FROM user_sessions
+                        WHERE expires_at < ? OR (NOT is_active AND updated_at < ?)
+                        LIMIT ?
+                        FOR UPDATE SKIP LOCKED
+                    )
+                    """, before, before, limit);
+            case PASSWORD_RESET_TOKENS -> jdbcTemplate.update("""
+                    DELETE FROM password_reset_tokens WHERE id IN (
+                        SELECT id FROM password_reset_tokens
+                        WHERE expires_at < ? OR (is_used AND used_at < ?)
+                        LIMIT ?
+                        FOR UPDATE SKIP LOCKED
+                    )
+                    """, before, before, limit);
+            case EMAIL_VERIFICATION_TOKENS -> jdbcTemplate.update("""
+                    DELETE FROM email_verification_tokens WHERE id IN (
+                        SELECT id FROM email_verification_tokens
+                        WHERE expires_at < ? OR (is_verified AND verified_at < ?)
+                        LIMIT ?
+                        FOR UPDATE SKIP LOCKED
+                    )
+                    """, before, before, limit);
+        };
+    }
+
+    private static boolean advisoryLock(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, PURGE_LOCK_KEY);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+}
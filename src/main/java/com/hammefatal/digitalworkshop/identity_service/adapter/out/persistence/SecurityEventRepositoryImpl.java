@@ -0,0 +1,66 @@
+package com.hammefatal.digitalworkshop.identity_service.adapter.out.persistence;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hammefatal.digitalworkshop.identity_service.application.port.out.SecurityEventRepository;
+import com.hammefatal.digitalworkshop.identity_service.domain.SecurityEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+@Component
+public class SecurityEventRepositoryImpl implements SecurityEventRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public SecurityEventRepositoryImpl(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void insertAll(List<SecurityEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        // reWriteBatchedInserts turns this batch into multi-row INSERT statements
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO security_logs
+                    (user_id, event_type, event_description, ip_address, user_agent, session_id, success, additional_data, created_at)
+                VALUES (?, ?, ?, CAST(? AS inet), ?, ?, ?, CAST(? AS jsonb), ?)
+                """,
+                events,
+                events.size(),
+                (statement, event) -> {
+                    if (event.userId() != null) {
+                        statement.setLong(1, event.userId());
+                    } else {
+                        statement.setNull(1, Types.BIGINT);
+                    }
+                    statement.setString(2, event.eventType().name());
+                    statement.setString(3, event.description());
+                    statement.setString(4, event.ipAddress());
+                    statement.setString(5, event.userAgent());
+                    statement.setString(6, event.sessionId());
+                    statement.setBoolean(7, event.success());
+                    statement.setString(8, toJson(event));
+                    statement.setTimestamp(9, Timestamp.valueOf(event.occurredAt()));
+                });
+    }
+
+    private String toJson(SecurityEvent event) {
+        if (event.additionalData() == null || event.additionalData().isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(event.additionalData());
+        } catch (JsonProcessingException e) {
+            // One unserializable payload must not fail the rest of the batch
+            return null;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.hammefatal.digitalworkshop.identity_service.adapter.out.persistence;
+
+import com.hammefatal.digitalworkshop.identity_service.application.port.out.SessionRepository;
+import com.hammefatal.digitalworkshop.identity_service.domain.UserSession;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+@Component
+public class SessionRepositoryImpl implements SessionRepository {
+
+    private final UserSessionJpaRepository userSessionJpaRepository;
+    private final UserSessionMapper userSessionMapper;
+    private final JdbcTemplate jdbcTemplate;
+
+    public SessionRepositoryImpl(UserSessionJpaRepository userSessionJpaRepository,
+                                 UserSessionMapper userSessionMapper,
+                                 JdbcTemplate jdbcTemplate) {
+        this.userSessionJpaRepository = userSessionJpaRepository;
+        this.userSessionMapper = userSessionMapper;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public UserSession insert(UserSession session) {
+        UserSessionEntity entity = userSessionMapper.toEntity(session);
+        entity.setId(null);
+        return userSessionMapper.toDomain(userSessionJpaRepository.save(entity));
+    }
+
+    @Override
+    public Optional<UserSession> findActiveBySessionTokenHash(String sessionTokenHash) {
+        return userSessionJpaRepository.findBySessionTokenAndActiveTrue(sessionTokenHash)
+                .map(userSessionMapper::toDomain);
+    }
+
+    @Override
+    public Optional<UserSession> findActiveByRefreshTokenHash(String refreshTokenHash) {
+        return userSessionJpaRepository.findByRefreshTokenAndActiveTrue(refreshTokenHash)
+                .map(userSessionMapper::toDomain);
+    }
+
+    @Override
+    public Optional<UserSession> rotateTokens(Long id,
+                                              String expectedRefreshTokenHash,
+                                              String newSessionTokenHash,
+                                              String newRefreshTokenHash,
+                                              LocalDateTime expiresAt) {
+        return userSessionJpaRepository.rotateTokens(id, expectedRefreshTokenHash, newSessionTokenHash, newRefreshTokenHash, expiresAt)
+                .map(userSessionMapper::toDomain);
+    }
+
+    @Override
+    public boolean deactivate(Long id) {
+        return userSessionJpaRepository.deactivate(id) > 0;
+    }
+
+    @Override
+    public void updateLastAccessedAt(Collection<SessionAccess> accesses) {
+        if (accesses.isEmpty()) {
+            return;
+        }
+        // GREATEST keeps a late flush from another node from moving the timestamp backwards
+        jdbcTemplate.batchUpdate("""
+                UPDATE user_sessions SET last_accessed_at = GREATEST(last_accessed_at, ?)
+                WHERE id = ? AND is_active
+                """,
+                accesses,
+                accesses.size(),
+                (statement, access) -> {
+                    statement.setTimestamp(1, Timestamp.valueOf(access.accessedAt()));
+                    statement.setLong(2, access.sessionId());
+                });
+    }
+}
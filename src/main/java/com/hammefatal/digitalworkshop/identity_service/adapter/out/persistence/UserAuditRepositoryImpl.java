@@ -0,0 +1,47 @@
+package com.hammefatal.digitalworkshop.identity_service.adapter.out.persistence;
+
+import com.hammefatal.digitalworkshop.identity_service.application.port.out.UserAuditRepository;
+import com.hammefatal.digitalworkshop.identity_service.domain.UserAuditEntry;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Reads audit history; rows are written by the profile UPDATE itself (see {@link UserJpaRepository#updateProfile}).
+ */
+@Component
+public class UserAuditRepositoryImpl implements UserAuditRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserAuditRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<UserAuditEntry> findByUserIdBefore(Long userId, long beforeId, int limit) {
+        // Served from idx_user_audit_logs_user_id_id in index order
+        return jdbcTemplate.query("""
+                SELECT id, user_id, field_name, old_value, new_value, changed_by, change_reason, created_at
+                FROM user_audit_logs
+                WHERE user_id = ? AND id < ?
+                ORDER BY id DESC
+                LIMIT ?
+                """,
+                (rs, rowNum) -> {
+                    Timestamp createdAt = rs.getTimestamp("created_at");
+                    return new UserAuditEntry(
+                            rs.getLong("id"),
+                            rs.getLong("user_id"),
+                            rs.getString("field_name"),
+                            rs.getString("old_value"),
+                            rs.getString("new_value"),
+                            rs.getObject("changed_by", Long.class),
+                            rs.getString("change_reason"),
+                            createdAt != null ? createdAt.toLocalDateTime() : null);
+                },
+                userId, beforeId, limit);
+    }
+}
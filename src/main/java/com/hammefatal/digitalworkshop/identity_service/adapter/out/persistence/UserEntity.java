@@ -1,6 +1,8 @@
 package com.hammefatal.digitalworkshop.identity_service.adapter.out.persistence;
 
+import com.hammefatal.digitalworkshop.identity_service.domain.User;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnTransformer;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
@@ -9,7 +11,8 @@ import java.time.LocalDateTime;
 public class UserEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_id_seq")
+    @SequenceGenerator(name = "users_id_seq", sequenceName = "users_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false, length = 50)
@@ -42,13 +45,19 @@ public class UserEntity {
     @Column(name = "is_phone_verified")
     private boolean phoneVerified = false;
 
+    // Bound as varchar, so the write casts it into the account_status_type enum
     @Enumerated(EnumType.STRING)
+    @ColumnTransformer(write = "CAST(? AS account_status_type)")
     @Column(name = "account_status")
-    private AccountStatus accountStatus = AccountStatus.ACTIVE;
+    private User.AccountStatus accountStatus = User.AccountStatus.ACTIVE;
 
     @Column(name = "failed_login_attempts")
     private int failedLoginAttempts = 0;
 
+    // Bumped to revoke every session and token issued under the previous value
+    @Column(name = "session_epoch", nullable = false)
+    private int sessionEpoch = 0;
+
     @Column(name = "last_login_at")
     private LocalDateTime lastLoginAt;
 
@@ -67,10 +76,6 @@ public class UserEntity {
     @Column(name = "updated_by")
     private Long updatedBy;
 
-    public enum AccountStatus {
-        ACTIVE, INACTIVE, SUSPENDED, LOCKED
-    }
-
     @PrePersist
     protected void onCreate() {
         if (createdAt == null) {
@@ -179,11 +184,11 @@ public class UserEntity {
         this.phoneVerified = phoneVerified;
     }
 
-    public AccountStatus getAccountStatus() {
+    public User.AccountStatus getAccountStatus() {
         return accountStatus;
     }
 
-    public void setAccountStatus(AccountStatus accountStatus) {
+    public void setAccountStatus(User.AccountStatus accountStatus) {
         this.accountStatus = accountStatus;
     }
 
@@ -195,6 +200,14 @@ public class UserEntity {
         this.failedLoginAttempts = failedLoginAttempts;
     }
 
+    public int getSessionEpoch() {
+        return sessionEpoch;
+    }
+
+    public void setSessionEpoch(int sessionEpoch) {
+        this.sessionEpoch = sessionEpoch;
+    }
+
     public LocalDateTime getLastLoginAt() {
         return lastLoginAt;
     }
@@ -1,8 +1,18 @@
 package com.hammefatal.digitalworkshop.identity_service.adapter.out.persistence;
 
+import com.hammefatal.digitalworkshop.identity_service.domain.User;
+import com.hammefatal.digitalworkshop.identity_service.domain.UserSummary;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,15 +23,196 @@ public interface UserJpaRepository extends JpaRepository<UserEntity, Long> {
     
     Optional<UserEntity> findByEmail(String email);
     
-    List<UserEntity> findByAccountStatus(UserEntity.AccountStatus status);
+    @Query("select u.updatedAt from UserEntity u where u.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") Long id);
     
-    List<UserEntity> findByFirstNameContainingIgnoreCase(String firstName);
+    @Query("select u.sessionEpoch from UserEntity u where u.id = :id")
+    Optional<Integer> findSessionEpochById(@Param("id") Long id);
     
-    List<UserEntity> findByLastNameContainingIgnoreCase(String lastName);
+    // Null arguments leave the column unchanged. The locked previous row and the updated row are diffed
+    // in one pass, and every changed field is written to user_audit_logs by the same statement. An unknown
+    // changedBy fails the audit foreign key, which rolls back the update with it
+    @Transactional
+    @Query(value = """
+            WITH previous AS (
+                SELECT id, first_name, last_name, phone_number, date_of_birth, profile_image_url
+                FROM users
+                WHERE id = :id
+                FOR UPDATE
+            ), updated AS (
+                UPDATE users SET
+                    first_name = COALESCE(:firstName, users.first_name),
+                    last_name = COALESCE(:lastName, users.last_name),
+                    phone_number = COALESCE(:phoneNumber, users.phone_number),
+                    date_of_birth = COALESCE(CAST(:dateOfBirth AS date), users.date_of_birth),
+                    profile_image_url = COALESCE(:profileImageUrl, users.profile_image_url),
+                    updated_at = CURRENT_TIMESTAMP
+                FROM previous
+                WHERE users.id = previous.id
+                RETURNING users.*
+            ), audit AS (
+                INSERT INTO user_audit_logs (user_id, field_name, old_value, new_value, changed_by, change_reason)
+                SELECT u.id, f.field_name, f.old_value, f.new_value,
+                       CAST(:changedBy AS bigint), :changeReason
+                FROM previous p
+                JOIN updated u ON u.id = p.id
+                CROSS JOIN LATERAL (VALUES
+                    ('first_name', p.first_name, u.first_name),
+                    ('last_name', p.last_name, u.last_name),
+                    ('phone_number', p.phone_number, u.phone_number),
+                    ('date_of_birth', CAST(p.date_of_birth AS TEXT), CAST(u.date_of_birth AS TEXT)),
+                    ('profile_image_url', p.profile_image_url, u.profile_image_url)
+                ) AS f (field_name, old_value, new_value)
+                WHERE f.old_value IS DISTINCT FROM f.new_value
+            )
+            SELECT * FROM updated
+            """, nativeQuery = true)
+    Optional<UserEntity> updateProfile(@Param("id") Long id,
+                                       @Param("firstName") String firstName,
+                                       @Param("lastName") String lastName,
+                                       @Param("phoneNumber") String phoneNumber,
+                                       @Param("dateOfBirth") LocalDate dateOfBirth,
+                                       @Param("profileImageUrl") String profileImageUrl,
+                                       @Param("changedBy") Long changedBy,
+                                       @Param("changeReason") String changeReason);
     
-    List<UserEntity> findByEmailContainingIgnoreCase(String email);
+    // Guarded by the hash the caller verified against, so a concurrent change is not silently overwritten
+    @Transactional
+    @Query(value = """
+            UPDATE users SET
+                password_hash = :newPasswordHash,
+                password_changed_at = CURRENT_TIMESTAMP,
+                failed_login_attempts = 0,
+                session_epoch = session_epoch + 1,
+                updated_at = CURRENT_TIMESTAMP
+            WHERE id = :id AND password_hash = :expectedPasswordHash
+            RETURNING *
+            """, nativeQuery = true)
+    Optional<UserEntity> updatePassword(@Param("id") Long id,
+                                        @Param("expectedPasswordHash") String expectedPasswordHash,
+                                        @Param("newPasswordHash") String newPasswordHash);
+    
+    @Transactional
+    @Query(value = """
+            UPDATE users SET session_epoch = session_epoch + 1
+            WHERE id = :id
+            RETURNING *
+            """, nativeQuery = true)
+    Optional<UserEntity> incrementSessionEpoch(@Param("id") Long id);
+    
+    // Upgrades the stored encoding of an unchanged password, so password_changed_at stays as it was
+    @Transactional
+    @Modifying
+    @Query(value = """
+            UPDATE users SET password_hash = :newPasswordHash
+            WHERE id = :id AND password_hash = :expectedPasswordHash
+            """, nativeQuery = true)
+    int replacePasswordHash(@Param("id") Long id,
+                            @Param("expectedPasswordHash") String expectedPasswordHash,
+                            @Param("newPasswordHash") String newPasswordHash);
+    
+    @Query("""
+            select new com.hammefatal.digitalworkshop.identity_service.domain.UserSummary(
+                u.id, u.username, u.firstName, u.lastName, u.accountStatus, u.createdAt)
+            from UserEntity u
+            where u.id > :afterId
+            order by u.id asc
+            """)
+    List<UserSummary> findSummariesAfter(@Param("afterId") Long afterId, Limit limit);
+    
+    // Native so the status can be cast to account_status_type; a varchar parameter cannot be compared to the enum
+    @Query(value = """
+            SELECT u.id AS "id", u.username AS "username", u.first_name AS "firstName",
+                   u.last_name AS "lastName", CAST(u.account_status AS varchar) AS "accountStatus",
+                   u.created_at AS "createdAt"
+            FROM users u
+            WHERE u.account_status = CAST(:status AS account_status_type) AND u.id > :afterId
+            ORDER BY u.id ASC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<UserSummaryView> findSummariesByAccountStatusAfter(@Param("status") String status,
+                                                            @Param("afterId") Long afterId,
+                                                            @Param("limit") int limit);
+    
+    @Query("""
+            select new com.hammefatal.digitalworkshop.identity_service.domain.UserSummary(
+                u.id, u.username, u.firstName, u.lastName, u.accountStatus, u.createdAt)
+            from UserEntity u
+            where lower(u.email) like lower(concat('%', :email, '%')) escape '\\' and u.id > :afterId
+            order by u.id asc
+            """)
+    List<UserSummary> findSummariesByEmailContainingAfter(@Param("email") String email,
+                                                          @Param("afterId") Long afterId,
+                                                          Limit limit);
+    
+    // Served by idx_users_full_name_trgm; the cursor carries the last row's score and id, so paging
+    // does not depend on that row still existing or keeping its name
+    @Query(value = """
+            SELECT u.id AS "id", u.username AS "username", u.first_name AS "firstName",
+                   u.last_name AS "lastName", CAST(u.account_status AS varchar) AS "accountStatus",
+                   u.created_at AS "createdAt",
+                   word_similarity(:term, u.first_name || ' ' || u.last_name) AS "score"
+            FROM users u
+            WHERE ((u.first_name || ' ' || u.last_name) ILIKE :pattern ESCAPE '\\'
+                   OR (u.first_name || ' ' || u.last_name) %> :term)
+              AND (:afterId = 0
+                   OR (word_similarity(:term, u.first_name || ' ' || u.last_name), -u.id)
+                      < (CAST(:afterScore AS real), -:afterId))
+            ORDER BY "score" DESC, u.id ASC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<NameMatchView> searchByName(@Param("term") String term,
+                                     @Param("pattern") String pattern,
+                                     @Param("afterScore") float afterScore,
+                                     @Param("afterId") Long afterId,
+                                     @Param("limit") int limit);
+    
+    List<UserKeyView> findKeysByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+    
+    // One statement for any mix of keys; each arm uses its own index and the planner ORs the bitmaps
+    @Query(value = """
+            SELECT * FROM users
+            WHERE id = ANY(CAST(:ids AS bigint[]))
+               OR username = ANY(CAST(:usernames AS varchar[]))
+               OR email = ANY(CAST(:emails AS varchar[]))
+            """, nativeQuery = true)
+    List<UserEntity> findAllByKeys(@Param("ids") Long[] ids,
+                                   @Param("usernames") String[] usernames,
+                                   @Param("emails") String[] emails);
     
     boolean existsByUsername(String username);
     
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+    
+    @Query("select u.username from UserEntity u where u.username in :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+    
+    @Query("select u.email from UserEntity u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+    
+    interface UserSummaryView {
+        Long getId();
+        
+        String getUsername();
+        
+        String getFirstName();
+        
+        String getLastName();
+        
+        User.AccountStatus getAccountStatus();
+        
+        LocalDateTime getCreatedAt();
+    }
+    
+    interface NameMatchView extends UserSummaryView {
+        Float getScore();
+    }
+    
+    interface UserKeyView {
+        Long getId();
+        
+        String getUsername();
+        
+        String getEmail();
+    }
+}
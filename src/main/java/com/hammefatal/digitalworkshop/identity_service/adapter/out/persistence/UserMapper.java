@@ -23,12 +23,9 @@ public class UserMapper {
         entity.setProfileImageUrl(user.getProfileImageUrl());
         entity.setEmailVerified(user.isEmailVerified());
         entity.setPhoneVerified(user.isPhoneVerified());
-        
-        if (user.getAccountStatus() != null) {
-            entity.setAccountStatus(UserEntity.AccountStatus.valueOf(user.getAccountStatus().name()));
-        }
-        
+        entity.setAccountStatus(user.getAccountStatus());
         entity.setFailedLoginAttempts(user.getFailedLoginAttempts());
+        entity.setSessionEpoch(user.getSessionEpoch());
         entity.setLastLoginAt(user.getLastLoginAt());
         entity.setPasswordChangedAt(user.getPasswordChangedAt());
         entity.setCreatedAt(user.getCreatedAt());
@@ -56,12 +53,9 @@ public class UserMapper {
         user.setProfileImageUrl(entity.getProfileImageUrl());
         user.setEmailVerified(entity.isEmailVerified());
         user.setPhoneVerified(entity.isPhoneVerified());
-        
-        if (entity.getAccountStatus() != null) {
-            user.setAccountStatus(User.AccountStatus.valueOf(entity.getAccountStatus().name()));
-        }
-        
+        user.setAccountStatus(entity.getAccountStatus());
         user.setFailedLoginAttempts(entity.getFailedLoginAttempts());
+        user.setSessionEpoch(entity.getSessionEpoch());
         user.setLastLoginAt(entity.getLastLoginAt());
         user.setPasswordChangedAt(entity.getPasswordChangedAt());
         user.setCreatedAt(entity.getCreatedAt());
@@ -1,21 +1,78 @@
 package com.hammefatal.digitalworkshop.identity_service.adapter.out.persistence;
 
+import com.hammefatal.digitalworkshop.identity_service.application.port.out.DuplicateUserException;
 import com.hammefatal.digitalworkshop.identity_service.application.port.out.UserRepository;
 import com.hammefatal.digitalworkshop.identity_service.domain.User;
+import com.hammefatal.digitalworkshop.identity_service.domain.UserProfile;
+import com.hammefatal.digitalworkshop.identity_service.domain.UserSummary;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Component;
 
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
+@Profile("!in-memory")
 @Component
 public class UserRepositoryImpl implements UserRepository {
 
+    private static final String STREAM_PROFILES_COLUMNS = """
+            SELECT id, username, email, first_name, last_name, profile_image_url,
+                   is_email_verified, is_phone_verified, account_status, created_at, updated_at
+            FROM users
+            """;
+
+    private static final String STREAM_PROFILES_SQL = STREAM_PROFILES_COLUMNS + "ORDER BY id";
+
+    // Ordered to match idx_users_updated_at_id, so incremental exports walk the index without a sort
+    private static final String STREAM_PROFILES_SINCE_SQL = STREAM_PROFILES_COLUMNS
+            + "WHERE updated_at >= ? ORDER BY updated_at, id";
+
+    // The CTE locks the row before reading the old status, so the returned previous status is the one
+    // this UPDATE replaced. Leaving ACTIVE bumps the session epoch, revoking every outstanding session
+    private static final String UPDATE_ACCOUNT_STATUS_SQL = """
+            WITH previous AS (
+                SELECT id, account_status
+                FROM users
+                WHERE id = ?
+                FOR UPDATE
+            )
+            UPDATE users SET
+                account_status = CAST(? AS account_status_type),
+                failed_login_attempts = CASE WHEN ? = 'ACTIVE' THEN 0 ELSE users.failed_login_attempts END,
+                session_epoch = CASE WHEN ? = 'ACTIVE' THEN users.session_epoch ELSE users.session_epoch + 1 END,
+                updated_at = CURRENT_TIMESTAMP
+            FROM previous
+            WHERE users.id = previous.id
+            RETURNING users.*, CAST(previous.account_status AS varchar) AS previous_status
+            """;
+
     private final UserJpaRepository userJpaRepository;
     private final UserMapper userMapper;
+    private final JdbcTemplate jdbcTemplate;
 
-    public UserRepositoryImpl(UserJpaRepository userJpaRepository, UserMapper userMapper) {
+    public UserRepositoryImpl(UserJpaRepository userJpaRepository, UserMapper userMapper, JdbcTemplate jdbcTemplate) {
         this.userJpaRepository = userJpaRepository;
         this.userMapper = userMapper;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     @Override
@@ -25,6 +82,116 @@ public class UserRepositoryImpl implements UserRepository {
         return userMapper.toDomain(savedEntity);
     }
 
+    @Override
+    public User insert(User user) {
+        UserEntity entity = userMapper.toEntity(user);
+        entity.setId(null);
+        try {
+            // Flush so a unique violation surfaces here rather than at commit
+            UserEntity savedEntity = userJpaRepository.saveAndFlush(entity);
+            return userMapper.toDomain(savedEntity);
+        } catch (DataIntegrityViolationException e) {
+            throw translateUniqueViolation(e);
+        }
+    }
+
+    @Override
+    public List<User> insertAll(List<User> users) {
+        List<UserEntity> entities = users.stream()
+                .map(userMapper::toEntity)
+                .peek(entity -> entity.setId(null))
+                .toList();
+        try {
+            // Pooled sequence ids let Hibernate send these as JDBC batches on flush
+            List<UserEntity> savedEntities = userJpaRepository.saveAll(entities);
+            userJpaRepository.flush();
+            return savedEntities.stream()
+                    .map(userMapper::toDomain)
+                    .toList();
+        } catch (DataIntegrityViolationException e) {
+            throw translateUniqueViolation(e);
+        }
+    }
+
+    @Override
+    public Optional<User> updateProfile(ProfileUpdate update) {
+        try {
+            return userJpaRepository.updateProfile(
+                            update.id(),
+                            update.firstName(),
+                            update.lastName(),
+                            update.phoneNumber(),
+                            update.dateOfBirth(),
+                            update.profileImageUrl(),
+                            update.changedBy(),
+                            update.changeReason())
+                    .map(userMapper::toDomain);
+        } catch (DataIntegrityViolationException e) {
+            if (e.getMostSpecificCause().getMessage().contains("fk_user_audit_logs_changed_by")) {
+                throw new IllegalArgumentException("Unknown changedBy user id: " + update.changedBy(), e);
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<StatusChange> updateAccountStatus(Long id, User.AccountStatus status) {
+        // Plain JDBC, so the returned row is never swapped for an instance already managed by the
+        // persistence context
+        return jdbcTemplate.query(UPDATE_ACCOUNT_STATUS_SQL,
+                        (rs, rowNum) -> new StatusChange(mapUser(rs), User.AccountStatus.valueOf(rs.getString("previous_status"))),
+                        id, status.name(), status.name(), status.name())
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public Optional<User> updatePassword(Long id, String expectedPasswordHash, String newPasswordHash) {
+        return userJpaRepository.updatePassword(id, expectedPasswordHash, newPasswordHash)
+                .map(userMapper::toDomain);
+    }
+
+    @Override
+    public Optional<User> incrementSessionEpoch(Long id) {
+        return userJpaRepository.incrementSessionEpoch(id)
+                .map(userMapper::toDomain);
+    }
+
+    @Override
+    public boolean replacePasswordHash(Long id, String expectedPasswordHash, String newPasswordHash) {
+        return userJpaRepository.replacePasswordHash(id, expectedPasswordHash, newPasswordHash) > 0;
+    }
+
+    @Override
+    public void applyLoginCounters(Collection<LoginCounter> counters) {
+        if (counters.isEmpty()) {
+            return;
+        }
+        // One JDBC batch per flush; a lock only ever moves the status to LOCKED, never back,
+        // and the transition into LOCKED revokes outstanding sessions (SET sees the old status)
+        jdbcTemplate.batchUpdate("""
+                UPDATE users SET
+                    failed_login_attempts = ?,
+                    session_epoch = CASE WHEN ? AND account_status <> 'LOCKED' THEN session_epoch + 1 ELSE session_epoch END,
+                    account_status = CASE WHEN ? THEN 'LOCKED' ELSE account_status END,
+                    last_login_at = COALESCE(?, last_login_at)
+                WHERE id = ?
+                """,
+                counters,
+                counters.size(),
+                (statement, counter) -> {
+                    statement.setInt(1, counter.failedLoginAttempts());
+                    statement.setBoolean(2, counter.locked());
+                    statement.setBoolean(3, counter.locked());
+                    if (counter.lastLoginAt() != null) {
+                        statement.setTimestamp(4, Timestamp.valueOf(counter.lastLoginAt()));
+                    } else {
+                        statement.setNull(4, Types.TIMESTAMP);
+                    }
+                    statement.setLong(5, counter.userId());
+                });
+    }
+
     @Override
     public Optional<User> findById(Long id) {
         return userJpaRepository.findById(id)
@@ -44,41 +211,120 @@ public class UserRepositoryImpl implements UserRepository {
     }
 
     @Override
-    public List<User> findAll() {
-        return userJpaRepository.findAll().stream()
-                .map(userMapper::toDomain)
-                .toList();
+    public Optional<User> findCurrentById(Long id) {
+        return findById(id);
     }
 
     @Override
-    public List<User> findByAccountStatus(User.AccountStatus status) {
-        UserEntity.AccountStatus entityStatus = UserEntity.AccountStatus.valueOf(status.name());
-        return userJpaRepository.findByAccountStatus(entityStatus).stream()
+    public Optional<LocalDateTime> findUpdatedAtById(Long id) {
+        return userJpaRepository.findUpdatedAtById(id);
+    }
+
+    @Override
+    public Optional<Integer> findSessionEpochById(Long id) {
+        return userJpaRepository.findSessionEpochById(id);
+    }
+
+    // One statement, so both parts describe the same snapshot. max(updated_at) reads one end of
+    // idx_users_updated_at_id and the deletion counter is a single row, so nothing scans users
+    @Override
+    public VersionStamp findVersionStamp() {
+        return jdbcTemplate.queryForObject("""
+                        SELECT (SELECT max(updated_at) FROM users) AS last_updated_at, deletions
+                        FROM user_deletion_counter
+                        """,
+                (rs, rowNum) -> new VersionStamp(toLocalDateTime(rs.getTimestamp("last_updated_at")), rs.getLong("deletions")));
+    }
+
+    @Override
+    public List<User> findAllByKeys(Collection<Long> ids, Collection<String> usernames, Collection<String> emails) {
+        if (ids.isEmpty() && usernames.isEmpty() && emails.isEmpty()) {
+            return List.of();
+        }
+        return userJpaRepository.findAllByKeys(
+                        ids.toArray(Long[]::new),
+                        usernames.toArray(String[]::new),
+                        emails.toArray(String[]::new)).stream()
                 .map(userMapper::toDomain)
                 .toList();
     }
 
     @Override
-    public List<User> findByFirstNameContaining(String firstName) {
-        return userJpaRepository.findByFirstNameContainingIgnoreCase(firstName).stream()
-                .map(userMapper::toDomain)
+    public List<UserSummary> findAllAfter(Long afterId, int limit) {
+        return userJpaRepository.findSummariesAfter(afterId, Limit.of(limit));
+    }
+
+    @Override
+    public List<UserSummary> findByAccountStatusAfter(User.AccountStatus status, Long afterId, int limit) {
+        return userJpaRepository.findSummariesByAccountStatusAfter(status.name(), afterId, limit).stream()
+                .map(UserRepositoryImpl::toSummary)
                 .toList();
     }
 
     @Override
-    public List<User> findByLastNameContaining(String lastName) {
-        return userJpaRepository.findByLastNameContainingIgnoreCase(lastName).stream()
-                .map(userMapper::toDomain)
+    public List<NameMatch> searchByName(String term, float afterScore, Long afterId, int limit) {
+        String pattern = "%" + escapeLikePattern(term) + "%";
+        return userJpaRepository.searchByName(term, pattern, afterScore, afterId, limit).stream()
+                .map(view -> new NameMatch(toSummary(view), view.getScore()))
                 .toList();
     }
 
+    private static UserSummary toSummary(UserJpaRepository.UserSummaryView view) {
+        return new UserSummary(
+                view.getId(),
+                view.getUsername(),
+                view.getFirstName(),
+                view.getLastName(),
+                view.getAccountStatus(),
+                view.getCreatedAt());
+    }
+
     @Override
-    public List<User> findByEmailContaining(String email) {
-        return userJpaRepository.findByEmailContainingIgnoreCase(email).stream()
-                .map(userMapper::toDomain)
+    public List<UserSummary> findByEmailContainingAfter(String email, Long afterId, int limit) {
+        return userJpaRepository.findSummariesByEmailContainingAfter(escapeLikePattern(email), afterId, Limit.of(limit));
+    }
+
+    @Override
+    public List<UserKey> findKeysAfter(Long afterId, int limit) {
+        return userJpaRepository.findKeysByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit)).stream()
+                .map(view -> new UserKey(view.getId(), view.getUsername(), view.getEmail()))
                 .toList();
     }
 
+    @Override
+    public long streamProfiles(LocalDateTime updatedSince, int fetchSize, Consumer<UserProfile> sink) {
+        // Plain JDBC rows, so there is no persistence context to grow; with autocommit off inside the
+        // caller's transaction, pgjdbc fetches fetchSize rows per round trip from a server-side cursor
+        long[] rows = new long[1];
+        jdbcTemplate.query(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(
+                            updatedSince != null ? STREAM_PROFILES_SINCE_SQL : STREAM_PROFILES_SQL,
+                            ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    statement.setFetchSize(fetchSize);
+                    if (updatedSince != null) {
+                        statement.setTimestamp(1, Timestamp.valueOf(updatedSince));
+                    }
+                    return statement;
+                },
+                (RowCallbackHandler) rs -> {
+                    sink.accept(new UserProfile(
+                            rs.getLong("id"),
+                            rs.getString("username"),
+                            rs.getString("email"),
+                            rs.getString("first_name"),
+                            rs.getString("last_name"),
+                            rs.getString("profile_image_url"),
+                            rs.getBoolean("is_email_verified"),
+                            rs.getBoolean("is_phone_verified"),
+                            User.AccountStatus.valueOf(rs.getString("account_status")),
+                            toLocalDateTime(rs.getTimestamp("created_at")),
+                            toLocalDateTime(rs.getTimestamp("updated_at"))
+                    ));
+                    rows[0]++;
+                });
+        return rows[0];
+    }
+
     @Override
     public boolean existsByUsername(String username) {
         return userJpaRepository.existsByUsername(username);
@@ -89,11 +335,67 @@ public class UserRepositoryImpl implements UserRepository {
         return userJpaRepository.existsByEmail(email);
     }
 
+    @Override
+    public Set<String> findExistingUsernames(Collection<String> usernames) {
+        if (usernames.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(userJpaRepository.findExistingUsernames(usernames));
+    }
+
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(userJpaRepository.findExistingEmails(emails));
+    }
+
     @Override
     public long count() {
         return userJpaRepository.count();
     }
 
+    @Override
+    public Map<User.AccountStatus, Long> countByAccountStatus() {
+        Map<User.AccountStatus, Long> counts = new EnumMap<>(User.AccountStatus.class);
+        jdbcTemplate.query("SELECT account_status, count(*) AS total FROM users GROUP BY account_status",
+                (RowCallbackHandler) rs -> counts.put(User.AccountStatus.valueOf(rs.getString("account_status")), rs.getLong("total")));
+        return counts;
+    }
+
+    @Override
+    public Map<User.AccountStatus, Long> estimateCountByAccountStatus() {
+        // reltuples and the account_status most-common-values list are kept current by ANALYZE/autovacuum,
+        // so this reads two catalog rows instead of scanning users
+        return jdbcTemplate.query("""
+                SELECT c.reltuples, s.most_common_vals::text AS statuses, s.most_common_freqs AS frequencies
+                FROM pg_class c
+                LEFT JOIN pg_stats s
+                       ON s.schemaname = current_schema() AND s.tablename = 'users' AND s.attname = 'account_status'
+                WHERE c.oid = 'users'::regclass
+                """,
+                rs -> {
+                    Map<User.AccountStatus, Long> estimates = new EnumMap<>(User.AccountStatus.class);
+                    if (!rs.next()) {
+                        return estimates;
+                    }
+                    double total = rs.getDouble("reltuples");
+                    String statuses = rs.getString("statuses");
+                    Array frequencies = rs.getArray("frequencies");
+                    if (total < 0 || statuses == null || frequencies == null) {
+                        return estimates;
+                    }
+                    // most_common_vals is anyarray, so it is read as its text form, e.g. {ACTIVE,LOCKED}
+                    String[] names = statuses.substring(1, statuses.length() - 1).split(",");
+                    Float[] shares = (Float[]) frequencies.getArray();
+                    for (int i = 0; i < names.length && i < shares.length; i++) {
+                        estimates.put(User.AccountStatus.valueOf(names[i]), Math.round(total * shares[i]));
+                    }
+                    return estimates;
+                });
+    }
+
     @Override
     public void deleteById(Long id) {
         userJpaRepository.deleteById(id);
@@ -104,4 +406,56 @@ public class UserRepositoryImpl implements UserRepository {
         UserEntity entity = userMapper.toEntity(user);
         userJpaRepository.delete(entity);
     }
+
+    private static User mapUser(ResultSet rs) throws SQLException {
+        User user = new User();
+        user.setId(rs.getLong("id"));
+        user.setUsername(rs.getString("username"));
+        user.setEmail(rs.getString("email"));
+        user.setPasswordHash(rs.getString("password_hash"));
+        user.setFirstName(rs.getString("first_name"));
+        user.setLastName(rs.getString("last_name"));
+        user.setPhoneNumber(rs.getString("phone_number"));
+        user.setDateOfBirth(rs.getObject("date_of_birth", LocalDate.class));
+        user.setProfileImageUrl(rs.getString("profile_image_url"));
+        user.setEmailVerified(rs.getBoolean("is_email_verified"));
+        user.setPhoneVerified(rs.getBoolean("is_phone_verified"));
+        user.setAccountStatus(User.AccountStatus.valueOf(rs.getString("account_status")));
+        user.setFailedLoginAttempts(rs.getInt("failed_login_attempts"));
+        user.setSessionEpoch(rs.getInt("session_epoch"));
+        user.setLastLoginAt(toLocalDateTime(rs.getTimestamp("last_login_at")));
+        user.setPasswordChangedAt(toLocalDateTime(rs.getTimestamp("password_changed_at")));
+        user.setCreatedAt(toLocalDateTime(rs.getTimestamp("created_at")));
+        user.setUpdatedAt(toLocalDateTime(rs.getTimestamp("updated_at")));
+        user.setCreatedBy(rs.getObject("created_by", Long.class));
+        user.setUpdatedBy(rs.getObject("updated_by", Long.class));
+        return user;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    private static String escapeLikePattern(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private RuntimeException translateUniqueViolation(DataIntegrityViolationException e) {
+        String constraint = null;
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                constraint = violation.getConstraintName();
+                break;
+            }
+        }
+        String detail = (constraint != null ? constraint : "") + " " + e.getMostSpecificCause().getMessage();
+        // Postgres names inline UNIQUE constraints users_<column>_key and reports "Key (<column>)=(...)"
+        if (detail.contains("users_username_key") || detail.contains("(username)")) {
+            return new DuplicateUserException(DuplicateUserException.Field.USERNAME, e);
+        }
+        if (detail.contains("users_email_key") || detail.contains("(email)")) {
+            return new DuplicateUserException(DuplicateUserException.Field.EMAIL, e);
+        }
+        return e;
+    }
 }
\ No newline at end of file
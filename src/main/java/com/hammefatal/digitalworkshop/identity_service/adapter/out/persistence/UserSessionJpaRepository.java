@@ -0,0 +1,41 @@
+package com.hammefatal.digitalworkshop.identity_service.adapter.out.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface UserSessionJpaRepository extends JpaRepository<UserSessionEntity, Long> {
+    
+    Optional<UserSessionEntity> findBySessionTokenAndActiveTrue(String sessionToken);
+    
+    Optional<UserSessionEntity> findByRefreshTokenAndActiveTrue(String refreshToken);
+    
+    // Guarded by the presented refresh token, so a replayed token loses to the first rotation
+    @Transactional
+    @Query(value = """
+            UPDATE user_sessions SET
+                session_token = :newSessionToken,
+                refresh_token = :newRefreshToken,
+                expires_at = :expiresAt,
+                last_accessed_at = CURRENT_TIMESTAMP
+            WHERE id = :id AND refresh_token = :expectedRefreshToken AND is_active
+            RETURNING *
+            """, nativeQuery = true)
+    Optional<UserSessionEntity> rotateTokens(@Param("id") Long id,
+                                             @Param("expectedRefreshToken") String expectedRefreshToken,
+                                             @Param("newSessionToken") String newSessionToken,
+                                             @Param("newRefreshToken") String newRefreshToken,
+                                             @Param("expiresAt") LocalDateTime expiresAt);
+    
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE user_sessions SET is_active = FALSE, updated_at = CURRENT_TIMESTAMP WHERE id = :id AND is_active", nativeQuery = true)
+    int deactivate(@Param("id") Long id);
+}
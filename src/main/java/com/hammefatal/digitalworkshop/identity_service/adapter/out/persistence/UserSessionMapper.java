@@ -0,0 +1,50 @@
+package com.hammefatal.digitalworkshop.identity_service.adapter.out.persistence;
+
+import com.hammefatal.digitalworkshop.identity_service.domain.UserSession;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UserSessionMapper {
+
+    public UserSessionEntity toEntity(UserSession session) {
+        if (session == null) {
+            return null;
+        }
+
+        UserSessionEntity entity = new UserSessionEntity();
+        entity.setId(session.id());
+        entity.setUserId(session.userId());
+        entity.setSessionEpoch(session.sessionEpoch());
+        entity.setSessionToken(session.sessionTokenHash());
+        entity.setRefreshToken(session.refreshTokenHash());
+        entity.setDeviceInfo(session.deviceInfo());
+        entity.setIpAddress(session.ipAddress());
+        entity.setUserAgent(session.userAgent());
+        entity.setActive(session.active());
+        entity.setCreatedAt(session.createdAt());
+        entity.setExpiresAt(session.expiresAt());
+        entity.setLastAccessedAt(session.lastAccessedAt());
+
+        return entity;
+    }
+
+    public UserSession toDomain(UserSessionEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+
+        return new UserSession(
+                entity.getId(),
+                entity.getUserId(),
+                entity.getSessionEpoch(),
+                entity.getSessionToken(),
+                entity.getRefreshToken(),
+                entity.getDeviceInfo(),
+                entity.getIpAddress(),
+                entity.getUserAgent(),
+                entity.isActive(),
+                entity.getCreatedAt(),
+                entity.getExpiresAt(),
+                entity.getLastAccessedAt());
+    }
+}
@@ -0,0 +1,21 @@
+package com.hammefatal.digitalworkshop.identity_service.application.port.in;
+
+import com.hammefatal.digitalworkshop.identity_service.domain.AccessTokenClaims;
+import java.time.Instant;
+import java.util.Optional;
+
+public interface AccessTokenUseCase {
+    
+    IssuedAccessToken issueAccessToken(Long userId, Long sessionId);
+    
+    Optional<AccessTokenClaims> verifyAccessToken(String token);
+    
+    String rotateSigningKey();
+    
+    String getPublicKeySet();
+    
+    record IssuedAccessToken(
+        String accessToken,
+        Instant expiresAt
+    ) {}
+}
@@ -0,0 +1,51 @@
+package com.hammefatal.digitalworkshop.identity_service.application.port.in;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+public interface AuthorizationUseCase {
+    
+    int MAX_CHECKS = 1_000;
+    
+    /**
+     * Evaluates each check independently; the result list is aligned with the input.
+     */
+    List<Boolean> check(List<PermissionCheck> checks);
+    
+    Set<String> getEffectivePermissions(Long userId);
+    
+    void grantRole(GrantRoleCommand command);
+    
+    void revokeRole(Long userId, Long roleId);
+    
+    void reloadCatalog();
+    
+    record PermissionCheck(
+        Long userId,
+        String resource,
+        String action
+    ) {
+        public PermissionCheck {
+            if (userId == null) {
+                throw new IllegalArgumentException("User ID cannot be null");
+            }
+            if (resource == null || resource.isEmpty() || action == null || action.isEmpty()) {
+                throw new IllegalArgumentException("Resource and action cannot be empty");
+            }
+        }
+    }
+    
+    record GrantRoleCommand(
+        Long userId,
+        Long roleId,
+        Long grantedBy,
+        LocalDateTime expiresAt
+    ) {
+        public GrantRoleCommand {
+            if (userId == null || roleId == null) {
+                throw new IllegalArgumentException("User ID and role ID cannot be null");
+            }
+        }
+    }
+}
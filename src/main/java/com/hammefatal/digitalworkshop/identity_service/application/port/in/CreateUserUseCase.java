@@ -1,11 +1,16 @@
 package com.hammefatal.digitalworkshop.identity_service.application.port.in;
 
 import com.hammefatal.digitalworkshop.identity_service.domain.User;
+import java.util.List;
 
 public interface CreateUserUseCase {
     
+    int MAX_BULK_SIZE = 50_000;
+    
     User createUser(CreateUserCommand command);
     
+    BulkCreateResult createUsers(List<CreateUserCommand> commands);
+    
     record CreateUserCommand(
         String username,
         String email,
@@ -32,4 +37,19 @@ public interface CreateUserUseCase {
             }
         }
     }
+    
+    record BulkCreateResult(
+        int requested,
+        int created,
+        List<RowFailure> failures
+    ) {
+        public BulkCreateResult {
+            failures = List.copyOf(failures);
+        }
+    }
+    
+    record RowFailure(
+        int index,
+        String reason
+    ) {}
 }
\ No newline at end of file
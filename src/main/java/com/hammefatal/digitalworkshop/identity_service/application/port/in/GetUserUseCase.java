@@ -1,24 +1,142 @@
 package com.hammefatal.digitalworkshop.identity_service.application.port.in;
 
+import com.hammefatal.digitalworkshop.identity_service.domain.CursorPage;
 import com.hammefatal.digitalworkshop.identity_service.domain.User;
+import com.hammefatal.digitalworkshop.identity_service.domain.UserAuditEntry;
+import com.hammefatal.digitalworkshop.identity_service.domain.UserProfile;
+import com.hammefatal.digitalworkshop.identity_service.domain.UserSummary;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface GetUserUseCase {
     
-    Optional<User> getUserById(Long id);
+    int MAX_BATCH_LOOKUP = 500;
     
-    Optional<User> getUserByUsername(String username);
+    Optional<UserProfile> getUserById(Long id);
     
-    Optional<User> getUserByEmail(String email);
+    Optional<UserProfile> getUserByUsername(String username);
     
-    List<User> getAllUsers();
+    Optional<UserProfile> getUserByEmail(String email);
     
-    List<User> getUsersByStatus(User.AccountStatus status);
+    /**
+     * Resolves every key with one repository call; found profiles are keyed by the input they matched
+     * and keys that matched nothing are listed as misses, both in request order.
+     */
+    BatchLookupResult getUsers(BatchLookupQuery query);
     
-    List<User> searchUsersByName(String searchTerm);
+    /**
+     * The user's last modification time, looked up without loading the profile; empty if the user
+     * does not exist.
+     */
+    Optional<LocalDateTime> getUserVersion(Long id);
     
-    List<User> searchUsersByEmail(String searchTerm);
+    /**
+     * Changes whenever a user is created, updated or deleted; used to revalidate list and export
+     * responses without running their queries.
+     */
+    CollectionVersion getCollectionVersion();
+    
+    CursorPage<UserSummary> getAllUsers(PageQuery query);
+    
+    CursorPage<UserSummary> getUsersByStatus(User.AccountStatus status, PageQuery query);
+    
+    CursorPage<UserSummary> searchUsersByName(String searchTerm, PageQuery query);
+    
+    CursorPage<UserSummary> searchUsersByEmail(String searchTerm, PageQuery query);
     
     long getTotalUserCount();
-}
\ No newline at end of file
+    
+    UserCounts getUserCounts();
+    
+    CursorPage<UserAuditEntry> getAuditHistory(Long userId, PageQuery query);
+    
+    /**
+     * Passes every profile, or only those updated at or after {@code updatedSince}, to {@code sink} as
+     * it is read; returns the number exported.
+     */
+    long exportUsers(LocalDateTime updatedSince, Consumer<UserProfile> sink);
+    
+    record PageQuery(
+        String cursor,
+        int size
+    ) {
+        public static final int DEFAULT_SIZE = 50;
+        public static final int MAX_SIZE = 200;
+
+        public PageQuery {
+            if (size < 1) {
+                throw new IllegalArgumentException("Page size must be positive");
+            }
+            if (size > MAX_SIZE) {
+                size = MAX_SIZE;
+            }
+            if (cursor != null && cursor.isBlank()) {
+                cursor = null;
+            }
+        }
+
+        public static PageQuery of(String cursor, Integer size) {
+            return new PageQuery(cursor, size != null ? size : DEFAULT_SIZE);
+        }
+
+        public static PageQuery first(int size) {
+            return new PageQuery(null, size);
+        }
+    }
+    
+    record BatchLookupQuery(
+        List<Long> ids,
+        List<String> usernames,
+        List<String> emails
+    ) {
+        public BatchLookupQuery {
+            ids = distinct(ids);
+            usernames = distinct(usernames);
+            emails = distinct(emails);
+            if (ids.size() + usernames.size() + emails.size() > MAX_BATCH_LOOKUP) {
+                throw new IllegalArgumentException("At most " + MAX_BATCH_LOOKUP + " keys per lookup");
+            }
+        }
+
+        private static <T> List<T> distinct(List<T> keys) {
+            if (keys == null) {
+                return List.of();
+            }
+            // Checked per key: contains(null) throws on immutable lists instead of answering
+            Set<T> distinct = new LinkedHashSet<>();
+            for (T key : keys) {
+                if (key == null) {
+                    throw new IllegalArgumentException("Lookup keys cannot be null");
+                }
+                distinct.add(key);
+            }
+            return List.copyOf(distinct);
+        }
+    }
+    
+    record BatchLookupResult(
+        Map<Long, UserProfile> byId,
+        Map<String, UserProfile> byUsername,
+        Map<String, UserProfile> byEmail,
+        List<Long> missingIds,
+        List<String> missingUsernames,
+        List<String> missingEmails
+    ) {}
+    
+    record CollectionVersion(
+        LocalDateTime lastUpdatedAt,
+        long deletions
+    ) {}
+    
+    record UserCounts(
+        long total,
+        Map<User.AccountStatus, Long> byStatus,
+        boolean approximate,
+        LocalDateTime reconciledAt
+    ) {}
+}
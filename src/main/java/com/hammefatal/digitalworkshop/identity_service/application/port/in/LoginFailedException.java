@@ -0,0 +1,19 @@
+package com.hammefatal.digitalworkshop.identity_service.application.port.in;
+
+public class LoginFailedException extends RuntimeException {
+
+    public enum Reason {
+        INVALID_CREDENTIALS, ACCOUNT_LOCKED, ACCOUNT_DISABLED, TOO_MANY_ATTEMPTS
+    }
+
+    private final Reason reason;
+
+    public LoginFailedException(Reason reason) {
+        super("Login failed: " + reason.name());
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,27 @@
+package com.hammefatal.digitalworkshop.identity_service.application.port.in;
+
+public interface LoginUseCase {
+    
+    LoginResult login(LoginCommand command);
+    
+    record LoginCommand(
+        String usernameOrEmail,
+        String password,
+        String ipAddress,
+        String userAgent
+    ) {
+        public LoginCommand {
+            if (usernameOrEmail == null || usernameOrEmail.trim().isEmpty()) {
+                throw new IllegalArgumentException("Username or email cannot be empty");
+            }
+            if (password == null || password.isEmpty()) {
+                throw new IllegalArgumentException("Password cannot be empty");
+            }
+        }
+    }
+    
+    record LoginResult(
+        Long userId,
+        String username
+    ) {}
+}
@@ -0,0 +1,44 @@
+package com.hammefatal.digitalworkshop.identity_service.application.port.in;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface SessionUseCase {
+    
+    IssuedSession createSession(CreateSessionCommand command);
+    
+    Optional<ValidatedSession> validateSession(String sessionToken);
+    
+    IssuedSession refreshSession(String refreshToken);
+    
+    void endSession(String sessionToken);
+    
+    void endAllSessions(Long userId);
+    
+    record CreateSessionCommand(
+        Long userId,
+        String deviceInfo,
+        String ipAddress,
+        String userAgent
+    ) {
+        public CreateSessionCommand {
+            if (userId == null) {
+                throw new IllegalArgumentException("User ID cannot be null");
+            }
+        }
+    }
+    
+    record IssuedSession(
+        Long sessionId,
+        Long userId,
+        String sessionToken,
+        String refreshToken,
+        LocalDateTime expiresAt
+    ) {}
+    
+    record ValidatedSession(
+        Long sessionId,
+        Long userId,
+        LocalDateTime expiresAt
+    ) {}
+}
@@ -5,6 +5,9 @@ import java.time.LocalDate;
 
 public interface UpdateUserUseCase {
     
+    // Matches user_audit_logs.change_reason
+    int MAX_CHANGE_REASON_LENGTH = 200;
+    
     User updateUser(UpdateUserCommand command);
     
     User updateUserProfile(UpdateUserProfileCommand command);
@@ -19,12 +22,17 @@ public interface UpdateUserUseCase {
         String lastName,
         String phoneNumber,
         LocalDate dateOfBirth,
-        String profileImageUrl
+        String profileImageUrl,
+        Long changedBy,
+        String changeReason
     ) {
         public UpdateUserCommand {
             if (id == null) {
                 throw new IllegalArgumentException("User ID cannot be null");
             }
+            if (changeReason != null && changeReason.length() > MAX_CHANGE_REASON_LENGTH) {
+                throw new IllegalArgumentException("Change reason cannot exceed " + MAX_CHANGE_REASON_LENGTH + " characters");
+            }
         }
     }
     
@@ -33,12 +41,17 @@ public interface UpdateUserUseCase {
         String firstName,
         String lastName,
         String phoneNumber,
-        LocalDate dateOfBirth
+        LocalDate dateOfBirth,
+        Long changedBy,
+        String changeReason
     ) {
         public UpdateUserProfileCommand {
             if (id == null) {
                 throw new IllegalArgumentException("User ID cannot be null");
             }
+            if (changeReason != null && changeReason.length() > MAX_CHANGE_REASON_LENGTH) {
+                throw new IllegalArgumentException("Change reason cannot exceed " + MAX_CHANGE_REASON_LENGTH + " characters");
+            }
         }
     }
     
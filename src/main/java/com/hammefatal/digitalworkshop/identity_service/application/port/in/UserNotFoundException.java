@@ -0,0 +1,8 @@
+package com.hammefatal.digitalworkshop.identity_service.application.port.in;
+
+public class UserNotFoundException extends RuntimeException {
+
+    public UserNotFoundException(String message) {
+        super(message);
+    }
+}
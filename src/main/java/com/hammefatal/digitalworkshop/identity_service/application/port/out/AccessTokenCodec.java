@@ -0,0 +1,18 @@
+package com.hammefatal.digitalworkshop.identity_service.application.port.out;
+
+import com.hammefatal.digitalworkshop.identity_service.domain.AccessTokenClaims;
+import java.util.Optional;
+
+public interface AccessTokenCodec {
+    
+    String encode(AccessTokenClaims claims);
+    
+    /**
+     * Returns the claims of a token whose signature verifies and which has not expired.
+     */
+    Optional<AccessTokenClaims> decode(String token);
+    
+    String rotateSigningKey();
+    
+    String publicKeySet();
+}
@@ -0,0 +1,35 @@
+package com.hammefatal.digitalworkshop.identity_service.application.port.out;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface AuthorizationRepository {
+    
+    List<PermissionDefinition> findActivePermissions();
+    
+    List<RolePermission> findActiveRolePermissions();
+    
+    List<RoleGrant> findActiveRoleGrants(Collection<Long> userIds);
+    
+    boolean grantRole(Long userId, Long roleId, Long grantedBy, LocalDateTime expiresAt);
+    
+    boolean revokeRole(Long userId, Long roleId);
+    
+    record PermissionDefinition(
+        Long id,
+        String resource,
+        String action
+    ) {}
+    
+    record RolePermission(
+        Long roleId,
+        Long permissionId
+    ) {}
+    
+    record RoleGrant(
+        Long userId,
+        Long roleId,
+        LocalDateTime expiresAt
+    ) {}
+}
@@ -0,0 +1,19 @@
+package com.hammefatal.digitalworkshop.identity_service.application.port.out;
+
+public class DuplicateUserException extends RuntimeException {
+
+    public enum Field {
+        USERNAME, EMAIL
+    }
+
+    private final Field field;
+
+    public DuplicateUserException(Field field, Throwable cause) {
+        super("Duplicate user " + field.name().toLowerCase(), cause);
+        this.field = field;
+    }
+
+    public Field getField() {
+        return field;
+    }
+}
@@ -0,0 +1,23 @@
+package com.hammefatal.digitalworkshop.identity_service.application.port.out;
+
+import java.time.LocalDateTime;
+
+public interface ExpiredDataRepository {
+    
+    /**
+     * Runs {@code task} only if no other node is purging. Returns {@code false} without running it otherwise.
+     */
+    boolean runExclusively(Runnable task);
+    
+    /**
+     * Deletes at most {@code limit} rows that expired, or were used up, before {@code cutoff}.
+     * Rows locked by other transactions are skipped.
+     */
+    int deleteChunk(Target target, LocalDateTime cutoff, int limit);
+    
+    enum Target {
+        USER_SESSIONS,
+        PASSWORD_RESET_TOKENS,
+        EMAIL_VERIFICATION_TOKENS
+    }
+}
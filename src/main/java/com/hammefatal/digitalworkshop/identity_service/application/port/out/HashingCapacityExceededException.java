@@ -0,0 +1,12 @@
+package com.hammefatal.digitalworkshop.identity_service.application.port.out;
+
+public class HashingCapacityExceededException extends RuntimeException {
+
+    public HashingCapacityExceededException(String message) {
+        super(message);
+    }
+
+    public HashingCapacityExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
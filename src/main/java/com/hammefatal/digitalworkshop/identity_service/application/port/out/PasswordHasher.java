@@ -0,0 +1,14 @@
+package com.hammefatal.digitalworkshop.identity_service.application.port.out;
+
+import java.util.List;
+
+public interface PasswordHasher {
+    
+    String hash(String rawPassword);
+    
+    List<String> hashAll(List<String> rawPasswords);
+    
+    boolean matches(String rawPassword, String encodedPassword);
+    
+    boolean needsRehash(String encodedPassword);
+}
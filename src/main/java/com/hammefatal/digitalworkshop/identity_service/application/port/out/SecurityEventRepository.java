@@ -0,0 +1,9 @@
+package com.hammefatal.digitalworkshop.identity_service.application.port.out;
+
+import com.hammefatal.digitalworkshop.identity_service.domain.SecurityEvent;
+import java.util.List;
+
+public interface SecurityEventRepository {
+    
+    void insertAll(List<SecurityEvent> events);
+}
@@ -0,0 +1,30 @@
+package com.hammefatal.digitalworkshop.identity_service.application.port.out;
+
+import com.hammefatal.digitalworkshop.identity_service.domain.UserSession;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+public interface SessionRepository {
+    
+    UserSession insert(UserSession session);
+    
+    Optional<UserSession> findActiveBySessionTokenHash(String sessionTokenHash);
+    
+    Optional<UserSession> findActiveByRefreshTokenHash(String refreshTokenHash);
+    
+    Optional<UserSession> rotateTokens(Long id,
+                                       String expectedRefreshTokenHash,
+                                       String newSessionTokenHash,
+                                       String newRefreshTokenHash,
+                                       LocalDateTime expiresAt);
+    
+    boolean deactivate(Long id);
+    
+    void updateLastAccessedAt(Collection<SessionAccess> accesses);
+    
+    record SessionAccess(
+        Long sessionId,
+        LocalDateTime accessedAt
+    ) {}
+}
@@ -0,0 +1,9 @@
+package com.hammefatal.digitalworkshop.identity_service.application.port.out;
+
+import com.hammefatal.digitalworkshop.identity_service.domain.UserAuditEntry;
+import java.util.List;
+
+public interface UserAuditRepository {
+    
+    List<UserAuditEntry> findByUserIdBefore(Long userId, long beforeId, int limit);
+}
@@ -1,36 +1,157 @@
 package com.hammefatal.digitalworkshop.identity_service.application.port.out;
 
 import com.hammefatal.digitalworkshop.identity_service.domain.User;
+import com.hammefatal.digitalworkshop.identity_service.domain.UserProfile;
+import com.hammefatal.digitalworkshop.identity_service.domain.UserSummary;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface UserRepository {
     
     User save(User user);
     
+    User insert(User user);
+    
+    List<User> insertAll(List<User> users);
+    
+    /**
+     * Empty if the user does not exist. Throws {@link IllegalArgumentException} if a field changes and
+     * {@code changedBy} names no existing user.
+     */
+    Optional<User> updateProfile(ProfileUpdate update);
+    
+    /**
+     * Sets the status and returns the updated user together with the status it replaced, both taken
+     * from the same locked row so concurrent changes cannot interleave between them.
+     */
+    Optional<StatusChange> updateAccountStatus(Long id, User.AccountStatus status);
+    
+    Optional<User> updatePassword(Long id, String expectedPasswordHash, String newPasswordHash);
+    
+    Optional<User> incrementSessionEpoch(Long id);
+    
+    boolean replacePasswordHash(Long id, String expectedPasswordHash, String newPasswordHash);
+    
+    void applyLoginCounters(Collection<LoginCounter> counters);
+    
     Optional<User> findById(Long id);
     
     Optional<User> findByUsername(String username);
     
     Optional<User> findByEmail(String email);
     
-    List<User> findAll();
+    /**
+     * The user's row as stored now, never from a cache. Authentication decides on its password hash
+     * and status, which another node may have changed since a cached copy was loaded.
+     */
+    Optional<User> findCurrentById(Long id);
+    
+    /**
+     * The user's {@code updated_at} alone, for revalidating a client's copy without loading the row.
+     */
+    Optional<LocalDateTime> findUpdatedAtById(Long id);
+    
+    /**
+     * The user's current {@code session_epoch}, always read from the store and never from a cache.
+     */
+    Optional<Integer> findSessionEpochById(Long id);
+    
+    /**
+     * Latest {@code updated_at} across all users and the number of users ever deleted, read together
+     * from the store. Every write moves one or the other, and neither requires counting the users.
+     */
+    VersionStamp findVersionStamp();
+    
+    /**
+     * Users matching any of the given ids, usernames or emails, in no particular order; each user
+     * appears once even if several keys match it.
+     */
+    List<User> findAllByKeys(Collection<Long> ids, Collection<String> usernames, Collection<String> emails);
     
-    List<User> findByAccountStatus(User.AccountStatus status);
+    List<UserSummary> findAllAfter(Long afterId, int limit);
     
-    List<User> findByFirstNameContaining(String firstName);
+    List<UserSummary> findByAccountStatusAfter(User.AccountStatus status, Long afterId, int limit);
     
-    List<User> findByLastNameContaining(String lastName);
+    /**
+     * Name matches ranked by similarity descending, then id ascending, strictly after the position
+     * ({@code afterScore}, {@code afterId}); an {@code afterId} of 0 starts from the top.
+     */
+    List<NameMatch> searchByName(String term, float afterScore, Long afterId, int limit);
     
-    List<User> findByEmailContaining(String email);
+    List<UserSummary> findByEmailContainingAfter(String email, Long afterId, int limit);
+    
+    List<UserKey> findKeysAfter(Long afterId, int limit);
+    
+    /**
+     * Streams every profile, or those with {@code updated_at >= updatedSince}, to {@code sink} one row
+     * at a time without materializing the result. Must run inside a transaction so the driver can
+     * hold a server-side cursor; returns the number of rows passed to the sink.
+     */
+    long streamProfiles(LocalDateTime updatedSince, int fetchSize, Consumer<UserProfile> sink);
     
     boolean existsByUsername(String username);
     
     boolean existsByEmail(String email);
     
+    Set<String> findExistingUsernames(Collection<String> usernames);
+    
+    Set<String> findExistingEmails(Collection<String> emails);
+    
     long count();
     
+    Map<User.AccountStatus, Long> countByAccountStatus();
+    
+    /**
+     * Per-status row estimates from planner statistics; empty if the table has not been analyzed.
+     */
+    Map<User.AccountStatus, Long> estimateCountByAccountStatus();
+    
     void deleteById(Long id);
     
     void delete(User user);
-}
\ No newline at end of file
+    
+    record ProfileUpdate(
+        Long id,
+        String firstName,
+        String lastName,
+        String phoneNumber,
+        LocalDate dateOfBirth,
+        String profileImageUrl,
+        Long changedBy,
+        String changeReason
+    ) {}
+    
+    record LoginCounter(
+        Long userId,
+        int failedLoginAttempts,
+        boolean locked,
+        LocalDateTime lastLoginAt
+    ) {}
+    
+    record UserKey(
+        Long id,
+        String username,
+        String email
+    ) {}
+    
+    record VersionStamp(
+        LocalDateTime lastUpdatedAt,
+        long deletions
+    ) {}
+    
+    record StatusChange(
+        User user,
+        User.AccountStatus previousStatus
+    ) {}
+    
+    record NameMatch(
+        UserSummary summary,
+        float score
+    ) {}
+}
@@ -0,0 +1,82 @@
+package com.hammefatal.digitalworkshop.identity_service.application.service;
+
+import com.hammefatal.digitalworkshop.identity_service.application.port.in.AccessTokenUseCase;
+import com.hammefatal.digitalworkshop.identity_service.application.port.out.AccessTokenCodec;
+import com.hammefatal.digitalworkshop.identity_service.domain.AccessTokenClaims;
+import com.hammefatal.digitalworkshop.identity_service.domain.SecurityEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Short-lived signed access tokens. Signature checks are cached by the codec; the session epoch is
+ * compared on every verification so revocation takes effect without waiting for expiry.
+ */
+@Service
+public class AccessTokenService implements AccessTokenUseCase {
+
+    private final AccessTokenCodec accessTokenCodec;
+    private final SessionEpochRegistry sessionEpochRegistry;
+    private final SecurityEventLog securityEventLog;
+    private final Duration accessTokenTtl;
+
+    public AccessTokenService(AccessTokenCodec accessTokenCodec,
+                              SessionEpochRegistry sessionEpochRegistry,
+                              SecurityEventLog securityEventLog,
+                              @Value("${identity.jwt.access-token-ttl:PT15M}") Duration accessTokenTtl) {
+        this.accessTokenCodec = accessTokenCodec;
+        this.sessionEpochRegistry = sessionEpochRegistry;
+        this.securityEventLog = securityEventLog;
+        this.accessTokenTtl = accessTokenTtl;
+    }
+
+    @Override
+    public IssuedAccessToken issueAccessToken(Long userId, Long sessionId) {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        AccessTokenClaims claims = new AccessTokenClaims(
+            userId,
+            sessionId,
+            sessionEpochRegistry.currentEpoch(userId),
+            now,
+            now.plus(accessTokenTtl)
+        );
+        return new IssuedAccessToken(accessTokenCodec.encode(claims), claims.expiresAt());
+    }
+
+    @Override
+    public Optional<AccessTokenClaims> verifyAccessToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+        return accessTokenCodec.decode(token)
+            .filter(claims -> sessionEpochRegistry.isCurrent(claims.userId(), claims.sessionEpoch()));
+    }
+
+    @Override
+    public String rotateSigningKey() {
+        String keyId = accessTokenCodec.rotateSigningKey();
+        securityEventLog.record(new SecurityEvent(
+            null,
+            SecurityEvent.EventType.SIGNING_KEY_ROTATED,
+            "Access token signing key rotated",
+            null,
+            null,
+            null,
+            true,
+            Map.of("keyId", keyId),
+            LocalDateTime.now()
+        ));
+        return keyId;
+    }
+
+    @Override
+    public String getPublicKeySet() {
+        return accessTokenCodec.publicKeySet();
+    }
+}
@@ -0,0 +1,217 @@
+package com.hammefatal.digitalworkshop.identity_service.application.service;
+
+import com.hammefatal.digitalworkshop.identity_service.application.port.in.AuthorizationUseCase;
+import com.hammefatal.digitalworkshop.identity_service.application.port.out.AuthorizationRepository;
+import com.hammefatal.digitalworkshop.identity_service.domain.SecurityEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RBAC checks against a compiled {@link PermissionCatalog}. Each user's effective permissions (the OR
+ * of their active, unexpired roles) are cached until the earliest grant expiry or the TTL, whichever
+ * comes first; local grant changes invalidate immediately and the TTL bounds staleness across nodes.
+ */
+@Service
+public class AuthorizationService implements AuthorizationUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthorizationService.class);
+
+    private final AuthorizationRepository authorizationRepository;
+    private final SecurityEventLog securityEventLog;
+    private final ConcurrentHashMap<Long, UserPermissions> userPermissions = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final long ttlMillis;
+    private final int maxCachedUsers;
+    private volatile PermissionCatalog catalog;
+
+    public AuthorizationService(AuthorizationRepository authorizationRepository,
+                                SecurityEventLog securityEventLog,
+                                @Value("${identity.authz.user-cache-ttl:PT1M}") Duration ttl,
+                                @Value("${identity.authz.user-cache-size:200000}") int maxCachedUsers) {
+        this.authorizationRepository = authorizationRepository;
+        this.securityEventLog = securityEventLog;
+        this.ttlMillis = ttl.toMillis();
+        this.maxCachedUsers = maxCachedUsers;
+    }
+
+    @Override
+    public List<Boolean> check(List<PermissionCheck> checks) {
+        if (checks.size() > MAX_CHECKS) {
+            throw new IllegalArgumentException("At most " + MAX_CHECKS + " checks per request");
+        }
+        PermissionCatalog current = catalog();
+        Map<Long, long[]> permissions = resolve(checks.stream().map(PermissionCheck::userId).toList(), current);
+        List<Boolean> results = new ArrayList<>(checks.size());
+        for (PermissionCheck check : checks) {
+            int bit = current.bitOf(check.resource(), check.action());
+            results.add(PermissionCatalog.test(permissions.get(check.userId()), bit));
+        }
+        return results;
+    }
+
+    @Override
+    public Set<String> getEffectivePermissions(Long userId) {
+        PermissionCatalog current = catalog();
+        return current.names(resolve(List.of(userId), current).get(userId));
+    }
+
+    @Override
+    public void grantRole(GrantRoleCommand command) {
+        authorizationRepository.grantRole(command.userId(), command.roleId(), command.grantedBy(), command.expiresAt());
+        invalidate(command.userId());
+        securityEventLog.record(new SecurityEvent(
+            command.userId(),
+            SecurityEvent.EventType.ROLE_GRANTED,
+            "Role " + command.roleId() + " granted",
+            null,
+            null,
+            null,
+            true,
+            roleData(command.roleId(), command.grantedBy()),
+            LocalDateTime.now()
+        ));
+    }
+
+    @Override
+    public void revokeRole(Long userId, Long roleId) {
+        if (!authorizationRepository.revokeRole(userId, roleId)) {
+            throw new IllegalArgumentException("User " + userId + " has no active grant of role " + roleId);
+        }
+        invalidate(userId);
+        securityEventLog.record(new SecurityEvent(
+            userId,
+            SecurityEvent.EventType.ROLE_REVOKED,
+            "Role " + roleId + " revoked",
+            null,
+            null,
+            null,
+            true,
+            roleData(roleId, null),
+            LocalDateTime.now()
+        ));
+    }
+
+    private static Map<String, Object> roleData(Long roleId, Long grantedBy) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("roleId", roleId);
+        if (grantedBy != null) {
+            data.put("grantedBy", grantedBy);
+        }
+        return data;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${identity.authz.catalog-refresh:PT5M}", initialDelayString = "${identity.authz.catalog-refresh:PT5M}")
+    public void reloadCatalog() {
+        long started = System.nanoTime();
+        PermissionCatalog compiled = PermissionCatalog.compile(
+            authorizationRepository.findActivePermissions(),
+            authorizationRepository.findActiveRolePermissions());
+        catalog = compiled;
+        log.debug("Permission catalog compiled: {} permissions, {} roles in {} ms",
+            compiled.permissionCount(), compiled.roleCount(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public int getCachedUserCount() {
+        return userPermissions.size();
+    }
+
+    private void invalidate(Long userId) {
+        invalidations.incrementAndGet();
+        userPermissions.remove(userId);
+    }
+
+    private PermissionCatalog catalog() {
+        PermissionCatalog current = catalog;
+        if (current == null) {
+            synchronized (this) {
+                if (catalog == null) {
+                    reloadCatalog();
+                }
+                current = catalog;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Returns the permission bitset of every distinct user, loading all cache misses with one query.
+     */
+    private Map<Long, long[]> resolve(List<Long> userIds, PermissionCatalog current) {
+        long now = System.currentTimeMillis();
+        Map<Long, long[]> resolved = new HashMap<>();
+        Set<Long> missing = new LinkedHashSet<>();
+        for (Long userId : userIds) {
+            if (resolved.containsKey(userId) || missing.contains(userId)) {
+                continue;
+            }
+            UserPermissions cached = userPermissions.get(userId);
+            if (cached == null || cached.validUntilMillis() <= now) {
+                missing.add(userId);
+            } else if (cached.catalog() != current) {
+                // Role definitions changed; recompile from the cached grants without a round trip
+                UserPermissions recompiled = new UserPermissions(cached.roleIds(), current.union(cached.roleIds()), current, cached.validUntilMillis());
+                userPermissions.replace(userId, cached, recompiled);
+                resolved.put(userId, recompiled.permissions());
+            } else {
+                resolved.put(userId, cached.permissions());
+            }
+        }
+        if (missing.isEmpty()) {
+            return resolved;
+        }
+
+        long stamp = invalidations.get();
+        Map<Long, List<AuthorizationRepository.RoleGrant>> grantsByUser = new HashMap<>();
+        for (AuthorizationRepository.RoleGrant grant : authorizationRepository.findActiveRoleGrants(missing)) {
+            grantsByUser.computeIfAbsent(grant.userId(), id -> new ArrayList<>()).add(grant);
+        }
+        if (userPermissions.size() + missing.size() > maxCachedUsers) {
+            userPermissions.values().removeIf(entry -> entry.validUntilMillis() <= now);
+        }
+        for (Long userId : missing) {
+            List<AuthorizationRepository.RoleGrant> grants = grantsByUser.getOrDefault(userId, List.of());
+            long[] roleIds = new long[grants.size()];
+            long validUntil = now + ttlMillis;
+            for (int i = 0; i < grants.size(); i++) {
+                roleIds[i] = grants.get(i).roleId();
+                LocalDateTime expiresAt = grants.get(i).expiresAt();
+                if (expiresAt != null) {
+                    validUntil = Math.min(validUntil, expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+                }
+            }
+            UserPermissions entry = new UserPermissions(roleIds, current.union(roleIds), current, validUntil);
+            if (userPermissions.size() < maxCachedUsers) {
+                userPermissions.put(userId, entry);
+                // Invalidations bump the stamp before removing, so re-checking after the put closes the race
+                if (invalidations.get() != stamp) {
+                    userPermissions.remove(userId, entry);
+                }
+            }
+            resolved.put(userId, entry.permissions());
+        }
+        return resolved;
+    }
+
+    private record UserPermissions(
+        long[] roleIds,
+        long[] permissions,
+        PermissionCatalog catalog,
+        long validUntilMillis
+    ) {}
+}
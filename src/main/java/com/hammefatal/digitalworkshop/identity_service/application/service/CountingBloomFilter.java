@@ -0,0 +1,119 @@
+package com.hammefatal.digitalworkshop.identity_service.application.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free counting Bloom filter with 4-bit saturating counters packed sixteen to a long.
+ * Saturated counters are never decremented, so removals can only ever leave false positives.
+ */
+final class CountingBloomFilter {
+
+    private static final int COUNTERS_PER_WORD = 16;
+    private static final long COUNTER_MASK = 0xFL;
+
+    private final AtomicLongArray words;
+    private final long counterCount;
+    private final int hashCount;
+
+    CountingBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("Expected insertions must be positive");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        }
+        long optimalCounters = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, (optimalCounters + COUNTERS_PER_WORD - 1) / COUNTERS_PER_WORD);
+        this.words = new AtomicLongArray(wordCount);
+        this.counterCount = (long) wordCount * COUNTERS_PER_WORD;
+        this.hashCount = Math.max(1, (int) Math.round((double) counterCount / expectedInsertions * Math.log(2)));
+    }
+
+    void add(String key) {
+        long h1 = hash(key);
+        long h2 = mix(h1) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            increment(index(h1 + i * h2));
+        }
+    }
+
+    void remove(String key) {
+        long h1 = hash(key);
+        long h2 = mix(h1) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            decrement(index(h1 + i * h2));
+        }
+    }
+
+    boolean mightContain(String key) {
+        long h1 = hash(key);
+        long h2 = mix(h1) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            if (counter(index(h1 + i * h2)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long index(long combinedHash) {
+        return Math.floorMod(combinedHash, counterCount);
+    }
+
+    private long counter(long index) {
+        int shift = shift(index);
+        return (words.get(word(index)) >>> shift) & COUNTER_MASK;
+    }
+
+    private void increment(long index) {
+        int word = word(index);
+        int shift = shift(index);
+        long current;
+        do {
+            current = words.get(word);
+            if (((current >>> shift) & COUNTER_MASK) == COUNTER_MASK) {
+                return;
+            }
+        } while (!words.compareAndSet(word, current, current + (1L << shift)));
+    }
+
+    private void decrement(long index) {
+        int word = word(index);
+        int shift = shift(index);
+        long current;
+        do {
+            current = words.get(word);
+            long value = (current >>> shift) & COUNTER_MASK;
+            if (value == 0 || value == COUNTER_MASK) {
+                return;
+            }
+        } while (!words.compareAndSet(word, current, current - (1L << shift)));
+    }
+
+    private static int word(long index) {
+        return (int) (index / COUNTERS_PER_WORD);
+    }
+
+    private static int shift(long index) {
+        return (int) (index % COUNTERS_PER_WORD) * 4;
+    }
+
+    private static long hash(String key) {
+        // FNV-1a over UTF-16 code units
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
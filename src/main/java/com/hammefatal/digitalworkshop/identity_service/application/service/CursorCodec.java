@@ -0,0 +1,65 @@
+package com.hammefatal.digitalworkshop.identity_service.application.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes keyset positions into opaque, URL-safe continuation tokens.
+ */
+final class CursorCodec {
+
+    private static final String SEPARATOR = "|";
+
+    private CursorCodec() {}
+
+    static String encode(String... parts) {
+        String raw = String.join(SEPARATOR, parts);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String[] decode(String cursor, int expectedParts) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != expectedParts) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    static String encodeId(long id) {
+        return encode(Long.toString(id));
+    }
+
+    static String encodeScored(float score, long id) {
+        return encode(Float.toString(score), Long.toString(id));
+    }
+
+    static ScoredPosition decodeScored(String cursor) {
+        if (cursor == null) {
+            return new ScoredPosition(0f, 0L);
+        }
+        String[] parts = decode(cursor, 2);
+        try {
+            return new ScoredPosition(Float.parseFloat(parts[0]), Long.parseLong(parts[1]));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    static long decodeId(String cursor) {
+        if (cursor == null) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(decode(cursor, 1)[0]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    record ScoredPosition(float score, long id) {}
+}
@@ -0,0 +1,149 @@
+package com.hammefatal.digitalworkshop.identity_service.application.service;
+
+import com.hammefatal.digitalworkshop.identity_service.application.port.out.ExpiredDataRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Periodically deletes expired sessions and spent tokens in small chunks with a pause between them,
+ * so the purge never holds many row locks or writes a large burst of WAL. Only one node purges at a
+ * time; the others skip the cycle. A cycle can run for minutes, so it gets its own thread rather than
+ * holding one of the shared scheduler's, which drives the one-second login counter flush among others.
+ */
+@Component
+public class ExpiredDataPurger {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpiredDataPurger.class);
+
+    private final ExpiredDataRepository expiredDataRepository;
+    private final int chunkSize;
+    private final long pauseMillis;
+    private final Duration gracePeriod;
+    private final long maxCycleNanos;
+    private final Duration interval;
+    private final Duration initialDelay;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+        task -> Thread.ofPlatform().name("expired-data-purger").daemon().unstarted(task));
+
+    private final AtomicLong cycles = new AtomicLong();
+    private final AtomicLong skippedCycles = new AtomicLong();
+    private final AtomicLong totalRemoved = new AtomicLong();
+    private volatile Cycle lastCycle;
+
+    public ExpiredDataPurger(ExpiredDataRepository expiredDataRepository,
+                             @Value("${identity.purge.chunk-size:1000}") int chunkSize,
+                             @Value("${identity.purge.chunk-pause:PT0.2S}") Duration chunkPause,
+                             @Value("${identity.purge.grace-period:PT1H}") Duration gracePeriod,
+                             @Value("${identity.purge.max-cycle-duration:PT2M}") Duration maxCycleDuration,
+                             @Value("${identity.purge.interval:PT10M}") Duration interval,
+                             @Value("${identity.purge.initial-delay:PT1M}") Duration initialDelay) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Purge chunk size must be positive");
+        }
+        this.expiredDataRepository = expiredDataRepository;
+        this.chunkSize = chunkSize;
+        this.pauseMillis = chunkPause.toMillis();
+        this.gracePeriod = gracePeriod;
+        this.maxCycleNanos = maxCycleDuration.toNanos();
+        this.interval = interval;
+        this.initialDelay = initialDelay;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        executor.scheduleWithFixedDelay(this::purge, initialDelay.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // Interrupts a running cycle at its next pause; deleted chunks are already committed
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    public void purge() {
+        Map<ExpiredDataRepository.Target, Integer> removed = new EnumMap<>(ExpiredDataRepository.Target.class);
+        LocalDateTime startedAt = LocalDateTime.now();
+        long start = System.nanoTime();
+        boolean ran;
+        try {
+            ran = expiredDataRepository.runExclusively(() -> purgeAll(startedAt.minus(gracePeriod), start, removed));
+        } catch (RuntimeException e) {
+            // Whatever was deleted before the failure stays deleted; the next cycle picks up the rest
+            log.warn("Expired data purge failed after removing {}", removed, e);
+            ran = true;
+        }
+        if (!ran) {
+            skippedCycles.incrementAndGet();
+            log.debug("Expired data purge skipped; another node holds the purge lock");
+            return;
+        }
+        long durationMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        int total = removed.values().stream().mapToInt(Integer::intValue).sum();
+        cycles.incrementAndGet();
+        totalRemoved.addAndGet(total);
+        lastCycle = new Cycle(startedAt, durationMillis, total, Map.copyOf(removed));
+        if (total > 0) {
+            log.info("Purged {} expired rows in {} ms: {}", total, durationMillis, removed);
+        }
+    }
+
+    public Stats getStats() {
+        return new Stats(cycles.get(), skippedCycles.get(), totalRemoved.get(), lastCycle);
+    }
+
+    private void purgeAll(LocalDateTime cutoff, long start, Map<ExpiredDataRepository.Target, Integer> removed) {
+        for (ExpiredDataRepository.Target target : ExpiredDataRepository.Target.values()) {
+            removed.put(target, 0);
+            int deleted;
+            do {
+                if (System.nanoTime() - start > maxCycleNanos) {
+                    // Leave the remaining backlog for the next cycle rather than holding the lock indefinitely
+                    return;
+                }
+                deleted = expiredDataRepository.deleteChunk(target, cutoff, chunkSize);
+                removed.merge(target, deleted, Integer::sum);
+                if (deleted == chunkSize && !pause()) {
+                    return;
+                }
+            } while (deleted == chunkSize);
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public record Cycle(
+        LocalDateTime startedAt,
+        long durationMillis,
+        int removed,
+        Map<ExpiredDataRepository.Target, Integer> removedByTarget
+    ) {}
+
+    public record Stats(
+        long cycles,
+        long skippedCycles,
+        long totalRemoved,
+        Cycle lastCycle
+    ) {}
+}
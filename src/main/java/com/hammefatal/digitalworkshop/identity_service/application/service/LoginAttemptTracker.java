@@ -0,0 +1,214 @@
+package com.hammefatal.digitalworkshop.identity_service.application.service;
+
+import com.hammefatal.digitalworkshop.identity_service.application.port.out.UserRepository;
+import com.hammefatal.digitalworkshop.identity_service.domain.User;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts failed logins per user and per client IP in memory and decides lockouts without touching
+ * the database. Counter changes are written behind to {@code users} in periodic batches, so a
+ * credential-stuffing wave costs one batched UPDATE per flush instead of one per guess. Once a
+ * user's counters are written the local entry is dropped, so the persisted row (and any change
+ * made to it on another node, such as an unlock) decides from then on.
+ */
+@Component
+public class LoginAttemptTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginAttemptTracker.class);
+
+    private final ConcurrentHashMap<Long, UserAttempts> users = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, AtomicLong> ipWindows = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Long> dirtyUsers = new ConcurrentLinkedQueue<>();
+
+    private final UserRepository userRepository;
+    private final SessionEpochRegistry sessionEpochRegistry;
+    private final UserCountTracker userCountTracker;
+    private final int maxFailedAttempts;
+    private final int ipMaxFailures;
+    private final long ipWindowMillis;
+
+    public LoginAttemptTracker(UserRepository userRepository,
+                               SessionEpochRegistry sessionEpochRegistry,
+                               UserCountTracker userCountTracker,
+                               @Value("${identity.login.max-failed-attempts:5}") int maxFailedAttempts,
+                               @Value("${identity.login.ip-max-failures:20}") int ipMaxFailures,
+                               @Value("${identity.login.ip-window:PT5M}") Duration ipWindow) {
+        this.userRepository = userRepository;
+        this.sessionEpochRegistry = sessionEpochRegistry;
+        this.userCountTracker = userCountTracker;
+        this.maxFailedAttempts = maxFailedAttempts;
+        this.ipMaxFailures = ipMaxFailures;
+        this.ipWindowMillis = ipWindow.toMillis();
+    }
+
+    public boolean isIpBlocked(String ipAddress) {
+        if (ipAddress == null) {
+            return false;
+        }
+        AtomicLong window = ipWindows.get(ipAddress);
+        if (window == null) {
+            return false;
+        }
+        long state = window.get();
+        return windowOf(state) == currentWindow() && countOf(state) >= ipMaxFailures;
+    }
+
+    public boolean isLocked(User user) {
+        UserAttempts attempts = users.get(user.getId());
+        return user.isAccountLocked() || (attempts != null && attempts.locked.get());
+    }
+
+    /**
+     * Records a failed attempt and returns whether the account is now locked.
+     */
+    public boolean recordFailure(User user, String ipAddress) {
+        recordIpFailure(ipAddress);
+        // Updated inside compute so a concurrent flush cannot drop the entry between the update and markDirty
+        AtomicBoolean lockedNow = new AtomicBoolean();
+        UserAttempts attempts = users.compute(user.getId(), (id, existing) -> {
+            UserAttempts current = existing != null ? existing : new UserAttempts(user.getFailedLoginAttempts());
+            int failures = current.failures.incrementAndGet();
+            if (failures >= maxFailedAttempts && current.locked.compareAndSet(false, true)) {
+                lockedNow.set(true);
+            }
+            markDirty(id, current);
+            return current;
+        });
+        if (lockedNow.get()) {
+            userCountTracker.onStatusChanged(user.getAccountStatus(), User.AccountStatus.LOCKED);
+        }
+        return attempts.locked.get();
+    }
+
+    public void recordIpFailure(String ipAddress) {
+        if (ipAddress == null) {
+            return;
+        }
+        AtomicLong window = ipWindows.computeIfAbsent(ipAddress, ip -> new AtomicLong());
+        long current = currentWindow();
+        long state;
+        long next;
+        do {
+            state = window.get();
+            next = windowOf(state) == current ? state + 1 : (current << 32) | 1;
+        } while (!window.compareAndSet(state, next));
+    }
+
+    public void recordSuccess(User user) {
+        users.compute(user.getId(), (id, existing) -> {
+            UserAttempts current = existing != null ? existing : new UserAttempts(0);
+            current.failures.set(0);
+            current.lastLoginAt = LocalDateTime.now();
+            markDirty(id, current);
+            return current;
+        });
+    }
+
+    /**
+     * Forgets in-memory state for a user whose status or counters were changed directly, e.g. an unlock.
+     */
+    public void reset(Long userId) {
+        users.remove(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${identity.login.flush-interval:PT1S}")
+    public void flush() {
+        List<UserRepository.LoginCounter> batch = new ArrayList<>();
+        Long userId;
+        while ((userId = dirtyUsers.poll()) != null) {
+            UserAttempts attempts = users.get(userId);
+            if (attempts == null || !attempts.dirty.compareAndSet(true, false)) {
+                continue;
+            }
+            batch.add(new UserRepository.LoginCounter(userId, attempts.failures.get(), attempts.locked.get(), attempts.lastLoginAt));
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            userRepository.applyLoginCounters(batch);
+            // The row now holds these counters; drop entries not touched since, so later decisions read the
+            // persisted state. Checked under the map's lock, which recordFailure and recordSuccess also take
+            for (UserRepository.LoginCounter counter : batch) {
+                users.computeIfPresent(counter.userId(), (id, attempts) -> attempts.dirty.get() ? attempts : null);
+            }
+            // A lock bumped the epoch in the database; re-read it so outstanding sessions stop validating
+            batch.stream()
+                .filter(UserRepository.LoginCounter::locked)
+                .forEach(counter -> sessionEpochRegistry.forget(counter.userId()));
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush {} login counters; will retry", batch.size(), e);
+            for (UserRepository.LoginCounter counter : batch) {
+                UserAttempts attempts = users.get(counter.userId());
+                if (attempts != null) {
+                    markDirty(counter.userId(), attempts);
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${identity.login.ip-window:PT5M}")
+    public void evictExpiredIpWindows() {
+        long current = currentWindow();
+        ipWindows.entrySet().removeIf(entry -> windowOf(entry.getValue().get()) < current);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    public int getTrackedUserCount() {
+        return users.size();
+    }
+
+    public int getTrackedIpCount() {
+        return ipWindows.size();
+    }
+
+    private void markDirty(Long userId, UserAttempts attempts) {
+        if (attempts.dirty.compareAndSet(false, true)) {
+            dirtyUsers.add(userId);
+        }
+    }
+
+    private long currentWindow() {
+        return System.currentTimeMillis() / ipWindowMillis;
+    }
+
+    // An IP window packs the window index in the high 32 bits and the failure count in the low 32
+    private static long windowOf(long state) {
+        return state >>> 32;
+    }
+
+    private static long countOf(long state) {
+        return state & 0xFFFFFFFFL;
+    }
+
+    private static final class UserAttempts {
+
+        final AtomicInteger failures;
+        final AtomicBoolean locked = new AtomicBoolean();
+        final AtomicBoolean dirty = new AtomicBoolean();
+        volatile LocalDateTime lastLoginAt;
+
+        UserAttempts(int failures) {
+            this.failures = new AtomicInteger(failures);
+        }
+    }
+}
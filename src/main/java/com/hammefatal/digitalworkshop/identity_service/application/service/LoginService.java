@@ -0,0 +1,150 @@
+package com.hammefatal.digitalworkshop.identity_service.application.service;
+
+import com.hammefatal.digitalworkshop.identity_service.application.port.in.LoginFailedException;
+import com.hammefatal.digitalworkshop.identity_service.application.port.in.LoginUseCase;
+import com.hammefatal.digitalworkshop.identity_service.application.port.out.PasswordHasher;
+import com.hammefatal.digitalworkshop.identity_service.application.port.out.UserRepository;
+import com.hammefatal.digitalworkshop.identity_service.domain.SecurityEvent;
+import com.hammefatal.digitalworkshop.identity_service.domain.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Password login. Not transactional: the user cache only resolves the identifier to an id, and the
+ * password hash and status are then read from the row itself, so a password change, suspension or
+ * lock made on another node takes effect at once. Verification runs on the hashing pool and counter
+ * changes are written behind by {@link LoginAttemptTracker}.
+ */
+@Service
+public class LoginService implements LoginUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginService.class);
+
+    private final UserRepository userRepository;
+    private final PasswordHasher passwordHasher;
+    private final LoginAttemptTracker loginAttemptTracker;
+    private final SecurityEventLog securityEventLog;
+    private volatile String dummyPasswordHash;
+
+    public LoginService(UserRepository userRepository,
+                        PasswordHasher passwordHasher,
+                        LoginAttemptTracker loginAttemptTracker,
+                        SecurityEventLog securityEventLog) {
+        this.userRepository = userRepository;
+        this.passwordHasher = passwordHasher;
+        this.loginAttemptTracker = loginAttemptTracker;
+        this.securityEventLog = securityEventLog;
+    }
+
+    @Override
+    public LoginResult login(LoginCommand command) {
+        if (loginAttemptTracker.isIpBlocked(command.ipAddress())) {
+            record(command, null, SecurityEvent.EventType.LOGIN_FAILURE, false, "Client IP is temporarily blocked");
+            throw new LoginFailedException(LoginFailedException.Reason.TOO_MANY_ATTEMPTS);
+        }
+
+        String identifier = command.usernameOrEmail().trim();
+        Optional<User> found = findCurrent(identifier);
+
+        if (found.isEmpty()) {
+            // Spend the same hashing time as a real check so response latency does not reveal unknown names
+            passwordHasher.matches(command.password(), dummyPasswordHash());
+            loginAttemptTracker.recordIpFailure(command.ipAddress());
+            record(command, null, SecurityEvent.EventType.LOGIN_FAILURE, false, "Unknown username or email");
+            throw new LoginFailedException(LoginFailedException.Reason.INVALID_CREDENTIALS);
+        }
+
+        User user = found.get();
+        if (loginAttemptTracker.isLocked(user)) {
+            record(command, user.getId(), SecurityEvent.EventType.LOGIN_FAILURE, false, "Account is locked");
+            throw new LoginFailedException(LoginFailedException.Reason.ACCOUNT_LOCKED);
+        }
+        if (!user.isAccountActive()) {
+            record(command, user.getId(), SecurityEvent.EventType.LOGIN_FAILURE, false, "Account is not active");
+            throw new LoginFailedException(LoginFailedException.Reason.ACCOUNT_DISABLED);
+        }
+
+        if (!passwordHasher.matches(command.password(), user.getPasswordHash())) {
+            boolean locked = loginAttemptTracker.recordFailure(user, command.ipAddress());
+            record(command, user.getId(), SecurityEvent.EventType.LOGIN_FAILURE, false, "Invalid password");
+            if (locked) {
+                record(command, user.getId(), SecurityEvent.EventType.ACCOUNT_LOCKED, true, "Too many failed login attempts");
+            }
+            throw new LoginFailedException(locked
+                ? LoginFailedException.Reason.ACCOUNT_LOCKED
+                : LoginFailedException.Reason.INVALID_CREDENTIALS);
+        }
+
+        loginAttemptTracker.recordSuccess(user);
+        record(command, user.getId(), SecurityEvent.EventType.LOGIN_SUCCESS, true, "Password login");
+        if (passwordHasher.needsRehash(user.getPasswordHash())) {
+            rehash(user, command.password());
+        }
+        return new LoginResult(user.getId(), user.getUsername());
+    }
+
+    private Optional<User> findCurrent(String identifier) {
+        Optional<Long> id = resolveId(identifier);
+        if (id.isEmpty()) {
+            return Optional.empty();
+        }
+        Optional<User> current = userRepository.findCurrentById(id.get()).filter(user -> isIdentifiedBy(user, identifier));
+        if (current.isPresent()) {
+            return current;
+        }
+        // The cached key predated a rename or delete elsewhere; the fresh read above replaced it, so resolve once more
+        return resolveId(identifier)
+            .filter(resolved -> !resolved.equals(id.get()))
+            .flatMap(userRepository::findCurrentById)
+            .filter(user -> isIdentifiedBy(user, identifier));
+    }
+
+    private Optional<Long> resolveId(String identifier) {
+        Optional<User> cached = identifier.contains("@")
+            ? userRepository.findByEmail(identifier)
+            : userRepository.findByUsername(identifier);
+        return cached.map(User::getId);
+    }
+
+    private static boolean isIdentifiedBy(User user, String identifier) {
+        return identifier.contains("@") ? identifier.equals(user.getEmail()) : identifier.equals(user.getUsername());
+    }
+
+    private void rehash(User user, String rawPassword) {
+        try {
+            String upgraded = passwordHasher.hash(rawPassword);
+            // Guarded by the verified hash; losing the race to a password change is harmless
+            userRepository.replacePasswordHash(user.getId(), user.getPasswordHash(), upgraded);
+        } catch (RuntimeException e) {
+            log.warn("Failed to upgrade password hash for user id {}", user.getId(), e);
+        }
+    }
+
+    private void record(LoginCommand command, Long userId, SecurityEvent.EventType eventType, boolean success, String description) {
+        securityEventLog.record(new SecurityEvent(
+            userId,
+            eventType,
+            description,
+            command.ipAddress(),
+            command.userAgent(),
+            null,
+            success,
+            Map.of("identifier", command.usernameOrEmail().trim()),
+            LocalDateTime.now()
+        ));
+    }
+
+    private String dummyPasswordHash() {
+        String hash = dummyPasswordHash;
+        if (hash == null) {
+            hash = passwordHasher.hash("dummy-password-for-timing");
+            dummyPasswordHash = hash;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,75 @@
+package com.hammefatal.digitalworkshop.identity_service.application.service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free ring for many producers and a single consumer. Producers claim a slot with one
+ * CAS on the tail; the consumer owns the head and never contends with anyone.
+ */
+final class MpscRingBuffer<T> {
+
+    private final AtomicReferenceArray<T> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    MpscRingBuffer(int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("Capacity must be at least 2");
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Returns {@code false} without blocking when the ring is full.
+     */
+    boolean offer(T element) {
+        long capacity = mask + 1L;
+        long claimed;
+        do {
+            claimed = tail.get();
+            if (claimed - head.get() >= capacity) {
+                return false;
+            }
+        } while (!tail.compareAndSet(claimed, claimed + 1));
+        slots.set((int) (claimed & mask), element);
+        return true;
+    }
+
+    /**
+     * Moves up to {@code limit} elements into {@code sink}; consumer thread only. Stops early at a
+     * slot that has been claimed but not yet written.
+     */
+    int drainTo(List<T> sink, int limit) {
+        long current = head.get();
+        int drained = 0;
+        while (drained < limit) {
+            int index = (int) (current & mask);
+            T element = slots.get(index);
+            if (element == null) {
+                break;
+            }
+            // Clear the slot before publishing the new head so a producer never sees it occupied
+            slots.lazySet(index, null);
+            sink.add(element);
+            current++;
+            drained++;
+        }
+        if (drained > 0) {
+            head.set(current);
+        }
+        return drained;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
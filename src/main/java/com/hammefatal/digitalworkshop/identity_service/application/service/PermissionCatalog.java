@@ -0,0 +1,110 @@
+package com.hammefatal.digitalworkshop.identity_service.application.service;
+
+import com.hammefatal.digitalworkshop.identity_service.application.port.out.AuthorizationRepository;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of the RBAC tables compiled for lookups: every active (resource, action) pair
+ * gets a bit index, and every active role becomes a bitset of its permissions. A permission check
+ * is then two hash lookups and a bit test.
+ */
+final class PermissionCatalog {
+
+    private static final long[] NO_PERMISSIONS = new long[0];
+
+    private final Map<String, Map<String, Integer>> bitsByResource;
+    private final String[] namesByBit;
+    private final Map<Long, long[]> permissionsByRole;
+
+    private PermissionCatalog(Map<String, Map<String, Integer>> bitsByResource,
+                              String[] namesByBit,
+                              Map<Long, long[]> permissionsByRole) {
+        this.bitsByResource = bitsByResource;
+        this.namesByBit = namesByBit;
+        this.permissionsByRole = permissionsByRole;
+    }
+
+    static PermissionCatalog compile(List<AuthorizationRepository.PermissionDefinition> permissions,
+                                     List<AuthorizationRepository.RolePermission> rolePermissions) {
+        Map<String, Map<String, Integer>> bitsByResource = new HashMap<>();
+        Map<Long, Integer> bitsByPermissionId = new HashMap<>();
+        String[] namesByBit = new String[permissions.size()];
+        for (int bit = 0; bit < permissions.size(); bit++) {
+            AuthorizationRepository.PermissionDefinition permission = permissions.get(bit);
+            bitsByResource.computeIfAbsent(permission.resource(), resource -> new HashMap<>())
+                .put(permission.action(), bit);
+            bitsByPermissionId.put(permission.id(), bit);
+            namesByBit[bit] = permission.resource() + ":" + permission.action();
+        }
+
+        int words = (permissions.size() + 63) >>> 6;
+        Map<Long, long[]> permissionsByRole = new HashMap<>();
+        for (AuthorizationRepository.RolePermission rolePermission : rolePermissions) {
+            Integer bit = bitsByPermissionId.get(rolePermission.permissionId());
+            if (bit != null) {
+                permissionsByRole.computeIfAbsent(rolePermission.roleId(), roleId -> new long[words])[bit >>> 6] |= 1L << bit;
+            }
+        }
+        return new PermissionCatalog(bitsByResource, namesByBit, permissionsByRole);
+    }
+
+    /**
+     * Returns the bit index of a permission, or -1 if it is unknown or inactive.
+     */
+    int bitOf(String resource, String action) {
+        Map<String, Integer> actions = bitsByResource.get(resource);
+        if (actions == null) {
+            return -1;
+        }
+        Integer bit = actions.get(action);
+        return bit != null ? bit : -1;
+    }
+
+    long[] union(long[] roleIds) {
+        long[] union = null;
+        for (long roleId : roleIds) {
+            long[] role = permissionsByRole.get(roleId);
+            if (role == null) {
+                continue;
+            }
+            if (union == null) {
+                union = role.clone();
+            } else {
+                for (int i = 0; i < role.length; i++) {
+                    union[i] |= role[i];
+                }
+            }
+        }
+        return union != null ? union : NO_PERMISSIONS;
+    }
+
+    static boolean test(long[] permissions, int bit) {
+        return bit >= 0 && (bit >>> 6) < permissions.length && (permissions[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    Set<String> names(long[] permissions) {
+        Set<String> names = new LinkedHashSet<>();
+        for (int word = 0; word < permissions.length; word++) {
+            long bits = permissions[word];
+            while (bits != 0) {
+                int bit = (word << 6) + Long.numberOfTrailingZeros(bits);
+                names.add(namesByBit[bit]);
+                bits &= bits - 1;
+            }
+        }
+        return names;
+    }
+
+    int permissionCount() {
+        return namesByBit.length;
+    }
+
+    int roleCount() {
+        return permissionsByRole.size();
+    }
+}
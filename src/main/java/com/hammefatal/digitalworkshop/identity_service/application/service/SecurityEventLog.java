@@ -0,0 +1,175 @@
+package com.hammefatal.digitalworkshop.identity_service.application.service;
+
+import com.hammefatal.digitalworkshop.identity_service.application.port.out.SecurityEventRepository;
+import com.hammefatal.digitalworkshop.identity_service.domain.SecurityEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous writer for {@code security_logs}. Request threads only enqueue onto a bounded ring;
+ * a single background thread drains it into batched inserts, so auditing never adds a database
+ * round trip to an auth call. Under overload events are dropped (or briefly waited for) and counted.
+ */
+@Component
+public class SecurityEventLog {
+
+    private static final Logger log = LoggerFactory.getLogger(SecurityEventLog.class);
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+    public enum OverflowPolicy {
+        DROP,
+        BLOCK
+    }
+
+    private final MpscRingBuffer<SecurityEvent> ring;
+    private final SecurityEventRepository securityEventRepository;
+    private final int flushSize;
+    private final long flushIntervalNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutNanos;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile long lastLagMillis;
+    private volatile boolean running;
+    private Thread writer;
+
+    public SecurityEventLog(SecurityEventRepository securityEventRepository,
+                            @Value("${identity.security-log.capacity:8192}") int capacity,
+                            @Value("${identity.security-log.flush-size:500}") int flushSize,
+                            @Value("${identity.security-log.flush-interval:PT0.5S}") Duration flushInterval,
+                            @Value("${identity.security-log.overflow-policy:DROP}") OverflowPolicy overflowPolicy,
+                            @Value("${identity.security-log.block-timeout:PT0.05S}") Duration blockTimeout) {
+        if (flushSize < 1) {
+            throw new IllegalArgumentException("Flush size must be positive");
+        }
+        this.ring = new MpscRingBuffer<>(capacity);
+        this.securityEventRepository = securityEventRepository;
+        this.flushSize = Math.min(flushSize, ring.capacity());
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutNanos = blockTimeout.toNanos();
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::runWriter, "security-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Enqueues an event without touching the database. Returns {@code false} if it was dropped.
+     */
+    public boolean record(SecurityEvent event) {
+        if (!ring.offer(event) && !(overflowPolicy == OverflowPolicy.BLOCK && offerWithin(event, blockTimeoutNanos))) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        enqueued.incrementAndGet();
+        if (ring.size() >= flushSize) {
+            // A full batch is waiting; wake the writer instead of letting it sleep out the interval
+            LockSupport.unpark(writer);
+        }
+        return true;
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        Thread thread = writer;
+        if (thread == null) {
+            return;
+        }
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (ring.size() > 0) {
+            log.warn("Discarding {} security events not written before shutdown", ring.size());
+        }
+    }
+
+    public Stats getStats() {
+        return new Stats(
+            ring.size(),
+            ring.capacity(),
+            enqueued.get(),
+            dropped.get(),
+            written.get(),
+            failed.get(),
+            lastLagMillis
+        );
+    }
+
+    private boolean offerWithin(SecurityEvent event, long timeoutNanos) {
+        long deadline = System.nanoTime() + timeoutNanos;
+        LockSupport.unpark(writer);
+        while (System.nanoTime() < deadline) {
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+            if (ring.offer(event)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void runWriter() {
+        List<SecurityEvent> batch = new ArrayList<>(flushSize);
+        long lastFlush = System.nanoTime();
+        while (running || ring.size() > 0) {
+            ring.drainTo(batch, flushSize - batch.size());
+            long sinceFlush = System.nanoTime() - lastFlush;
+            if (batch.size() >= flushSize || (!batch.isEmpty() && (sinceFlush >= flushIntervalNanos || !running))) {
+                write(batch);
+                batch.clear();
+                lastFlush = System.nanoTime();
+            } else if (running) {
+                LockSupport.parkNanos(this, Math.max(flushIntervalNanos - sinceFlush, BLOCK_PARK_NANOS));
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    private void write(List<SecurityEvent> batch) {
+        try {
+            securityEventRepository.insertAll(batch);
+            written.addAndGet(batch.size());
+            LocalDateTime oldest = batch.get(0).occurredAt();
+            lastLagMillis = Duration.between(oldest, LocalDateTime.now()).toMillis();
+        } catch (RuntimeException e) {
+            // Not retried: a poisoned batch must not wedge the writer and back up every producer
+            failed.addAndGet(batch.size());
+            log.warn("Failed to write {} security events", batch.size(), e);
+        }
+    }
+
+    public record Stats(
+        int depth,
+        int capacity,
+        long enqueued,
+        long dropped,
+        long written,
+        long failed,
+        long lastLagMillis
+    ) {}
+}
@@ -0,0 +1,63 @@
+package com.hammefatal.digitalworkshop.identity_service.application.service;
+
+import com.hammefatal.digitalworkshop.identity_service.application.port.out.SessionRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces session access times in memory and writes them back to {@code last_accessed_at} in
+ * periodic batches. However many requests a session makes between flushes, it costs one row update.
+ */
+@Component
+public class SessionAccessRecorder {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionAccessRecorder.class);
+
+    private final ConcurrentHashMap<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final SessionRepository sessionRepository;
+
+    public SessionAccessRecorder(SessionRepository sessionRepository) {
+        this.sessionRepository = sessionRepository;
+    }
+
+    public void record(Long sessionId, LocalDateTime accessedAt) {
+        pending.merge(sessionId, accessedAt, (current, next) -> next.isAfter(current) ? next : current);
+    }
+
+    @Scheduled(fixedDelayString = "${identity.session.access-flush-interval:PT30S}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<SessionRepository.SessionAccess> batch = new ArrayList<>(pending.size());
+        for (Long sessionId : pending.keySet()) {
+            LocalDateTime accessedAt = pending.remove(sessionId);
+            if (accessedAt != null) {
+                batch.add(new SessionRepository.SessionAccess(sessionId, accessedAt));
+            }
+        }
+        try {
+            sessionRepository.updateLastAccessedAt(batch);
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush {} session access times; will retry", batch.size(), e);
+            batch.forEach(access -> record(access.sessionId(), access.accessedAt()));
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+}
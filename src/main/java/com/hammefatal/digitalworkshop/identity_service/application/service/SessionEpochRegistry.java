@@ -0,0 +1,91 @@
+package com.hammefatal.digitalworkshop.identity_service.application.service;
+
+import com.hammefatal.digitalworkshop.identity_service.application.port.out.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory view of each user's session epoch. A session or token issued under an older epoch is
+ * revoked, so "log out everywhere" is one increment of {@code users.session_epoch} no matter how
+ * many sessions exist. Entries are re-read after the refresh interval to pick up bumps made by
+ * other nodes; local bumps are applied immediately through {@link #advance(Long, int)}.
+ */
+@Component
+public class SessionEpochRegistry {
+
+    // Users that no longer exist compare as newer than any epoch a session could carry, and a
+    // session stamped with it (issued while the row was missing) is never current either
+    static final int REVOKED = Integer.MAX_VALUE;
+
+    private final ConcurrentHashMap<Long, Epoch> epochs = new ConcurrentHashMap<>();
+    private final UserRepository userRepository;
+    private final long refreshNanos;
+    private final int maxSize;
+    private final AtomicLong lastSweepNanos;
+
+    public SessionEpochRegistry(UserRepository userRepository,
+                                @Value("${identity.session.epoch-refresh:PT30S}") Duration refresh,
+                                @Value("${identity.session.epoch-cache-size:500000}") int maxSize) {
+        this.userRepository = userRepository;
+        this.refreshNanos = refresh.toNanos();
+        this.maxSize = maxSize;
+        this.lastSweepNanos = new AtomicLong(System.nanoTime() - refreshNanos);
+    }
+
+    public int currentEpoch(Long userId) {
+        long now = System.nanoTime();
+        Epoch epoch = epochs.get(userId);
+        if (epoch != null && now - epoch.loadedAtNanos() < refreshNanos) {
+            return epoch.value();
+        }
+        // Read from the row itself; the user cache may hold an epoch from before another node's bump
+        int loaded = userRepository.findSessionEpochById(userId).orElse(REVOKED);
+        return advance(userId, loaded, now);
+    }
+
+    public boolean isCurrent(Long userId, int sessionEpoch) {
+        int current = currentEpoch(userId);
+        return current != REVOKED && sessionEpoch >= current;
+    }
+
+    /**
+     * Records an epoch this node just wrote. Epochs only move forward, so a stale reader can never
+     * resurrect sessions that were revoked.
+     */
+    public void advance(Long userId, int epoch) {
+        advance(userId, epoch, System.nanoTime());
+    }
+
+    public void forget(Long userId) {
+        epochs.remove(userId);
+    }
+
+    public int size() {
+        return epochs.size();
+    }
+
+    private int advance(Long userId, int epoch, long now) {
+        if (epochs.size() >= maxSize && !epochs.containsKey(userId) && !makeRoom(now)) {
+            // Full of fresh entries: answer without caching, and the next check reads the row again
+            return epoch;
+        }
+        return epochs.merge(userId, new Epoch(epoch, now),
+            (current, next) -> new Epoch(Math.max(current.value(), next.value()), now)).value();
+    }
+
+    // Sweeps stale entries at most once per refresh interval, so a full map costs one scan per
+    // interval rather than one per call
+    private boolean makeRoom(long now) {
+        long last = lastSweepNanos.get();
+        if (now - last >= refreshNanos && lastSweepNanos.compareAndSet(last, now)) {
+            epochs.values().removeIf(entry -> now - entry.loadedAtNanos() >= refreshNanos);
+        }
+        return epochs.size() < maxSize;
+    }
+
+    private record Epoch(int value, long loadedAtNanos) {}
+}
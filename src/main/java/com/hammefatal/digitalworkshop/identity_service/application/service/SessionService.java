@@ -0,0 +1,134 @@
+package com.hammefatal.digitalworkshop.identity_service.application.service;
+
+import com.hammefatal.digitalworkshop.identity_service.application.port.in.SessionUseCase;
+import com.hammefatal.digitalworkshop.identity_service.application.port.in.UserNotFoundException;
+import com.hammefatal.digitalworkshop.identity_service.application.port.out.SessionRepository;
+import com.hammefatal.digitalworkshop.identity_service.application.port.out.UserRepository;
+import com.hammefatal.digitalworkshop.identity_service.domain.SecurityEvent;
+import com.hammefatal.digitalworkshop.identity_service.domain.User;
+import com.hammefatal.digitalworkshop.identity_service.domain.UserSession;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Opaque bearer sessions. Only token hashes are persisted. Validation is a hash plus a cache lookup
+ * and an epoch comparison against {@link SessionEpochRegistry}; access times are recorded in memory
+ * and flushed by {@link SessionAccessRecorder}.
+ */
+@Service
+public class SessionService implements SessionUseCase {
+
+    private final SessionRepository sessionRepository;
+    private final UserRepository userRepository;
+    private final SessionAccessRecorder sessionAccessRecorder;
+    private final SessionEpochRegistry sessionEpochRegistry;
+    private final SecurityEventLog securityEventLog;
+    private final Duration sessionLifetime;
+
+    public SessionService(SessionRepository sessionRepository,
+                          UserRepository userRepository,
+                          SessionAccessRecorder sessionAccessRecorder,
+                          SessionEpochRegistry sessionEpochRegistry,
+                          SecurityEventLog securityEventLog,
+                          @Value("${identity.session.lifetime:PT24H}") Duration sessionLifetime) {
+        this.sessionRepository = sessionRepository;
+        this.userRepository = userRepository;
+        this.sessionAccessRecorder = sessionAccessRecorder;
+        this.sessionEpochRegistry = sessionEpochRegistry;
+        this.securityEventLog = securityEventLog;
+        this.sessionLifetime = sessionLifetime;
+    }
+
+    @Override
+    public IssuedSession createSession(CreateSessionCommand command) {
+        String sessionToken = SessionTokens.generate();
+        String refreshToken = SessionTokens.generate();
+        LocalDateTime now = LocalDateTime.now();
+
+        UserSession session = sessionRepository.insert(new UserSession(
+            null,
+            command.userId(),
+            sessionEpochRegistry.currentEpoch(command.userId()),
+            SessionTokens.hash(sessionToken),
+            SessionTokens.hash(refreshToken),
+            command.deviceInfo(),
+            command.ipAddress(),
+            command.userAgent(),
+            true,
+            now,
+            now.plus(sessionLifetime),
+            now
+        ));
+        return new IssuedSession(session.id(), session.userId(), sessionToken, refreshToken, session.expiresAt());
+    }
+
+    @Override
+    public Optional<ValidatedSession> validateSession(String sessionToken) {
+        if (sessionToken == null || sessionToken.isEmpty()) {
+            return Optional.empty();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Optional<UserSession> session = sessionRepository.findActiveBySessionTokenHash(SessionTokens.hash(sessionToken))
+            .filter(s -> !s.isExpired(now))
+            .filter(s -> sessionEpochRegistry.isCurrent(s.userId(), s.sessionEpoch()));
+        session.ifPresent(s -> sessionAccessRecorder.record(s.id(), now));
+        return session.map(s -> new ValidatedSession(s.id(), s.userId(), s.expiresAt()));
+    }
+
+    @Override
+    public IssuedSession refreshSession(String refreshToken) {
+        if (refreshToken == null || refreshToken.isEmpty()) {
+            throw new IllegalArgumentException("Refresh token cannot be empty");
+        }
+        String refreshTokenHash = SessionTokens.hash(refreshToken);
+        UserSession session = sessionRepository.findActiveByRefreshTokenHash(refreshTokenHash)
+            .filter(s -> !s.isExpired(LocalDateTime.now()))
+            .filter(s -> sessionEpochRegistry.isCurrent(s.userId(), s.sessionEpoch()))
+            .orElseThrow(() -> new IllegalArgumentException("Invalid or expired refresh token"));
+
+        String newSessionToken = SessionTokens.generate();
+        String newRefreshToken = SessionTokens.generate();
+        UserSession rotated = sessionRepository.rotateTokens(
+                session.id(),
+                refreshTokenHash,
+                SessionTokens.hash(newSessionToken),
+                SessionTokens.hash(newRefreshToken),
+                LocalDateTime.now().plus(sessionLifetime))
+            .orElseThrow(() -> new IllegalArgumentException("Refresh token was already used"));
+        return new IssuedSession(rotated.id(), rotated.userId(), newSessionToken, newRefreshToken, rotated.expiresAt());
+    }
+
+    @Override
+    public void endAllSessions(Long userId) {
+        User user = userRepository.incrementSessionEpoch(userId)
+            .orElseThrow(() -> new UserNotFoundException("User not found with id: " + userId));
+        sessionEpochRegistry.advance(user.getId(), user.getSessionEpoch());
+        securityEventLog.record(SecurityEvent.of(user.getId(), SecurityEvent.EventType.LOGOUT_ALL, true, "All sessions ended"));
+    }
+
+    @Override
+    public void endSession(String sessionToken) {
+        if (sessionToken == null || sessionToken.isEmpty()) {
+            return;
+        }
+        sessionRepository.findActiveBySessionTokenHash(SessionTokens.hash(sessionToken))
+            .ifPresent(session -> {
+                sessionRepository.deactivate(session.id());
+                securityEventLog.record(new SecurityEvent(
+                    session.userId(),
+                    SecurityEvent.EventType.LOGOUT,
+                    "Session ended",
+                    null,
+                    null,
+                    String.valueOf(session.id()),
+                    true,
+                    null,
+                    LocalDateTime.now()
+                ));
+            });
+    }
+}
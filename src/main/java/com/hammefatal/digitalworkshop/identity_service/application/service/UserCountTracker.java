@@ -0,0 +1,133 @@
+package com.hammefatal.digitalworkshop.identity_service.application.service;
+
+import com.hammefatal.digitalworkshop.identity_service.application.port.in.GetUserUseCase;
+import com.hammefatal.digitalworkshop.identity_service.application.port.out.UserRepository;
+import com.hammefatal.digitalworkshop.identity_service.domain.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Keeps total and per-status user counts in memory so reads never scan {@code users}. Writes on this
+ * node adjust the counts as they happen; a periodic reconcile replaces them with database figures,
+ * which also absorbs changes made by other nodes and any drift from rolled-back writes.
+ */
+@Component
+public class UserCountTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(UserCountTracker.class);
+    private static final User.AccountStatus[] STATUSES = User.AccountStatus.values();
+
+    public enum Mode {
+        EXACT,
+        APPROXIMATE
+    }
+
+    private final UserRepository userRepository;
+    private final Mode mode;
+    private volatile State state;
+
+    public UserCountTracker(UserRepository userRepository,
+                            @Value("${identity.user-count.mode:EXACT}") Mode mode) {
+        this.userRepository = userRepository;
+        this.mode = mode;
+    }
+
+    public void onCreated(User.AccountStatus status) {
+        adjust(status, 1);
+    }
+
+    public void onStatusChanged(User.AccountStatus previous, User.AccountStatus current) {
+        if (previous != null && previous != current) {
+            adjust(previous, -1);
+            adjust(current, 1);
+        }
+    }
+
+    public void onDeleted(User.AccountStatus status) {
+        adjust(status, -1);
+    }
+
+    public GetUserUseCase.UserCounts snapshot() {
+        State current = state;
+        if (current == null) {
+            reconcile();
+            current = state;
+        }
+        Map<User.AccountStatus, Long> byStatus = new EnumMap<>(User.AccountStatus.class);
+        long total = 0;
+        for (User.AccountStatus status : STATUSES) {
+            long count = Math.max(0, current.base()[status.ordinal()] + current.deltas().get(status.ordinal()));
+            byStatus.put(status, count);
+            total += count;
+        }
+        return new GetUserUseCase.UserCounts(total, byStatus, current.approximate(), current.reconciledAt());
+    }
+
+    @Scheduled(fixedDelayString = "${identity.user-count.reconcile-interval:PT5M}")
+    public synchronized void reconcile() {
+        State previous = state;
+        if (previous != null) {
+            // Start a fresh delta set before querying, so writes during the query land on top of its result
+            state = new State(materialize(previous), new AtomicLongArray(STATUSES.length), previous.approximate(), previous.reconciledAt());
+        }
+        AtomicLongArray deltas = state != null ? state.deltas() : new AtomicLongArray(STATUSES.length);
+
+        Map<User.AccountStatus, Long> counts = Map.of();
+        boolean approximate = false;
+        if (mode == Mode.APPROXIMATE) {
+            counts = userRepository.estimateCountByAccountStatus();
+            approximate = !counts.isEmpty();
+        }
+        if (counts.isEmpty()) {
+            counts = userRepository.countByAccountStatus();
+        }
+
+        long[] base = new long[STATUSES.length];
+        counts.forEach((status, count) -> base[status.ordinal()] = count);
+        if (previous != null) {
+            long drift = sum(base) - sum(materialize(previous));
+            if (drift != 0) {
+                log.debug("User counts reconciled with a drift of {}", drift);
+            }
+        }
+        state = new State(base, deltas, approximate, LocalDateTime.now());
+    }
+
+    private void adjust(User.AccountStatus status, long delta) {
+        State current = state;
+        if (current != null && status != null) {
+            current.deltas().addAndGet(status.ordinal(), delta);
+        }
+    }
+
+    private static long[] materialize(State state) {
+        long[] counts = new long[STATUSES.length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = state.base()[i] + state.deltas().get(i);
+        }
+        return counts;
+    }
+
+    private static long sum(long[] counts) {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    private record State(
+        long[] base,
+        AtomicLongArray deltas,
+        boolean approximate,
+        LocalDateTime reconciledAt
+    ) {}
+}
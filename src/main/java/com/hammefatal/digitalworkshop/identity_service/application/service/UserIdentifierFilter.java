@@ -0,0 +1,111 @@
+package com.hammefatal.digitalworkshop.identity_service.application.service;
+
+import com.hammefatal.digitalworkshop.identity_service.application.port.out.UserRepository;
+import com.hammefatal.digitalworkshop.identity_service.domain.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * Probabilistic membership check over existing usernames and emails. A negative answer is definite;
+ * a positive answer must still be confirmed against the repository, and the unique constraints on
+ * {@code users} remain the final authority (other nodes' inserts are not seen here).
+ */
+@Component
+public class UserIdentifierFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(UserIdentifierFilter.class);
+    private static final int LOAD_BATCH_SIZE = 5_000;
+
+    private final UserRepository userRepository;
+    private final CountingBloomFilter usernames;
+    private final CountingBloomFilter emails;
+    private volatile boolean ready;
+
+    public UserIdentifierFilter(UserRepository userRepository,
+                                @Value("${identity.user-filter.expected-insertions:1000000}") long expectedInsertions,
+                                @Value("${identity.user-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.usernames = new CountingBloomFilter(expectedInsertions, falsePositiveRate);
+        this.emails = new CountingBloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInBackground() {
+        Thread.ofPlatform().name("user-identifier-filter-loader").daemon().start(this::load);
+    }
+
+    public boolean mightContainUsername(String username) {
+        return !ready || usernames.mightContain(username);
+    }
+
+    public boolean mightContainEmail(String email) {
+        return !ready || emails.mightContain(email);
+    }
+
+    public void add(User user) {
+        usernames.add(user.getUsername());
+        emails.add(user.getEmail());
+    }
+
+    /**
+     * Removes the user's keys once the surrounding transaction commits. A rolled-back delete leaves the
+     * keys in place, and removals are skipped until the initial load has finished: the loader may not have
+     * added the keys yet, and decrementing counters it never incremented would turn into false negatives.
+     * A skipped removal only leaves a false positive behind.
+     */
+    public void remove(User user) {
+        String username = user.getUsername();
+        String email = user.getEmail();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    removeKeys(username, email);
+                }
+            });
+        } else {
+            removeKeys(username, email);
+        }
+    }
+
+    private void removeKeys(String username, String email) {
+        if (ready) {
+            usernames.remove(username);
+            emails.remove(email);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    void load() {
+        long started = System.nanoTime();
+        long loaded = 0;
+        long afterId = 0L;
+        try {
+            List<UserRepository.UserKey> keys;
+            do {
+                keys = userRepository.findKeysAfter(afterId, LOAD_BATCH_SIZE);
+                for (UserRepository.UserKey key : keys) {
+                    usernames.add(key.username());
+                    emails.add(key.email());
+                    afterId = key.id();
+                }
+                loaded += keys.size();
+            } while (keys.size() == LOAD_BATCH_SIZE);
+            ready = true;
+            log.info("User identifier filter loaded {} users in {} ms", loaded, (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("User identifier filter failed to load; uniqueness checks will always hit the database", e);
+        }
+    }
+}
@@ -1,220 +1,493 @@
 package com.hammefatal.digitalworkshop.identity_service.application.service;
 
 import com.hammefatal.digitalworkshop.identity_service.application.port.in.*;
+import com.hammefatal.digitalworkshop.identity_service.application.port.out.DuplicateUserException;
+import com.hammefatal.digitalworkshop.identity_service.application.port.out.PasswordHasher;
+import com.hammefatal.digitalworkshop.identity_service.application.port.out.UserAuditRepository;
 import com.hammefatal.digitalworkshop.identity_service.application.port.out.UserRepository;
+import com.hammefatal.digitalworkshop.identity_service.domain.CursorPage;
+import com.hammefatal.digitalworkshop.identity_service.domain.SecurityEvent;
 import com.hammefatal.digitalworkshop.identity_service.domain.User;
+import com.hammefatal.digitalworkshop.identity_service.domain.UserAuditEntry;
+import com.hammefatal.digitalworkshop.identity_service.domain.UserProfile;
+import com.hammefatal.digitalworkshop.identity_service.domain.UserSummary;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
 
 @Service
 @Transactional
 public class UserService implements CreateUserUseCase, GetUserUseCase, UpdateUserUseCase, DeleteUserUseCase {
 
-    private final UserRepository userRepository;
+    private static final int BULK_BATCH_SIZE = 500;
+    private static final int EXPORT_FETCH_SIZE = 1000;
 
-    public UserService(UserRepository userRepository) {
+    private final UserRepository userRepository;
+    private final UserAuditRepository userAuditRepository;
+    private final UserIdentifierFilter userIdentifierFilter;
+    private final PasswordHasher passwordHasher;
+    private final LoginAttemptTracker loginAttemptTracker;
+    private final SessionEpochRegistry sessionEpochRegistry;
+    private final SecurityEventLog securityEventLog;
+    private final UserCountTracker userCountTracker;
+    private final TransactionTemplate transactionTemplate;
+
+    public UserService(UserRepository userRepository,
+                       UserAuditRepository userAuditRepository,
+                       UserIdentifierFilter userIdentifierFilter,
+                       PasswordHasher passwordHasher,
+                       LoginAttemptTracker loginAttemptTracker,
+                       SessionEpochRegistry sessionEpochRegistry,
+                       SecurityEventLog securityEventLog,
+                       UserCountTracker userCountTracker,
+                       PlatformTransactionManager transactionManager) {
         this.userRepository = userRepository;
+        this.userAuditRepository = userAuditRepository;
+        this.userIdentifierFilter = userIdentifierFilter;
+        this.passwordHasher = passwordHasher;
+        this.loginAttemptTracker = loginAttemptTracker;
+        this.sessionEpochRegistry = sessionEpochRegistry;
+        this.securityEventLog = securityEventLog;
+        this.userCountTracker = userCountTracker;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
+    // Not transactional: hashing must not hold a pooled connection, and the insert is atomic on its own
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public User createUser(CreateUserCommand command) {
-        if (userRepository.existsByUsername(command.username())) {
+        // The insert below is authoritative; names the filter cannot rule out are checked first
+        // so a likely duplicate is rejected before paying for the password hash
+        if (userIdentifierFilter.mightContainUsername(command.username())
+                && userRepository.existsByUsername(command.username())) {
             throw new IllegalArgumentException("Username already exists: " + command.username());
         }
         
-        if (userRepository.existsByEmail(command.email())) {
+        if (userIdentifierFilter.mightContainEmail(command.email())
+                && userRepository.existsByEmail(command.email())) {
             throw new IllegalArgumentException("Email already exists: " + command.email());
         }
 
-        User user = new User(
-            command.username(),
-            command.email(),
-            hashPassword(command.password()),
-            command.firstName(),
-            command.lastName()
-        );
-        
-        if (command.phoneNumber() != null && !command.phoneNumber().trim().isEmpty()) {
-            user.setPhoneNumber(command.phoneNumber());
+        User user = newUser(command, passwordHasher.hash(command.password()));
+
+        User savedUser;
+        try {
+            savedUser = userRepository.insert(user);
+        } catch (DuplicateUserException e) {
+            throw new IllegalArgumentException(duplicateMessage(e, command), e);
         }
+        userIdentifierFilter.add(savedUser);
+        userCountTracker.onCreated(savedUser.getAccountStatus());
+        return savedUser;
+    }
 
-        return userRepository.save(user);
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkCreateResult createUsers(List<CreateUserCommand> commands) {
+        if (commands.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("Bulk create is limited to " + MAX_BULK_SIZE + " users");
+        }
+
+        List<RowFailure> failures = new ArrayList<>();
+        Set<String> seenUsernames = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+        List<Integer> pending = new ArrayList<>(commands.size());
+        for (int i = 0; i < commands.size(); i++) {
+            CreateUserCommand command = commands.get(i);
+            if (seenUsernames.contains(command.username())) {
+                failures.add(new RowFailure(i, "Duplicate username in request: " + command.username()));
+            } else if (seenEmails.contains(command.email())) {
+                failures.add(new RowFailure(i, "Duplicate email in request: " + command.email()));
+            } else {
+                seenUsernames.add(command.username());
+                seenEmails.add(command.email());
+                pending.add(i);
+            }
+        }
+
+        int created = 0;
+        for (int from = 0; from < pending.size(); from += BULK_BATCH_SIZE) {
+            List<Integer> chunk = pending.subList(from, Math.min(from + BULK_BATCH_SIZE, pending.size()));
+            created += createChunk(commands, chunk, failures);
+        }
+
+        failures.sort(Comparator.comparingInt(RowFailure::index));
+        return new BulkCreateResult(commands.size(), created, failures);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Optional<User> getUserById(Long id) {
-        return userRepository.findById(id);
+    public Optional<UserProfile> getUserById(Long id) {
+        return userRepository.findById(id).map(UserProfile::from);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Optional<User> getUserByUsername(String username) {
-        return userRepository.findByUsername(username);
+    public Optional<UserProfile> getUserByUsername(String username) {
+        return userRepository.findByUsername(username).map(UserProfile::from);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Optional<User> getUserByEmail(String email) {
-        return userRepository.findByEmail(email);
+    public Optional<UserProfile> getUserByEmail(String email) {
+        return userRepository.findByEmail(email).map(UserProfile::from);
+    }
+
+    // A single autocommit read of one column, never the cache, so a 304 always reflects the current row
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<LocalDateTime> getUserVersion(Long id) {
+        return userRepository.findUpdatedAtById(id);
+    }
+
+    // Inserts and updates move the latest updated_at; deletes move the deletion counter. Both come from
+    // the store rather than this node's maintained counts, so writes made through other nodes are seen too
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CollectionVersion getCollectionVersion() {
+        UserRepository.VersionStamp stamp = userRepository.findVersionStamp();
+        return new CollectionVersion(stamp.lastUpdatedAt(), stamp.deletions());
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    public BatchLookupResult getUsers(BatchLookupQuery query) {
+        List<User> users = userRepository.findAllByKeys(query.ids(), query.usernames(), query.emails());
+        Map<Long, User> usersById = new HashMap<>();
+        Map<String, User> usersByUsername = new HashMap<>();
+        Map<String, User> usersByEmail = new HashMap<>();
+        for (User user : users) {
+            usersById.put(user.getId(), user);
+            usersByUsername.put(user.getUsername(), user);
+            usersByEmail.put(user.getEmail(), user);
+        }
+        Map<Long, UserProfile> byId = new LinkedHashMap<>();
+        Map<String, UserProfile> byUsername = new LinkedHashMap<>();
+        Map<String, UserProfile> byEmail = new LinkedHashMap<>();
+        List<Long> missingIds = new ArrayList<>();
+        List<String> missingUsernames = new ArrayList<>();
+        List<String> missingEmails = new ArrayList<>();
+        resolve(query.ids(), usersById, byId, missingIds);
+        resolve(query.usernames(), usersByUsername, byUsername, missingUsernames);
+        resolve(query.emails(), usersByEmail, byEmail, missingEmails);
+        return new BatchLookupResult(byId, byUsername, byEmail, missingIds, missingUsernames, missingEmails);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<User> getUsersByStatus(User.AccountStatus status) {
-        return userRepository.findByAccountStatus(status);
+    public CursorPage<UserSummary> getAllUsers(PageQuery query) {
+        return pageById(query, userRepository::findAllAfter);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<User> searchUsersByName(String searchTerm) {
-        List<User> byFirstName = userRepository.findByFirstNameContaining(searchTerm);
-        List<User> byLastName = userRepository.findByLastNameContaining(searchTerm);
-        
-        byFirstName.addAll(byLastName);
-        return byFirstName.stream().distinct().toList();
+    public CursorPage<UserSummary> getUsersByStatus(User.AccountStatus status, PageQuery query) {
+        return pageById(query, (afterId, limit) -> userRepository.findByAccountStatusAfter(status, afterId, limit));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<User> searchUsersByEmail(String searchTerm) {
-        return userRepository.findByEmailContaining(searchTerm);
+    public CursorPage<UserSummary> searchUsersByName(String searchTerm, PageQuery query) {
+        if (searchTerm == null || searchTerm.isBlank()) {
+            throw new IllegalArgumentException("Search term cannot be empty");
+        }
+        // Ranked by similarity, so the cursor is the last row's (score, id) rather than an id lower bound
+        String term = searchTerm.trim().replaceAll("\\s+", " ");
+        CursorCodec.ScoredPosition after = CursorCodec.decodeScored(query.cursor());
+        List<UserRepository.NameMatch> rows = userRepository.searchByName(term, after.score(), after.id(), query.size() + 1);
+        List<UserSummary> items = rows.stream().limit(query.size()).map(UserRepository.NameMatch::summary).toList();
+        if (rows.size() <= query.size()) {
+            return new CursorPage<>(items, null);
+        }
+        UserRepository.NameMatch last = rows.get(query.size() - 1);
+        return new CursorPage<>(items, CursorCodec.encodeScored(last.score(), last.summary().id()));
     }
 
     @Override
     @Transactional(readOnly = true)
+    public CursorPage<UserSummary> searchUsersByEmail(String searchTerm, PageQuery query) {
+        return pageById(query, (afterId, limit) -> userRepository.findByEmailContainingAfter(searchTerm, afterId, limit));
+    }
+
+    // Served from maintained counts, so it needs no transaction or connection
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public long getTotalUserCount() {
-        return userRepository.count();
+        return userCountTracker.snapshot().total();
     }
 
     @Override
-    public User updateUser(UpdateUserCommand command) {
-        User user = userRepository.findById(command.id())
-            .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + command.id()));
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UserCounts getUserCounts() {
+        return userCountTracker.snapshot();
+    }
 
-        if (command.firstName() != null) {
-            user.setFirstName(command.firstName());
-        }
-        if (command.lastName() != null) {
-            user.setLastName(command.lastName());
-        }
-        if (command.phoneNumber() != null) {
-            user.setPhoneNumber(command.phoneNumber());
-        }
-        if (command.dateOfBirth() != null) {
-            user.setDateOfBirth(command.dateOfBirth());
-        }
-        if (command.profileImageUrl() != null) {
-            user.setProfileImageUrl(command.profileImageUrl());
+    // One read-only transaction for the whole export keeps the server-side cursor open; rows reach the
+    // sink as they are fetched, so heap use does not grow with the table
+    @Override
+    @Transactional(readOnly = true)
+    public long exportUsers(LocalDateTime updatedSince, Consumer<UserProfile> sink) {
+        return userRepository.streamProfiles(updatedSince, EXPORT_FETCH_SIZE, sink);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<UserAuditEntry> getAuditHistory(Long userId, PageQuery query) {
+        // Newest first, so the cursor is an exclusive upper bound on the audit row id
+        long beforeId = query.cursor() != null ? CursorCodec.decodeId(query.cursor()) : Long.MAX_VALUE;
+        List<UserAuditEntry> rows = userAuditRepository.findByUserIdBefore(userId, beforeId, query.size() + 1);
+        if (rows.size() <= query.size()) {
+            return new CursorPage<>(rows, null);
         }
+        List<UserAuditEntry> items = rows.subList(0, query.size());
+        return new CursorPage<>(items, CursorCodec.encodeId(items.get(items.size() - 1).id()));
+    }
 
-        user.setUpdatedAt(LocalDateTime.now());
-        return userRepository.save(user);
+    // The profile UPDATE writes one audit row per changed field itself, so auditing costs no extra round trip
+    @Override
+    public User updateUser(UpdateUserCommand command) {
+        requireActor(command.changedBy());
+        UserRepository.ProfileUpdate update = new UserRepository.ProfileUpdate(
+            command.id(),
+            command.firstName(),
+            command.lastName(),
+            command.phoneNumber(),
+            command.dateOfBirth(),
+            command.profileImageUrl(),
+            command.changedBy(),
+            command.changeReason()
+        );
+        return userRepository.updateProfile(update)
+            .orElseThrow(() -> new UserNotFoundException("User not found with id: " + command.id()));
     }
 
     @Override
     public User updateUserProfile(UpdateUserProfileCommand command) {
-        User user = userRepository.findById(command.id())
-            .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + command.id()));
-
-        if (command.firstName() != null) {
-            user.setFirstName(command.firstName());
-        }
-        if (command.lastName() != null) {
-            user.setLastName(command.lastName());
-        }
-        if (command.phoneNumber() != null) {
-            user.setPhoneNumber(command.phoneNumber());
-        }
-        if (command.dateOfBirth() != null) {
-            user.setDateOfBirth(command.dateOfBirth());
-        }
-
-        user.setUpdatedAt(LocalDateTime.now());
-        return userRepository.save(user);
+        requireActor(command.changedBy());
+        UserRepository.ProfileUpdate update = new UserRepository.ProfileUpdate(
+            command.id(),
+            command.firstName(),
+            command.lastName(),
+            command.phoneNumber(),
+            command.dateOfBirth(),
+            null,
+            command.changedBy(),
+            command.changeReason()
+        );
+        return userRepository.updateProfile(update)
+            .orElseThrow(() -> new UserNotFoundException("User not found with id: " + command.id()));
     }
 
     @Override
     public User updateUserStatus(UpdateUserStatusCommand command) {
-        User user = userRepository.findById(command.id())
-            .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + command.id()));
-
-        user.setAccountStatus(command.accountStatus());
-        user.setUpdatedAt(LocalDateTime.now());
-        
-        if (command.accountStatus() == User.AccountStatus.ACTIVE) {
-            user.resetFailedLoginAttempts();
+        UserRepository.StatusChange change = userRepository.updateAccountStatus(command.id(), command.accountStatus())
+            .orElseThrow(() -> new UserNotFoundException("User not found with id: " + command.id()));
+        User user = change.user();
+        userCountTracker.onStatusChanged(change.previousStatus(), user.getAccountStatus());
+        if (user.getAccountStatus() == User.AccountStatus.ACTIVE) {
+            // Reactivation also cleared failed login attempts, so drop any pending in-memory counters too.
+            // Other transitions keep them, so failures already counted are still written and still lock
+            loginAttemptTracker.reset(user.getId());
         }
-
-        return userRepository.save(user);
+        sessionEpochRegistry.advance(user.getId(), user.getSessionEpoch());
+        recordStatusChange(user);
+        return user;
     }
 
+    // Not transactional: verify and hash run outside any transaction, then one guarded UPDATE applies the change
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public User updateUserPassword(UpdateUserPasswordCommand command) {
         User user = userRepository.findById(command.id())
-            .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + command.id()));
+            .orElseThrow(() -> new UserNotFoundException("User not found with id: " + command.id()));
 
-        if (!verifyPassword(command.currentPassword(), user.getPasswordHash())) {
+        if (!passwordHasher.matches(command.currentPassword(), user.getPasswordHash())) {
             throw new IllegalArgumentException("Current password is incorrect");
         }
 
-        user.setPasswordHash(hashPassword(command.newPassword()));
-        user.setPasswordChangedAt(LocalDateTime.now());
-        user.setUpdatedAt(LocalDateTime.now());
-        user.resetFailedLoginAttempts();
-
-        return userRepository.save(user);
+        String newPasswordHash = passwordHasher.hash(command.newPassword());
+        User updated = userRepository.updatePassword(command.id(), user.getPasswordHash(), newPasswordHash)
+            .orElseThrow(() -> new IllegalArgumentException("Password was changed concurrently for user id: " + command.id()));
+        loginAttemptTracker.reset(updated.getId());
+        // The UPDATE bumped the session epoch; apply it locally so other sessions fail validation at once
+        sessionEpochRegistry.advance(updated.getId(), updated.getSessionEpoch());
+        securityEventLog.record(SecurityEvent.of(updated.getId(), SecurityEvent.EventType.PASSWORD_CHANGED, true, "Password changed"));
+        return updated;
     }
 
     @Override
     public void deleteUser(Long id) {
-        if (!userRepository.findById(id).isPresent()) {
-            throw new IllegalArgumentException("User not found with id: " + id);
-        }
+        User user = userRepository.findById(id)
+            .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
         userRepository.deleteById(id);
+        userIdentifierFilter.remove(user);
+        userCountTracker.onDeleted(user.getAccountStatus());
+        sessionEpochRegistry.advance(user.getId(), SessionEpochRegistry.REVOKED);
     }
 
     @Override
     public void deleteUserByUsername(String username) {
         User user = userRepository.findByUsername(username)
-            .orElseThrow(() -> new IllegalArgumentException("User not found with username: " + username));
+            .orElseThrow(() -> new UserNotFoundException("User not found with username: " + username));
         userRepository.delete(user);
+        userIdentifierFilter.remove(user);
+        userCountTracker.onDeleted(user.getAccountStatus());
+        sessionEpochRegistry.advance(user.getId(), SessionEpochRegistry.REVOKED);
     }
 
     @Override
     public void deleteUserByEmail(String email) {
         User user = userRepository.findByEmail(email)
-            .orElseThrow(() -> new IllegalArgumentException("User not found with email: " + email));
+            .orElseThrow(() -> new UserNotFoundException("User not found with email: " + email));
         userRepository.delete(user);
+        userIdentifierFilter.remove(user);
+        userCountTracker.onDeleted(user.getAccountStatus());
+        sessionEpochRegistry.advance(user.getId(), SessionEpochRegistry.REVOKED);
     }
 
     @Override
     public void softDeleteUser(Long id) {
-        User user = userRepository.findById(id)
-            .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + id));
+        UserRepository.StatusChange change = userRepository.updateAccountStatus(id, User.AccountStatus.INACTIVE)
+            .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
+        User user = change.user();
+        userCountTracker.onStatusChanged(change.previousStatus(), user.getAccountStatus());
+        sessionEpochRegistry.advance(user.getId(), user.getSessionEpoch());
+        recordStatusChange(user);
+    }
+
+    // Read from the row, not the user cache, so an actor deleted on another node is refused. One deleted
+    // after this check is refused by the audit row's foreign key instead
+    private void requireActor(Long changedBy) {
+        if (changedBy != null && userRepository.findUpdatedAtById(changedBy).isEmpty()) {
+            throw new IllegalArgumentException("Unknown changedBy user id: " + changedBy);
+        }
+    }
+
+    private int createChunk(List<CreateUserCommand> commands, List<Integer> chunk, List<RowFailure> failures) {
+        Set<String> existingUsernames = userRepository.findExistingUsernames(
+            chunk.stream().map(i -> commands.get(i).username()).toList());
+        Set<String> existingEmails = userRepository.findExistingEmails(
+            chunk.stream().map(i -> commands.get(i).email()).toList());
+
+        List<Integer> accepted = new ArrayList<>(chunk.size());
+        for (int index : chunk) {
+            CreateUserCommand command = commands.get(index);
+            if (existingUsernames.contains(command.username())) {
+                failures.add(new RowFailure(index, "Username already exists: " + command.username()));
+            } else if (existingEmails.contains(command.email())) {
+                failures.add(new RowFailure(index, "Email already exists: " + command.email()));
+            } else {
+                accepted.add(index);
+            }
+        }
+
+        // Hashing dominates per-row cost, so it is spread across the hasher's workers before the batch is written
+        List<String> passwordHashes = passwordHasher.hashAll(
+            accepted.stream().map(index -> commands.get(index).password()).toList());
+        List<User> users = new ArrayList<>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            users.add(newUser(commands.get(accepted.get(i)), passwordHashes.get(i)));
+        }
+
+        try {
+            List<User> savedUsers = transactionTemplate.execute(status -> userRepository.insertAll(users));
+            savedUsers.forEach(savedUser -> {
+                userIdentifierFilter.add(savedUser);
+                userCountTracker.onCreated(savedUser.getAccountStatus());
+            });
+            return savedUsers.size();
+        } catch (DuplicateUserException | DataIntegrityViolationException e) {
+            // A concurrent signup claimed a name or a row broke a column constraint; isolate it row by row
+            int created = 0;
+            for (int i = 0; i < users.size(); i++) {
+                User user = users.get(i);
+                try {
+                    User savedUser = transactionTemplate.execute(status -> userRepository.insert(user));
+                    userIdentifierFilter.add(savedUser);
+                    userCountTracker.onCreated(savedUser.getAccountStatus());
+                    created++;
+                } catch (DuplicateUserException rowException) {
+                    CreateUserCommand command = commands.get(accepted.get(i));
+                    failures.add(new RowFailure(accepted.get(i), duplicateMessage(rowException, command)));
+                } catch (DataIntegrityViolationException rowException) {
+                    failures.add(new RowFailure(accepted.get(i), "Invalid user data: " + rowException.getMostSpecificCause().getMessage()));
+                }
+            }
+            return created;
+        }
+    }
+
+    private void recordStatusChange(User user) {
+        securityEventLog.record(new SecurityEvent(
+            user.getId(),
+            SecurityEvent.EventType.STATUS_CHANGED,
+            "Account status changed to " + user.getAccountStatus(),
+            null,
+            null,
+            null,
+            true,
+            Map.of("accountStatus", user.getAccountStatus().name()),
+            LocalDateTime.now()
+        ));
+    }
+
+    private User newUser(CreateUserCommand command, String passwordHash) {
+        User user = new User(
+            command.username(),
+            command.email(),
+            passwordHash,
+            command.firstName(),
+            command.lastName()
+        );
         
-        user.setAccountStatus(User.AccountStatus.INACTIVE);
-        user.setUpdatedAt(LocalDateTime.now());
-        userRepository.save(user);
+        if (command.phoneNumber() != null && !command.phoneNumber().trim().isEmpty()) {
+            user.setPhoneNumber(command.phoneNumber());
+        }
+        return user;
+    }
+
+    private String duplicateMessage(DuplicateUserException e, CreateUserCommand command) {
+        return switch (e.getField()) {
+            case USERNAME -> "Username already exists: " + command.username();
+            case EMAIL -> "Email already exists: " + command.email();
+        };
     }
 
-    private String hashPassword(String password) {
-        // TODO: Implement proper password hashing (BCrypt, Argon2, etc.)
-        return "hashed_" + password;
+    private static <K> void resolve(List<K> keys, Map<K, User> users, Map<K, UserProfile> found, List<K> missing) {
+        for (K key : keys) {
+            User user = users.get(key);
+            if (user != null) {
+                found.put(key, UserProfile.from(user));
+            } else {
+                missing.add(key);
+            }
+        }
     }
 
-    private boolean verifyPassword(String rawPassword, String hashedPassword) {
-        // TODO: Implement proper password verification
-        return hashedPassword.equals("hashed_" + rawPassword);
+    private CursorPage<UserSummary> pageById(PageQuery query, BiFunction<Long, Integer, List<UserSummary>> fetch) {
+        long afterId = CursorCodec.decodeId(query.cursor());
+        // Fetch one extra row to learn whether another page exists without a count query
+        List<UserSummary> rows = fetch.apply(afterId, query.size() + 1);
+        if (rows.size() <= query.size()) {
+            return new CursorPage<>(rows, null);
+        }
+        List<UserSummary> items = rows.subList(0, query.size());
+        return new CursorPage<>(items, CursorCodec.encodeId(items.get(items.size() - 1).id()));
     }
 }
\ No newline at end of file
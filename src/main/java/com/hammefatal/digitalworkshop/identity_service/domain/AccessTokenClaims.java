@@ -0,0 +1,15 @@
+package com.hammefatal.digitalworkshop.identity_service.domain;
+
+import java.time.Instant;
+
+/**
+ * Claims carried by a signed access token. The session epoch lets verifiers reject tokens issued
+ * before the user's sessions were revoked.
+ */
+public record AccessTokenClaims(
+    Long userId,
+    Long sessionId,
+    int sessionEpoch,
+    Instant issuedAt,
+    Instant expiresAt
+) {}
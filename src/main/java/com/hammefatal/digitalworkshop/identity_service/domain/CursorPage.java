@@ -0,0 +1,16 @@
+package com.hammefatal.digitalworkshop.identity_service.domain;
+
+import java.util.List;
+
+public record CursorPage<T>(
+    List<T> items,
+    String nextCursor
+) {
+    public CursorPage {
+        items = List.copyOf(items);
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,37 @@
+package com.hammefatal.digitalworkshop.identity_service.domain;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * A row for {@code security_logs}. {@code occurredAt} is taken when the event happens, not when the
+ * asynchronous writer gets to it.
+ */
+public record SecurityEvent(
+    Long userId,
+    EventType eventType,
+    String description,
+    String ipAddress,
+    String userAgent,
+    String sessionId,
+    boolean success,
+    Map<String, Object> additionalData,
+    LocalDateTime occurredAt
+) {
+    public enum EventType {
+        LOGIN_SUCCESS,
+        LOGIN_FAILURE,
+        ACCOUNT_LOCKED,
+        LOGOUT,
+        LOGOUT_ALL,
+        PASSWORD_CHANGED,
+        STATUS_CHANGED,
+        ROLE_GRANTED,
+        ROLE_REVOKED,
+        SIGNING_KEY_ROTATED
+    }
+
+    public static SecurityEvent of(Long userId, EventType eventType, boolean success, String description) {
+        return new SecurityEvent(userId, eventType, description, null, null, null, success, null, LocalDateTime.now());
+    }
+}
@@ -17,6 +17,7 @@ public class User {
     private boolean phoneVerified;
     private AccountStatus accountStatus;
     private int failedLoginAttempts;
+    private int sessionEpoch;
     private LocalDateTime lastLoginAt;
     private LocalDateTime passwordChangedAt;
     private LocalDateTime createdAt;
@@ -45,6 +46,31 @@ public class User {
         this.updatedAt = LocalDateTime.now();
     }
 
+    public User copy() {
+        User copy = new User();
+        copy.id = id;
+        copy.username = username;
+        copy.email = email;
+        copy.passwordHash = passwordHash;
+        copy.firstName = firstName;
+        copy.lastName = lastName;
+        copy.phoneNumber = phoneNumber;
+        copy.dateOfBirth = dateOfBirth;
+        copy.profileImageUrl = profileImageUrl;
+        copy.emailVerified = emailVerified;
+        copy.phoneVerified = phoneVerified;
+        copy.accountStatus = accountStatus;
+        copy.failedLoginAttempts = failedLoginAttempts;
+        copy.sessionEpoch = sessionEpoch;
+        copy.lastLoginAt = lastLoginAt;
+        copy.passwordChangedAt = passwordChangedAt;
+        copy.createdAt = createdAt;
+        copy.updatedAt = updatedAt;
+        copy.createdBy = createdBy;
+        copy.updatedBy = updatedBy;
+        return copy;
+    }
+
     public Long getId() {
         return id;
     }
@@ -149,6 +175,14 @@ public class User {
         this.failedLoginAttempts = failedLoginAttempts;
     }
 
+    public int getSessionEpoch() {
+        return sessionEpoch;
+    }
+
+    public void setSessionEpoch(int sessionEpoch) {
+        this.sessionEpoch = sessionEpoch;
+    }
+
     public LocalDateTime getLastLoginAt() {
         return lastLoginAt;
     }
@@ -0,0 +1,17 @@
+package com.hammefatal.digitalworkshop.identity_service.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * One changed field from {@code user_audit_logs}. Values are stored as text regardless of column type.
+ */
+public record UserAuditEntry(
+    Long id,
+    Long userId,
+    String fieldName,
+    String oldValue,
+    String newValue,
+    Long changedBy,
+    String changeReason,
+    LocalDateTime createdAt
+) {}
@@ -0,0 +1,33 @@
+package com.hammefatal.digitalworkshop.identity_service.domain;
+
+import java.time.LocalDateTime;
+
+public record UserProfile(
+    Long id,
+    String username,
+    String email,
+    String firstName,
+    String lastName,
+    String profileImageUrl,
+    boolean emailVerified,
+    boolean phoneVerified,
+    User.AccountStatus accountStatus,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt
+) {
+    public static UserProfile from(User user) {
+        return new UserProfile(
+            user.getId(),
+            user.getUsername(),
+            user.getEmail(),
+            user.getFirstName(),
+            user.getLastName(),
+            user.getProfileImageUrl(),
+            user.isEmailVerified(),
+            user.isPhoneVerified(),
+            user.getAccountStatus(),
+            user.getCreatedAt(),
+            user.getUpdatedAt()
+        );
+    }
+}
@@ -0,0 +1,25 @@
+package com.hammefatal.digitalworkshop.identity_service.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * A login session. Token fields hold SHA-256 hashes; the raw tokens are only ever seen by the client.
+ */
+public record UserSession(
+    Long id,
+    Long userId,
+    int sessionEpoch,
+    String sessionTokenHash,
+    String refreshTokenHash,
+    String deviceInfo,
+    String ipAddress,
+    String userAgent,
+    boolean active,
+    LocalDateTime createdAt,
+    LocalDateTime expiresAt,
+    LocalDateTime lastAccessedAt
+) {
+    public boolean isExpired(LocalDateTime now) {
+        return !expiresAt.isAfter(now);
+    }
+}
@@ -0,0 +1,12 @@
+package com.hammefatal.digitalworkshop.identity_service.domain;
+
+import java.time.LocalDateTime;
+
+public record UserSummary(
+    Long id,
+    String username,
+    String firstName,
+    String lastName,
+    User.AccountStatus accountStatus,
+    LocalDateTime createdAt
+) {}
@@ -0,0 +1,24 @@
+package com.hammefatal.digitalworkshop.identity_service;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+import org.testcontainers.utility.MountableFile;
+
+/**
+ * PostgreSQL initialized from db_init_scripts, in the same order the README applies them, so native
+ * queries run against the real schema, enum types and trigram indexes.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class TestcontainersConfiguration {
+
+	@Bean
+	@ServiceConnection
+	PostgreSQLContainer<?> postgresContainer() {
+		return new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"))
+				.withCopyFileToContainer(MountableFile.forHostPath("db_init_scripts"), "/docker-entrypoint-initdb.d/");
+	}
+
+}
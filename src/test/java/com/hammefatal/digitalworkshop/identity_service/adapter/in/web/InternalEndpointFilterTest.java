@@ -0,0 +1,91 @@
+package com.hammefatal.digitalworkshop.identity_service.adapter.in.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class InternalEndpointFilterTest {
+
+	private static final String[] ROTATE_FORMS = {
+			"/api/v1/internal/keys/rotate",
+			"/api/v1/internal;x=1/keys/rotate",
+			"/api/v1/%69nternal/keys/rotate",
+			"/api/v1//internal/keys/rotate",
+			"/api/v1/internal"
+	};
+
+	@Test
+	void rejectsEveryFormOfInternalPathWithoutToken() throws Exception {
+		InternalEndpointFilter filter = new InternalEndpointFilter("secret");
+		for (String uri : ROTATE_FORMS) {
+			MockFilterChain chain = new MockFilterChain();
+			MockHttpServletResponse response = run(filter, request(uri, "127.0.0.1"), chain);
+
+			assertEquals(401, response.getStatus(), uri);
+			assertNull(chain.getRequest(), uri);
+		}
+	}
+
+	@Test
+	void rejectsWrongToken() throws Exception {
+		InternalEndpointFilter filter = new InternalEndpointFilter("secret");
+		MockHttpServletRequest request = request("/api/v1/internal;x=1/keys/rotate", "127.0.0.1");
+		request.addHeader("Authorization", "Bearer secreT");
+
+		assertEquals(401, run(filter, request, new MockFilterChain()).getStatus());
+	}
+
+	@Test
+	void passesRequestWithToken() throws Exception {
+		InternalEndpointFilter filter = new InternalEndpointFilter("secret");
+		MockHttpServletRequest request = request("/api/v1/%69nternal/keys/rotate", "10.0.0.1");
+		request.addHeader("Authorization", "Bearer secret");
+		MockFilterChain chain = new MockFilterChain();
+
+		run(filter, request, chain);
+
+		assertNotNull(chain.getRequest());
+	}
+
+	@Test
+	void servesOnlyLoopbackWithoutConfiguredToken() throws Exception {
+		InternalEndpointFilter filter = new InternalEndpointFilter("");
+		for (String uri : ROTATE_FORMS) {
+			assertEquals(403, run(filter, request(uri, "10.0.0.1"), new MockFilterChain()).getStatus(), uri);
+
+			MockFilterChain chain = new MockFilterChain();
+			run(filter, request(uri, "127.0.0.1"), chain);
+			assertNotNull(chain.getRequest(), uri);
+		}
+	}
+
+	@Test
+	void ignoresOtherPaths() throws Exception {
+		InternalEndpointFilter filter = new InternalEndpointFilter("secret");
+		for (String uri : new String[] {"/api/v1/users/1", "/api/v1/internalx/stats", "/.well-known/jwks.json"}) {
+			MockFilterChain chain = new MockFilterChain();
+			run(filter, request(uri, "10.0.0.1"), chain);
+
+			assertNotNull(chain.getRequest(), uri);
+		}
+	}
+
+	private static MockHttpServletRequest request(String uri, String remoteAddr) {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+		request.setRemoteAddr(remoteAddr);
+		return request;
+	}
+
+	private static MockHttpServletResponse run(InternalEndpointFilter filter, MockHttpServletRequest request,
+			MockFilterChain chain) throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, chain);
+		return response;
+	}
+
+}
@@ -0,0 +1,50 @@
+package com.hammefatal.digitalworkshop.identity_service.adapter.in.web;
+
+import com.hammefatal.digitalworkshop.identity_service.adapter.out.crypto.RsaJwtCodec;
+import com.hammefatal.digitalworkshop.identity_service.adapter.out.memory.InMemoryUserRepository;
+import com.hammefatal.digitalworkshop.identity_service.application.service.AccessTokenService;
+import com.hammefatal.digitalworkshop.identity_service.application.service.SecurityEventLog;
+import com.hammefatal.digitalworkshop.identity_service.application.service.SessionEpochRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwksControllerTest {
+
+	private final RsaJwtCodec codec = new RsaJwtCodec("identity-service", "", false, 3, 1_000);
+	private final JwksController controller = new JwksController(new AccessTokenService(
+			codec,
+			new SessionEpochRegistry(new InMemoryUserRepository(), Duration.ofMinutes(1), 1_000),
+			new SecurityEventLog(events -> { }, 64, 16, Duration.ofSeconds(1), SecurityEventLog.OverflowPolicy.DROP, Duration.ZERO),
+			Duration.ofMinutes(15)));
+
+	@Test
+	void servesKeySetWithCacheHeaders() {
+		ResponseEntity<String> response = controller.getKeySet();
+
+		assertEquals(200, response.getStatusCode().value());
+		assertEquals(codec.publicKeySet(), response.getBody());
+		assertEquals("max-age=300, public", response.getHeaders().getCacheControl());
+		assertEquals("\"" + Integer.toHexString(codec.publicKeySet().hashCode()) + "\"", response.getHeaders().getETag());
+	}
+
+	@Test
+	void rotationChangesPublishedKeySetAndItsTag() {
+		ResponseEntity<String> before = controller.getKeySet();
+
+		ResponseEntity<Map<String, String>> rotated = controller.rotateSigningKey();
+		ResponseEntity<String> after = controller.getKeySet();
+
+		String kid = rotated.getBody().get("kid");
+		assertTrue(after.getBody().contains("\"kid\":\"" + kid + "\""), after.getBody());
+		assertTrue(after.getBody().contains(before.getBody().substring("{\"keys\":[".length(), before.getBody().length() - 2)));
+		assertNotEquals(before.getHeaders().getETag(), after.getHeaders().getETag());
+	}
+
+}
@@ -0,0 +1,286 @@
+package com.hammefatal.digitalworkshop.identity_service.adapter.in.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hammefatal.digitalworkshop.identity_service.adapter.out.memory.InMemoryUserRepository;
+import com.hammefatal.digitalworkshop.identity_service.application.port.in.GetUserUseCase;
+import com.hammefatal.digitalworkshop.identity_service.application.port.in.UpdateUserUseCase;
+import com.hammefatal.digitalworkshop.identity_service.application.port.out.UserRepository;
+import com.hammefatal.digitalworkshop.identity_service.application.service.LoginAttemptTracker;
+import com.hammefatal.digitalworkshop.identity_service.application.service.PlainPasswordHasher;
+import com.hammefatal.digitalworkshop.identity_service.application.service.SecurityEventLog;
+import com.hammefatal.digitalworkshop.identity_service.application.service.SessionEpochRegistry;
+import com.hammefatal.digitalworkshop.identity_service.application.service.UserCountTracker;
+import com.hammefatal.digitalworkshop.identity_service.application.service.UserIdentifierFilter;
+import com.hammefatal.digitalworkshop.identity_service.application.service.UserService;
+import com.hammefatal.digitalworkshop.identity_service.domain.User;
+import com.hammefatal.digitalworkshop.identity_service.domain.UserProfile;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserControllerTest {
+
+	private final StaleCacheRepository repository = new StaleCacheRepository();
+	private final UserController controller = controller(repository);
+
+	@Test
+	void usernameLookupDoesNotConfirmStaleCachedCopy() {
+		User alice = insert("alice");
+		repository.cacheOutdated(alice);
+		String cachedTag = controller.getUserByUsername("alice", null).getHeaders().getETag();
+
+		ResponseEntity<UserProfile> response = controller.getUserByUsername("alice", cachedTag);
+
+		assertEquals(200, response.getStatusCode().value());
+	}
+
+	@Test
+	void usernameAndEmailLookupsConfirmStoredVersion() {
+		User alice = insert("alice");
+		repository.cacheOutdated(alice);
+		String storedTag = controller.getUserById(alice.getId(), null).getHeaders().getETag();
+		assertNotEquals(storedTag, controller.getUserByUsername("alice", null).getHeaders().getETag());
+
+		ResponseEntity<UserProfile> byUsername = controller.getUserByUsername("alice", storedTag);
+		ResponseEntity<UserProfile> byEmail = controller.getUserByEmail("alice@example.com", storedTag);
+
+		assertEquals(304, byUsername.getStatusCode().value());
+		assertEquals(storedTag, byUsername.getHeaders().getETag());
+		assertEquals(304, byEmail.getStatusCode().value());
+	}
+
+	@Test
+	void revalidationOfDeletedUserIsNotFound() {
+		User alice = insert("alice");
+		repository.cacheOutdated(alice);
+		String cachedTag = controller.getUserByUsername("alice", null).getHeaders().getETag();
+		repository.deleteById(alice.getId());
+
+		assertEquals(404, controller.getUserByUsername("alice", cachedTag).getStatusCode().value());
+	}
+
+	@Test
+	void updateOfMissingUserIsNotFound() {
+		UserController.UpdateUserRequest update = new UserController.UpdateUserRequest(
+				"Alicia", null, null, null, null, null, null);
+
+		assertEquals(404, controller.updateUser(404L, update).getStatusCode().value());
+		assertEquals(404, controller.updateUserProfile(404L, new UserController.UpdateUserProfileRequest(
+				"Alicia", null, null, null, null, null)).getStatusCode().value());
+		assertEquals(404, controller.updateUserStatus(404L, new UserController.UpdateUserStatusRequest(
+				User.AccountStatus.SUSPENDED)).getStatusCode().value());
+		assertEquals(404, controller.updateUserPassword(404L, new UserController.UpdateUserPasswordRequest(
+				"password", "new-password")).getStatusCode().value());
+		assertEquals(404, controller.deleteUser(404L).getStatusCode().value());
+		assertEquals(404, controller.softDeleteUser(404L).getStatusCode().value());
+	}
+
+	@Test
+	void invalidUpdateIsBadRequest() {
+		User alice = insert("alice");
+		String tooLong = "x".repeat(UpdateUserUseCase.MAX_CHANGE_REASON_LENGTH + 1);
+
+		assertEquals(400, controller.updateUser(alice.getId(), new UserController.UpdateUserRequest(
+				"Alicia", null, null, null, null, null, tooLong)).getStatusCode().value());
+		assertEquals(400, controller.updateUserProfile(alice.getId(), new UserController.UpdateUserProfileRequest(
+				"Alicia", null, null, null, null, tooLong)).getStatusCode().value());
+		assertEquals(400, controller.updateUserStatus(alice.getId(), new UserController.UpdateUserStatusRequest(
+				null)).getStatusCode().value());
+		assertEquals(400, controller.updateUserPassword(alice.getId(), new UserController.UpdateUserPasswordRequest(
+				"wrong", "new-password")).getStatusCode().value());
+		assertEquals("Alice", repository.findById(alice.getId()).orElseThrow().getFirstName());
+	}
+
+	@Test
+	void updateByUnknownActorIsBadRequest() {
+		User alice = insert("alice");
+
+		assertEquals(400, controller.updateUser(alice.getId(), new UserController.UpdateUserRequest(
+				"Alicia", null, null, null, null, 404L, "rename")).getStatusCode().value());
+		assertEquals(400, controller.updateUserProfile(alice.getId(), new UserController.UpdateUserProfileRequest(
+				null, null, null, null, 404L, null)).getStatusCode().value());
+		assertEquals("Alice", repository.findById(alice.getId()).orElseThrow().getFirstName());
+
+		User admin = insert("admin");
+		assertEquals(200, controller.updateUser(alice.getId(), new UserController.UpdateUserRequest(
+				"Alicia", null, null, null, null, admin.getId(), "rename")).getStatusCode().value());
+	}
+
+	@Test
+	void exportWritesOneJsonLinePerUserInIdOrder() throws Exception {
+		insert("alice");
+		insert("bob");
+		insert("carol");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		controller.exportUsers(null, null, response);
+
+		assertEquals(200, response.getStatus());
+		assertTrue(response.getContentType().startsWith("application/x-ndjson"));
+		assertNotNull(response.getHeader(HttpHeaders.ETAG));
+		assertEquals(List.of("alice", "bob", "carol"), exportedUsernames(response));
+	}
+
+	@Test
+	void exportSinceSkipsOlderUsers() throws Exception {
+		User old = insert("old");
+		// Insert timestamps come from the clock, so wait for it to move past the first one
+		while (!LocalDateTime.now().isAfter(old.getUpdatedAt())) {
+			Thread.onSpinWait();
+		}
+		User bob = insert("bob");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		controller.exportUsers(bob.getUpdatedAt(), null, response);
+
+		assertEquals(List.of("bob"), exportedUsernames(response));
+	}
+
+	@Test
+	void exportWithMatchingETagWritesNothing() throws Exception {
+		insert("alice");
+		MockHttpServletResponse first = new MockHttpServletResponse();
+		controller.exportUsers(null, null, first);
+		MockHttpServletResponse second = new MockHttpServletResponse();
+
+		controller.exportUsers(null, first.getHeader(HttpHeaders.ETAG), second);
+
+		assertEquals(304, second.getStatus());
+		assertEquals("", second.getContentAsString());
+	}
+
+	@Test
+	void batchLookupKeysResultsAndMissesByInputInRequestOrder() {
+		User alice = insert("alice");
+		User bob = insert("bob");
+
+		GetUserUseCase.BatchLookupResult result = controller.getUsers(new UserController.BatchLookupRequest(
+				List.of(bob.getId(), 404L, alice.getId(), bob.getId(), 405L),
+				List.of("nobody", "alice"),
+				List.of("bob@example.com"))).getBody();
+
+		assertEquals(List.of(bob.getId(), alice.getId()), List.copyOf(result.byId().keySet()));
+		assertEquals("bob", result.byId().get(bob.getId()).username());
+		assertEquals(List.of(404L, 405L), result.missingIds());
+		assertEquals(List.of("alice"), List.copyOf(result.byUsername().keySet()));
+		assertEquals(List.of("nobody"), result.missingUsernames());
+		assertEquals(bob.getId(), result.byEmail().get("bob@example.com").id());
+		assertEquals(List.of(), result.missingEmails());
+	}
+
+	@Test
+	void batchLookupLimitCountsDistinctKeys() {
+		User alice = insert("alice");
+		List<Long> ids = new ArrayList<>();
+		for (long id = 1; id <= GetUserUseCase.MAX_BATCH_LOOKUP; id++) {
+			ids.add(id);
+		}
+		List<Long> repeated = new ArrayList<>(ids);
+		repeated.addAll(ids);
+
+		assertEquals(200, controller.getUsers(new UserController.BatchLookupRequest(repeated, null, null)).getStatusCode().value());
+		assertEquals(400, controller.getUsers(new UserController.BatchLookupRequest(ids, List.of("alice"), null)).getStatusCode().value());
+		assertEquals(400, controller.getUsers(new UserController.BatchLookupRequest(
+				Arrays.asList(alice.getId(), null), null, null)).getStatusCode().value());
+	}
+
+	private static List<String> exportedUsernames(MockHttpServletResponse response) throws Exception {
+		String body = response.getContentAsString();
+		assertTrue(body.endsWith("\n"));
+		ObjectMapper objectMapper = new ObjectMapper();
+		List<String> usernames = new ArrayList<>();
+		for (String line : body.split("\n")) {
+			usernames.add(objectMapper.readTree(line).get("username").asText());
+		}
+		return usernames;
+	}
+
+	private User insert(String username) {
+		User user = new User();
+		user.setUsername(username);
+		user.setEmail(username + "@example.com");
+		user.setPasswordHash("plain:password");
+		user.setFirstName("Alice");
+		user.setLastName("Smith");
+		return repository.insert(user);
+	}
+
+	private static UserController controller(UserRepository repository) {
+		SessionEpochRegistry sessionEpochRegistry = new SessionEpochRegistry(repository, Duration.ofMinutes(1), 1_000);
+		UserCountTracker userCountTracker = new UserCountTracker(repository, UserCountTracker.Mode.EXACT);
+		UserService userService = new UserService(
+				repository,
+				(userId, beforeId, limit) -> List.of(),
+				new UserIdentifierFilter(repository, 1_000, 0.01),
+				new PlainPasswordHasher(),
+				new LoginAttemptTracker(repository, sessionEpochRegistry, userCountTracker, 5, 100, Duration.ofMinutes(5)),
+				sessionEpochRegistry,
+				new SecurityEventLog(events -> { }, 64, 16, Duration.ofSeconds(1), SecurityEventLog.OverflowPolicy.DROP, Duration.ZERO),
+				userCountTracker,
+				new NoTransactionManager());
+		// Modules found on the classpath, as Spring Boot registers them, so LocalDateTime fields serialize
+		return new UserController(userService, userService, userService, userService, new ObjectMapper().findAndRegisterModules());
+	}
+
+	/**
+	 * Answers username and email lookups with copies taken by {@link #cacheOutdated(User)}, dated before
+	 * the stored row like a cached copy that another node's update has since replaced.
+	 */
+	private static final class StaleCacheRepository extends InMemoryUserRepository {
+
+		private final Map<String, User> cached = new ConcurrentHashMap<>();
+
+		void cacheOutdated(User user) {
+			User copy = user.copy();
+			copy.setUpdatedAt(user.getUpdatedAt().minusMinutes(1));
+			cached.put(copy.getUsername(), copy);
+			cached.put(copy.getEmail(), copy);
+		}
+
+		@Override
+		public Optional<User> findByUsername(String username) {
+			return Optional.ofNullable(cached.get(username)).map(User::copy).or(() -> super.findByUsername(username));
+		}
+
+		@Override
+		public Optional<User> findByEmail(String email) {
+			return Optional.ofNullable(cached.get(email)).map(User::copy).or(() -> super.findByEmail(email));
+		}
+	}
+
+	private static final class NoTransactionManager implements PlatformTransactionManager {
+
+		@Override
+		public TransactionStatus getTransaction(TransactionDefinition definition) {
+			return new SimpleTransactionStatus();
+		}
+
+		@Override
+		public void commit(TransactionStatus status) {
+		}
+
+		@Override
+		public void rollback(TransactionStatus status) {
+		}
+	}
+
+}
@@ -0,0 +1,127 @@
+package com.hammefatal.digitalworkshop.identity_service.adapter.out.cache;
+
+import com.hammefatal.digitalworkshop.identity_service.domain.UserSession;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SessionCacheTest {
+
+	private final SessionCache cache = new SessionCache(1_000, Duration.ofMinutes(1));
+
+	@Test
+	void findsCachedSessionByTokenHash() {
+		cache.put(session(1L, "token-1", true, Duration.ofHours(1)), cache.stamp());
+
+		assertEquals(1L, cache.get("token-1").orElseThrow().id());
+		assertTrue(cache.get("token-2").isEmpty());
+	}
+
+	@Test
+	void ignoresInactiveAndExpiredSessions() {
+		cache.put(session(1L, "inactive", false, Duration.ofHours(1)), cache.stamp());
+		cache.put(session(2L, "expired", true, Duration.ofSeconds(-1)), cache.stamp());
+
+		assertTrue(cache.get("inactive").isEmpty());
+		assertTrue(cache.get("expired").isEmpty());
+		assertEquals(0L, cache.stats().size());
+	}
+
+	@Test
+	void invalidateRemovesSessionById() {
+		cache.put(session(1L, "token-1", true, Duration.ofHours(1)), cache.stamp());
+
+		cache.invalidate(1L);
+
+		assertTrue(cache.get("token-1").isEmpty());
+	}
+
+	@Test
+	void rejectsLoadStartedBeforeInvalidation() {
+		long stamp = cache.stamp();
+		cache.invalidate(1L);
+
+		cache.put(session(1L, "token-1", true, Duration.ofHours(1)), stamp);
+
+		assertTrue(cache.get("token-1").isEmpty());
+	}
+
+	@Test
+	void clearRejectsEveryLoadInFlight() {
+		long stamp = cache.stamp();
+		cache.clear();
+
+		cache.put(session(1L, "token-1", true, Duration.ofHours(1)), stamp);
+
+		assertTrue(cache.get("token-1").isEmpty());
+	}
+
+	@Test
+	void entryNeverOutlivesItsSession() throws InterruptedException {
+		cache.put(session(1L, "token-1", true, Duration.ofMillis(50)), cache.stamp());
+
+		Thread.sleep(100);
+
+		assertTrue(cache.get("token-1").isEmpty());
+	}
+
+	@Test
+	void entryNeverOutlivesTheTtl() {
+		SessionCache expiring = new SessionCache(1_000, Duration.ZERO);
+		expiring.put(session(1L, "token-1", true, Duration.ofHours(1)), expiring.stamp());
+
+		assertTrue(expiring.get("token-1").isEmpty());
+	}
+
+	@Test
+	void sweepEvictsExpiredEntries() throws InterruptedException {
+		SessionCache expiring = new SessionCache(1_000, Duration.ofMillis(20));
+		expiring.put(session(1L, "token-1", true, Duration.ofHours(1)), expiring.stamp());
+		expiring.put(session(2L, "token-2", true, Duration.ofHours(1)), expiring.stamp());
+
+		Thread.sleep(50);
+		expiring.evictExpired();
+
+		SessionCache.Stats stats = expiring.stats();
+		assertEquals(0L, stats.size());
+		assertEquals(2L, stats.evictions());
+	}
+
+	@Test
+	void staysWithinMaxSize() {
+		SessionCache small = new SessionCache(64, Duration.ofMinutes(1));
+		for (long id = 1; id <= 1_000; id++) {
+			small.put(session(id, "token-" + id, true, Duration.ofHours(1)), small.stamp());
+		}
+
+		assertTrue(small.stats().size() <= 64, "size " + small.stats().size());
+	}
+
+	@Test
+	void countsHitsAndMisses() {
+		cache.put(session(1L, "token-1", true, Duration.ofHours(1)), cache.stamp());
+		cache.get("token-1");
+		cache.get("token-2");
+
+		SessionCache.Stats stats = cache.stats();
+		assertEquals(1L, stats.hits());
+		assertEquals(1L, stats.misses());
+	}
+
+	@Test
+	void rejectsMaxSizeBelowShardCount() {
+		assertThrows(IllegalArgumentException.class, () -> new SessionCache(63, Duration.ofMinutes(1)));
+	}
+
+	private static UserSession session(Long id, String tokenHash, boolean active, Duration lifetime) {
+		LocalDateTime now = LocalDateTime.now();
+		return new UserSession(id, 100L + id, 0, tokenHash, "refresh-" + tokenHash, "device", "127.0.0.1",
+				"agent", active, now, now.plus(lifetime), now);
+	}
+
+}
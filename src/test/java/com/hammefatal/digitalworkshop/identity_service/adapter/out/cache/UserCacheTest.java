@@ -0,0 +1,146 @@
+package com.hammefatal.digitalworkshop.identity_service.adapter.out.cache;
+
+import com.hammefatal.digitalworkshop.identity_service.domain.User;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserCacheTest {
+
+	private final UserCache cache = new UserCache(1_000, Duration.ofMinutes(5));
+
+	@Test
+	void findsCachedUserByIdUsernameAndEmail() {
+		cache.put(user(1L, "alice"), cache.stamp());
+
+		assertEquals("alice", cache.getById(1L).orElseThrow().getUsername());
+		assertEquals(1L, cache.getByUsername("alice").orElseThrow().getId());
+		assertEquals(1L, cache.getByEmail("alice@example.com").orElseThrow().getId());
+	}
+
+	@Test
+	void returnsCopiesSoCallersCannotMutateEntries() {
+		cache.put(user(1L, "alice"), cache.stamp());
+
+		cache.getById(1L).orElseThrow().setFirstName("Mallory");
+
+		assertEquals("Alice", cache.getById(1L).orElseThrow().getFirstName());
+	}
+
+	@Test
+	void invalidateRemovesEntryAndItsKeys() {
+		User alice = user(1L, "alice");
+		cache.put(alice, cache.stamp());
+
+		cache.invalidate(alice);
+
+		assertTrue(cache.getById(1L).isEmpty());
+		assertTrue(cache.getByUsername("alice").isEmpty());
+		assertTrue(cache.getByEmail("alice@example.com").isEmpty());
+	}
+
+	@Test
+	void rejectsLoadStartedBeforeInvalidationOfSameId() {
+		long stamp = cache.stamp();
+		cache.invalidate(1L);
+
+		cache.put(user(1L, "alice"), stamp);
+
+		assertTrue(cache.getById(1L).isEmpty());
+	}
+
+	@Test
+	void keepsLoadOfIdInAnotherStripe() {
+		long stamp = cache.stamp();
+		cache.invalidate(2L);
+
+		cache.put(user(1L, "alice"), stamp);
+
+		assertTrue(cache.getById(1L).isPresent());
+	}
+
+	@Test
+	void acceptsLoadStartedAfterInvalidation() {
+		cache.invalidate(1L);
+
+		cache.put(user(1L, "alice"), cache.stamp());
+
+		assertTrue(cache.getById(1L).isPresent());
+	}
+
+	@Test
+	void clearRejectsEveryLoadInFlight() {
+		long stamp = cache.stamp();
+		cache.clear();
+
+		cache.put(user(1L, "alice"), stamp);
+		cache.put(user(2L, "bob"), stamp);
+
+		assertTrue(cache.getById(1L).isEmpty());
+		assertTrue(cache.getById(2L).isEmpty());
+	}
+
+	@Test
+	void renamedUserIsNotFoundByOldUsername() {
+		cache.put(user(1L, "alice"), cache.stamp());
+		cache.put(user(1L, "alicia"), cache.stamp());
+
+		assertTrue(cache.getByUsername("alice").isEmpty());
+		assertEquals(1L, cache.getByUsername("alicia").orElseThrow().getId());
+	}
+
+	@Test
+	void expiredEntriesAreMisses() {
+		UserCache expiring = new UserCache(1_000, Duration.ZERO);
+		expiring.put(user(1L, "alice"), expiring.stamp());
+
+		assertTrue(expiring.getById(1L).isEmpty());
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedEntryOfFullSegment() {
+		// Sixteen segments of one entry each; ids 1 and 17 share a segment
+		UserCache small = new UserCache(16, Duration.ofMinutes(5));
+		small.put(user(1L, "alice"), small.stamp());
+		small.put(user(17L, "bob"), small.stamp());
+
+		assertTrue(small.getById(1L).isEmpty());
+		assertTrue(small.getByUsername("alice").isEmpty());
+		assertTrue(small.getById(17L).isPresent());
+		assertEquals(1L, small.stats().evictions());
+	}
+
+	@Test
+	void countsHitsAndMisses() {
+		cache.put(user(1L, "alice"), cache.stamp());
+		cache.getById(1L);
+		cache.getById(2L);
+
+		UserCache.Stats stats = cache.stats();
+		assertEquals(1L, stats.hits());
+		assertEquals(1L, stats.misses());
+		assertEquals(0.5, stats.hitRate());
+		assertEquals(1L, stats.size());
+	}
+
+	@Test
+	void rejectsMaxSizeBelowSegmentCount() {
+		assertThrows(IllegalArgumentException.class, () -> new UserCache(15, Duration.ofMinutes(5)));
+	}
+
+	private static User user(Long id, String username) {
+		User user = new User();
+		user.setId(id);
+		user.setUsername(username);
+		user.setEmail(username + "@example.com");
+		user.setFirstName("Alice");
+		user.setLastName("Smith");
+		user.setAccountStatus(User.AccountStatus.ACTIVE);
+		return user;
+	}
+
+}
@@ -0,0 +1,154 @@
+package com.hammefatal.digitalworkshop.identity_service.adapter.out.crypto;
+
+import com.hammefatal.digitalworkshop.identity_service.application.port.out.HashingCapacityExceededException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Pbkdf2PasswordHasherTest {
+
+	private final List<Pbkdf2PasswordHasher> hashers = new ArrayList<>();
+
+	@AfterEach
+	void shutdown() {
+		hashers.forEach(Pbkdf2PasswordHasher::shutdown);
+	}
+
+	@Test
+	void matchesNewHashes() {
+		Pbkdf2PasswordHasher hasher = hasher(2, 16);
+		String hash = hasher.hash("correct horse");
+
+		assertTrue(hash.startsWith("pbkdf2-sha256$1000$"), hash);
+		assertTrue(hasher.matches("correct horse", hash));
+		assertFalse(hasher.matches("correct horse ", hash));
+		assertNotEquals(hash, hasher.hash("correct horse"));
+	}
+
+	@Test
+	void matchesLegacyHashes() {
+		Pbkdf2PasswordHasher hasher = hasher(2, 16);
+
+		assertTrue(hasher.matches("secret", "hashed_secret"));
+		assertFalse(hasher.matches("other", "hashed_secret"));
+		assertTrue(hasher.needsRehash("hashed_secret"));
+	}
+
+	@Test
+	void rejectsMalformedHashes() {
+		Pbkdf2PasswordHasher hasher = hasher(2, 16);
+
+		assertFalse(hasher.matches("secret", null));
+		assertFalse(hasher.matches("secret", "secret"));
+		assertFalse(hasher.matches("secret", "pbkdf2-sha256$many$AAAA$AAAA"));
+		assertFalse(hasher.matches("secret", "pbkdf2-sha256$1000$!!$AAAA"));
+		assertFalse(hasher.matches("secret", "pbkdf2-sha512$1000$AAAA$AAAA"));
+	}
+
+	@Test
+	void needsRehashBelowCurrentIterations() {
+		Pbkdf2PasswordHasher hasher = hasher(2, 16);
+		Pbkdf2PasswordHasher stronger = new Pbkdf2PasswordHasher(Duration.ZERO, 2_000, 2, 16, Duration.ofSeconds(30));
+		hashers.add(stronger);
+		String hash = hasher.hash("secret");
+
+		assertFalse(hasher.needsRehash(hash));
+		assertTrue(stronger.needsRehash(hash));
+		assertTrue(stronger.matches("secret", hash));
+		assertTrue(hasher.needsRehash(null));
+	}
+
+	@Test
+	void calibrationKeepsConfiguredFloor() {
+		assertEquals(1_000, hasher(1, 1).getIterations());
+		Pbkdf2PasswordHasher odd = new Pbkdf2PasswordHasher(Duration.ZERO, 1_234, 1, 1, Duration.ofSeconds(30));
+		hashers.add(odd);
+		assertEquals(1_234, odd.getIterations());
+	}
+
+	@Test
+	void calibrationScalesToTargetInWholeThousands() {
+		Pbkdf2PasswordHasher calibrated = new Pbkdf2PasswordHasher(Duration.ofMillis(20), 1_000, 1, 1, Duration.ofSeconds(30));
+		hashers.add(calibrated);
+
+		assertTrue(calibrated.getIterations() >= 1_000);
+		assertEquals(0, calibrated.getIterations() % 1_000);
+	}
+
+	@Test
+	void calibrationIsCappedForLongTargets() {
+		Pbkdf2PasswordHasher capped = new Pbkdf2PasswordHasher(Duration.ofDays(30), 1_000, 1, 1, Duration.ofSeconds(30));
+		hashers.add(capped);
+
+		assertEquals(Integer.MAX_VALUE, capped.getIterations());
+	}
+
+	@Test
+	void rejectsWorkWhenQueueIsFull() throws Exception {
+		Pbkdf2PasswordHasher hasher = hasher(1, 1);
+		// Stored with far more iterations than the hasher uses, so verifying it keeps the worker busy
+		String slowHash = "pbkdf2-sha256$2000000$" + Base64.getEncoder().encodeToString(new byte[16])
+				+ "$" + Base64.getEncoder().encodeToString(new byte[32]);
+		Thread running = start(() -> hasher.matches("secret", slowHash));
+		awaitTrue(() -> hasher.getActiveCount() == 1);
+		Thread queued = start(() -> hasher.matches("secret", slowHash));
+		awaitTrue(() -> hasher.getQueueDepth() == 1);
+
+		HashingCapacityExceededException rejected = assertThrows(HashingCapacityExceededException.class, () -> hasher.hash("secret"));
+		assertInstanceOf(RejectedExecutionException.class, rejected.getCause());
+
+		running.join();
+		queued.join();
+	}
+
+	@Test
+	void hashAllNeverQueuesMoreThanOneTaskPerWorker() {
+		// Submitted all at once, sixteen tasks would overflow a queue of two behind two workers
+		Pbkdf2PasswordHasher hasher = hasher(2, 2);
+		List<String> passwords = new ArrayList<>();
+		for (int i = 0; i < 16; i++) {
+			passwords.add("password-" + i);
+		}
+
+		List<String> hashes = hasher.hashAll(passwords);
+
+		assertEquals(passwords.size(), hashes.size());
+		for (int i = 0; i < passwords.size(); i++) {
+			assertTrue(hasher.matches(passwords.get(i), hashes.get(i)), passwords.get(i));
+		}
+	}
+
+	private Pbkdf2PasswordHasher hasher(int threads, int queueCapacity) {
+		Pbkdf2PasswordHasher hasher = new Pbkdf2PasswordHasher(Duration.ZERO, 1_000, threads, queueCapacity, Duration.ofSeconds(30));
+		hashers.add(hasher);
+		return hasher;
+	}
+
+	private static Thread start(Runnable task) {
+		Thread thread = new Thread(task);
+		thread.start();
+		return thread;
+	}
+
+	private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.nanoTime() < deadline, "condition not reached");
+			Thread.sleep(1);
+		}
+	}
+
+}
@@ -0,0 +1,169 @@
+package com.hammefatal.digitalworkshop.identity_service.adapter.out.memory;
+
+import com.hammefatal.digitalworkshop.identity_service.application.port.out.DuplicateUserException;
+import com.hammefatal.digitalworkshop.identity_service.application.port.out.UserRepository;
+import com.hammefatal.digitalworkshop.identity_service.domain.User;
+import com.hammefatal.digitalworkshop.identity_service.domain.UserSummary;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryUserRepositoryTest {
+
+	private final InMemoryUserRepository repository = new InMemoryUserRepository();
+
+	@Test
+	void findsInsertedUserByUsernameAndEmail() {
+		User alice = repository.insert(user("alice", "Alice", "Smith"));
+
+		assertEquals(alice.getId(), repository.findByUsername("alice").orElseThrow().getId());
+		assertEquals(alice.getId(), repository.findByEmail("alice@example.com").orElseThrow().getId());
+		assertTrue(repository.existsByUsername("alice"));
+		assertEquals(User.AccountStatus.ACTIVE, alice.getAccountStatus());
+	}
+
+	@Test
+	void rejectsDuplicateUsernameAndEmail() {
+		repository.insert(user("alice", "Alice", "Smith"));
+
+		User sameUsername = user("alice", "Other", "User");
+		sameUsername.setEmail("other@example.com");
+		assertThrows(DuplicateUserException.class, () -> repository.insert(sameUsername));
+
+		User sameEmail = user("other", "Other", "User");
+		sameEmail.setEmail("alice@example.com");
+		assertThrows(DuplicateUserException.class, () -> repository.insert(sameEmail));
+	}
+
+	@Test
+	void insertAllIsAllOrNothing() {
+		List<User> batch = List.of(user("alice", "Alice", "Smith"), user("alice", "Alice", "Jones"));
+
+		assertThrows(DuplicateUserException.class, () -> repository.insertAll(batch));
+
+		assertEquals(0L, repository.count());
+	}
+
+	@Test
+	void renamedUserIsFoundByNewNameOnly() {
+		User alice = repository.insert(user("alice", "Alice", "Smith"));
+
+		repository.updateProfile(new UserRepository.ProfileUpdate(alice.getId(), null, "Smyth", null, null, null, null, null));
+
+		assertEquals(1, repository.searchByName("alice", 0f, 0L, 10).size());
+		assertEquals(1, repository.searchByName("smyth", 0f, 0L, 10).size());
+		assertTrue(repository.searchByName("smith", 0f, 0L, 10).isEmpty());
+	}
+
+	@Test
+	void renamedUserIsNotFoundByOldUsernameOrEmail() {
+		User alice = repository.insert(user("alice", "Alice", "Smith"));
+		alice.setUsername("alicia");
+		alice.setEmail("alicia@example.com");
+
+		repository.save(alice);
+
+		assertTrue(repository.findByUsername("alice").isEmpty());
+		assertTrue(repository.findByEmail("alice@example.com").isEmpty());
+		assertFalse(repository.existsByUsername("alice"));
+		assertTrue(repository.findByEmailContainingAfter("alice@", 0L, 10).isEmpty());
+		assertEquals(1, repository.findByEmailContainingAfter("alicia@", 0L, 10).size());
+	}
+
+	@Test
+	void searchPagesByIdAfterCursor() {
+		User first = repository.insert(user("alice", "Alice", "Smith"));
+		User second = repository.insert(user("alicia", "Alicia", "Smith"));
+		repository.insert(user("bob", "Bob", "Jones"));
+
+		List<UserRepository.NameMatch> page = repository.searchByName("smith", 0f, 0L, 1);
+		assertEquals(1, page.size());
+		assertEquals(first.getId(), page.get(0).summary().id());
+
+		List<UserRepository.NameMatch> next = repository.searchByName("smith", 1.0f, first.getId(), 10);
+		assertEquals(1, next.size());
+		assertEquals(second.getId(), next.get(0).summary().id());
+	}
+
+	@Test
+	void statusIndexFollowsStatusChanges() {
+		User alice = repository.insert(user("alice", "Alice", "Smith"));
+
+		UserRepository.StatusChange change = repository.updateAccountStatus(alice.getId(), User.AccountStatus.SUSPENDED).orElseThrow();
+
+		assertEquals(User.AccountStatus.ACTIVE, change.previousStatus());
+		assertEquals(User.AccountStatus.SUSPENDED, change.user().getAccountStatus());
+		assertEquals(1, change.user().getSessionEpoch());
+		List<UserSummary> suspended = repository.findByAccountStatusAfter(User.AccountStatus.SUSPENDED, 0L, 10);
+		assertEquals(1, suspended.size());
+		assertTrue(repository.findByAccountStatusAfter(User.AccountStatus.ACTIVE, 0L, 10).isEmpty());
+		assertEquals(1L, repository.countByAccountStatus().get(User.AccountStatus.SUSPENDED));
+	}
+
+	@Test
+	void statusChangeOfMissingUserIsEmpty() {
+		assertTrue(repository.updateAccountStatus(42L, User.AccountStatus.LOCKED).isEmpty());
+	}
+
+	@Test
+	void deleteRemovesUserFromEveryIndex() {
+		User alice = repository.insert(user("alice", "Alice", "Smith"));
+
+		repository.deleteById(alice.getId());
+
+		assertTrue(repository.findById(alice.getId()).isEmpty());
+		assertTrue(repository.findByUsername("alice").isEmpty());
+		assertTrue(repository.searchByName("smith", 0f, 0L, 10).isEmpty());
+		assertTrue(repository.findAllAfter(0L, 10).isEmpty());
+		assertEquals(0L, repository.countByAccountStatus().get(User.AccountStatus.ACTIVE));
+	}
+
+	@Test
+	void versionStampTracksLatestUpdateAndDeletions() {
+		assertNull(repository.findVersionStamp().lastUpdatedAt());
+
+		User alice = repository.insert(user("alice", "Alice", "Smith"));
+		User bob = repository.insert(user("bob", "Bob", "Jones"));
+		User updated = repository.updateProfile(
+				new UserRepository.ProfileUpdate(bob.getId(), "Robert", null, null, null, null, null, null)).orElseThrow();
+
+		UserRepository.VersionStamp stamp = repository.findVersionStamp();
+		assertEquals(0L, stamp.deletions());
+		assertEquals(updated.getUpdatedAt(), stamp.lastUpdatedAt());
+
+		repository.deleteById(bob.getId());
+		repository.deleteById(bob.getId());
+		repository.deleteById(alice.getId());
+
+		assertEquals(new UserRepository.VersionStamp(updated.getUpdatedAt(), 2), repository.findVersionStamp());
+	}
+
+	@Test
+	void findAllByKeysReturnsEachMatchedUserOnce() {
+		User alice = repository.insert(user("alice", "Alice", "Smith"));
+		User bob = repository.insert(user("bob", "Bob", "Jones"));
+
+		List<User> found = repository.findAllByKeys(List.of(alice.getId(), 404L, alice.getId()),
+				List.of("alice", "bob", "nobody"), List.of("bob@example.com"));
+
+		assertEquals(List.of(alice.getId(), bob.getId()), found.stream().map(User::getId).toList());
+		assertTrue(repository.findAllByKeys(List.of(404L), List.of(), List.of("nobody@example.com")).isEmpty());
+	}
+
+	private static User user(String username, String firstName, String lastName) {
+		User user = new User();
+		user.setUsername(username);
+		user.setEmail(username + "@example.com");
+		user.setPasswordHash("hash");
+		user.setFirstName(firstName);
+		user.setLastName(lastName);
+		return user;
+	}
+
+}
@@ -0,0 +1,206 @@
+package com.hammefatal.digitalworkshop.identity_service.adapter.out.persistence;
+
+import com.hammefatal.digitalworkshop.identity_service.TestcontainersConfiguration;
+import com.hammefatal.digitalworkshop.identity_service.application.port.out.ExpiredDataRepository;
+import com.hammefatal.digitalworkshop.identity_service.application.service.ExpiredDataPurger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the purge against PostgreSQL initialized from db_init_scripts. Each test rolls back; the purge
+ * statements join the test transaction because they run on the same bound connection.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestcontainersConfiguration.class, ExpiredDataRepositoryImpl.class})
+@Testcontainers(disabledWithoutDocker = true)
+class ExpiredDataRepositoryImplTest {
+
+	private static final int CHUNK_SIZE = 2;
+
+	@Autowired
+	private ExpiredDataRepositoryImpl repository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private DataSource dataSource;
+
+	private final LocalDateTime now = LocalDateTime.now();
+	private Long userId;
+
+	@BeforeEach
+	void insertUser() {
+		userId = jdbcTemplate.queryForObject("""
+				INSERT INTO users (username, email, password_hash, first_name, last_name)
+				VALUES ('zpurge', 'zpurge@test.example.com', 'hash', 'Purge', 'Test')
+				RETURNING id
+				""", Long.class);
+	}
+
+	@Test
+	void purgeDeletesOnlyExpiredRowsAcrossSeveralChunks() {
+		List<Long> expiredSessions = List.of(
+				session(true, now.minusHours(3), now.minusHours(3)),
+				session(true, now.minusHours(2), now.minusHours(2)),
+				session(true, now.minusHours(2), now.minusHours(2)),
+				session(true, now.minusDays(1), now.minusDays(1)),
+				// Ended long ago but not yet past its expiry
+				session(false, now.plusHours(5), now.minusHours(2)));
+		List<Long> liveSessions = List.of(
+				session(true, now.plusHours(1), now),
+				// Expired or ended within the grace period
+				session(true, now.minusMinutes(10), now.minusMinutes(10)),
+				session(false, now.plusHours(5), now.minusMinutes(10)));
+		List<Long> expiredResets = List.of(
+				resetToken(now.minusHours(2), null),
+				resetToken(now.minusHours(3), null),
+				resetToken(now.plusHours(1), now.minusHours(2)));
+		List<Long> liveResets = List.of(
+				resetToken(now.plusHours(1), null),
+				resetToken(now.plusHours(1), now.minusMinutes(10)));
+		List<Long> expiredVerifications = List.of(
+				verificationToken(now.minusHours(2), null),
+				verificationToken(now.plusDays(1), now.minusHours(2)));
+		List<Long> liveVerifications = List.of(
+				verificationToken(now.plusDays(1), null),
+				verificationToken(now.minusMinutes(10), null));
+		CountingRepository counting = new CountingRepository(repository);
+		ExpiredDataPurger purger = new ExpiredDataPurger(counting, CHUNK_SIZE, Duration.ZERO, Duration.ofHours(1),
+				Duration.ofMinutes(1), Duration.ofMinutes(10), Duration.ofMinutes(1));
+
+		purger.purge();
+
+		assertEquals(liveSessions, ids("user_sessions"));
+		assertEquals(liveResets, ids("password_reset_tokens"));
+		assertEquals(liveVerifications, ids("email_verification_tokens"));
+		assertEquals(Map.of(
+				ExpiredDataRepository.Target.USER_SESSIONS, expiredSessions.size(),
+				ExpiredDataRepository.Target.PASSWORD_RESET_TOKENS, expiredResets.size(),
+				ExpiredDataRepository.Target.EMAIL_VERIFICATION_TOKENS, expiredVerifications.size()),
+				purger.getStats().lastCycle().removedByTarget());
+		// Chunks of 2: 5 rows take 2+2+1, 3 rows take 2+1, and 2 rows take a full chunk then an empty one
+		assertEquals(Map.of(
+				ExpiredDataRepository.Target.USER_SESSIONS, 3,
+				ExpiredDataRepository.Target.PASSWORD_RESET_TOKENS, 2,
+				ExpiredDataRepository.Target.EMAIL_VERIFICATION_TOKENS, 2), counting.chunks);
+	}
+
+	@Test
+	void chunkDeletesAtMostLimitRows() {
+		for (int i = 0; i < 5; i++) {
+			session(true, now.minusHours(2), now.minusHours(2));
+		}
+		Long live = session(true, now.plusHours(1), now);
+
+		int first = repository.deleteChunk(ExpiredDataRepository.Target.USER_SESSIONS, now, CHUNK_SIZE);
+
+		assertEquals(CHUNK_SIZE, first);
+		assertEquals(4, ids("user_sessions").size());
+		assertEquals(3, repository.deleteChunk(ExpiredDataRepository.Target.USER_SESSIONS, now, 10));
+		assertEquals(List.of(live), ids("user_sessions"));
+	}
+
+	@Test
+	void purgeIsSkippedWhileAnotherNodeHoldsTheLock() throws Exception {
+		AtomicBoolean ran = new AtomicBoolean();
+		try (Connection other = dataSource.getConnection()) {
+			assertTrue(advisoryLock(other, "SELECT pg_try_advisory_lock(?)"));
+			try {
+				assertFalse(repository.runExclusively(() -> ran.set(true)));
+			} finally {
+				advisoryLock(other, "SELECT pg_advisory_unlock(?)");
+			}
+		}
+
+		assertFalse(ran.get());
+		assertTrue(repository.runExclusively(() -> ran.set(true)));
+		assertTrue(ran.get());
+	}
+
+	private Long session(boolean active, LocalDateTime expiresAt, LocalDateTime updatedAt) {
+		return jdbcTemplate.queryForObject("""
+				INSERT INTO user_sessions (user_id, session_token, refresh_token, is_active, expires_at, updated_at)
+				VALUES (?, ?, ?, ?, ?, ?)
+				RETURNING id
+				""", Long.class, userId, UUID.randomUUID().toString(), UUID.randomUUID().toString(), active,
+				Timestamp.valueOf(expiresAt), Timestamp.valueOf(updatedAt));
+	}
+
+	private Long resetToken(LocalDateTime expiresAt, LocalDateTime usedAt) {
+		return jdbcTemplate.queryForObject("""
+				INSERT INTO password_reset_tokens (user_id, token, expires_at, is_used, used_at)
+				VALUES (?, ?, ?, ?, ?)
+				RETURNING id
+				""", Long.class, userId, UUID.randomUUID().toString(), Timestamp.valueOf(expiresAt), usedAt != null,
+				usedAt == null ? null : Timestamp.valueOf(usedAt));
+	}
+
+	private Long verificationToken(LocalDateTime expiresAt, LocalDateTime verifiedAt) {
+		return jdbcTemplate.queryForObject("""
+				INSERT INTO email_verification_tokens (user_id, token, email, expires_at, is_verified, verified_at)
+				VALUES (?, ?, 'zpurge@test.example.com', ?, ?, ?)
+				RETURNING id
+				""", Long.class, userId, UUID.randomUUID().toString(), Timestamp.valueOf(expiresAt), verifiedAt != null,
+				verifiedAt == null ? null : Timestamp.valueOf(verifiedAt));
+	}
+
+	private List<Long> ids(String table) {
+		return jdbcTemplate.queryForList("SELECT id FROM " + table + " WHERE user_id = ? ORDER BY id", Long.class, userId);
+	}
+
+	private static boolean advisoryLock(Connection connection, String sql) throws Exception {
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			statement.setLong(1, "identity-service:expired-data-purge".hashCode());
+			try (ResultSet rs = statement.executeQuery()) {
+				return rs.next() && rs.getBoolean(1);
+			}
+		}
+	}
+
+	private static final class CountingRepository implements ExpiredDataRepository {
+
+		private final ExpiredDataRepository delegate;
+		private final Map<Target, Integer> chunks = new EnumMap<>(Target.class);
+
+		CountingRepository(ExpiredDataRepository delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public boolean runExclusively(Runnable task) {
+			return delegate.runExclusively(task);
+		}
+
+		@Override
+		public int deleteChunk(Target target, LocalDateTime cutoff, int limit) {
+			chunks.merge(target, 1, Integer::sum);
+			return delegate.deleteChunk(target, cutoff, limit);
+		}
+	}
+
+}
@@ -0,0 +1,253 @@
+package com.hammefatal.digitalworkshop.identity_service.adapter.out.persistence;
+
+import com.hammefatal.digitalworkshop.identity_service.TestcontainersConfiguration;
+import com.hammefatal.digitalworkshop.identity_service.application.port.out.UserRepository;
+import com.hammefatal.digitalworkshop.identity_service.domain.User;
+import com.hammefatal.digitalworkshop.identity_service.domain.UserAuditEntry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the native statements against PostgreSQL initialized from db_init_scripts. Each test rolls back,
+ * and names are chosen not to collide with the seed rows from 02_data.sql.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestcontainersConfiguration.class, UserRepositoryImpl.class, UserMapper.class, UserAuditRepositoryImpl.class})
+@Testcontainers(disabledWithoutDocker = true)
+class UserRepositoryImplTest {
+
+	@Autowired
+	private UserRepositoryImpl repository;
+
+	@Autowired
+	private UserAuditRepositoryImpl auditRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Test
+	void searchRanksExactWordMatchesFirst() {
+		Long partial = insert("zpartial", "Anna", "Zebrafieldson");
+		Long exact = insert("zexact", "Quincy", "Zebrafield");
+
+		List<UserRepository.NameMatch> matches = repository.searchByName("zebrafield", 0f, 0L, 10);
+
+		assertEquals(List.of(exact, partial), ids(matches));
+		assertTrue(matches.get(0).score() > matches.get(1).score());
+	}
+
+	@Test
+	void searchPagesByScoreAndIdCursor() {
+		insert("zpartial", "Anna", "Zebrafieldson");
+		insert("zquincy", "Quincy", "Zebrafield");
+		insert("zquinn", "Quinn", "Zebrafield");
+		insert("zquill", "Quill", "Zebrafield");
+		List<Long> all = ids(repository.searchByName("zebrafield", 0f, 0L, 10));
+
+		List<UserRepository.NameMatch> first = repository.searchByName("zebrafield", 0f, 0L, 2);
+		UserRepository.NameMatch last = first.get(first.size() - 1);
+		List<UserRepository.NameMatch> second = repository.searchByName("zebrafield", last.score(), last.summary().id(), 2);
+
+		assertEquals(4, all.size());
+		assertEquals(all.subList(0, 2), ids(first));
+		assertEquals(all.subList(2, 4), ids(second));
+	}
+
+	@Test
+	void searchCursorSurvivesRemovalOfItsRow() {
+		insert("zquincy", "Quincy", "Zebrafield");
+		insert("zquinn", "Quinn", "Zebrafield");
+		Long third = insert("zquill", "Quill", "Zebrafield");
+		List<UserRepository.NameMatch> first = repository.searchByName("zebrafield", 0f, 0L, 2);
+		UserRepository.NameMatch last = first.get(1);
+
+		repository.deleteById(last.summary().id());
+		entityManager.flush();
+		List<UserRepository.NameMatch> second = repository.searchByName("zebrafield", last.score(), last.summary().id(), 2);
+
+		assertEquals(List.of(third), ids(second));
+	}
+
+	@Test
+	void statusUpdateReturnsPreviousStatusAndRevokesSessions() {
+		Long alice = insert("zalice", "Alice", "Zebrafield");
+		int epoch = repository.findSessionEpochById(alice).orElseThrow();
+
+		UserRepository.StatusChange change = repository.updateAccountStatus(alice, User.AccountStatus.SUSPENDED).orElseThrow();
+
+		assertEquals(User.AccountStatus.ACTIVE, change.previousStatus());
+		assertEquals(User.AccountStatus.SUSPENDED, change.user().getAccountStatus());
+		assertEquals(epoch + 1, change.user().getSessionEpoch());
+		assertEquals(Optional.of(epoch + 1), repository.findSessionEpochById(alice));
+	}
+
+	@Test
+	void reactivationResetsFailuresAndKeepsEpoch() {
+		Long alice = insert("zalice", "Alice", "Zebrafield");
+		repository.applyLoginCounters(List.of(new UserRepository.LoginCounter(alice, 5, true, null)));
+		int lockedEpoch = repository.findSessionEpochById(alice).orElseThrow();
+
+		UserRepository.StatusChange change = repository.updateAccountStatus(alice, User.AccountStatus.ACTIVE).orElseThrow();
+
+		assertEquals(User.AccountStatus.LOCKED, change.previousStatus());
+		assertEquals(User.AccountStatus.ACTIVE, change.user().getAccountStatus());
+		assertEquals(0, change.user().getFailedLoginAttempts());
+		assertEquals(lockedEpoch, change.user().getSessionEpoch());
+	}
+
+	@Test
+	void statusUpdateOfMissingUserIsEmpty() {
+		assertTrue(repository.updateAccountStatus(Long.MAX_VALUE, User.AccountStatus.LOCKED).isEmpty());
+	}
+
+	@Test
+	void profileUpdateAuditsChangedFieldsOnly() {
+		Long admin = insert("zadmin", "Admin", "Zebrafield");
+		Long alice = insert("zalice", "Alice", "Zebrafield");
+
+		User updated = repository.updateProfile(new UserRepository.ProfileUpdate(
+				alice, "Alice", "Zebrafeld", "+15550100", null, null, admin, "name fix")).orElseThrow();
+
+		assertEquals("Zebrafeld", updated.getLastName());
+		assertEquals("+15550100", updated.getPhoneNumber());
+		List<UserAuditEntry> entries = auditRepository.findByUserIdBefore(alice, Long.MAX_VALUE, 10);
+		assertEquals(List.of("last_name", "phone_number"), entries.stream().map(UserAuditEntry::fieldName).sorted().toList());
+		UserAuditEntry lastName = entries.stream().filter(entry -> entry.fieldName().equals("last_name")).findFirst().orElseThrow();
+		assertEquals("Zebrafield", lastName.oldValue());
+		assertEquals("Zebrafeld", lastName.newValue());
+		assertEquals(admin, lastName.changedBy());
+		assertEquals("name fix", lastName.changeReason());
+	}
+
+	@Test
+	void profileUpdateWithoutChangesWritesNoAudit() {
+		Long alice = insert("zalice", "Alice", "Zebrafield");
+
+		assertTrue(repository.updateProfile(new UserRepository.ProfileUpdate(
+				alice, "Alice", null, null, null, null, null, null)).isPresent());
+
+		assertTrue(auditRepository.findByUserIdBefore(alice, Long.MAX_VALUE, 10).isEmpty());
+	}
+
+	@Test
+	void profileUpdateByUnknownActorIsRejected() {
+		Long alice = insert("zalice", "Alice", "Zebrafield");
+
+		assertThrows(IllegalArgumentException.class, () -> repository.updateProfile(new UserRepository.ProfileUpdate(
+				alice, "Alicia", null, null, null, null, Long.MAX_VALUE, null)));
+	}
+
+	@Test
+	void profileUpdateOfMissingUserIsEmpty() {
+		assertTrue(repository.updateProfile(new UserRepository.ProfileUpdate(
+				Long.MAX_VALUE, "Alice", null, null, null, null, null, null)).isEmpty());
+	}
+
+	@Test
+	void streamProfilesFetchesThroughOpenCursor() {
+		Long alice = insert("zalice", "Alice", "Zebrafield");
+		Long bob = insert("zbob", "Bob", "Zebrafield");
+		Long carol = insert("zcarol", "Carol", "Zebrafield");
+		List<Long> streamed = new ArrayList<>();
+		List<Long> openCursors = new ArrayList<>();
+
+		long rows = repository.streamProfiles(null, 1, profile -> {
+			streamed.add(profile.id());
+			// pg_cursors lists the portal pgjdbc binds for a fetch-size read while it is still being fetched
+			openCursors.add(jdbcTemplate.queryForObject("""
+					SELECT count(*) FROM pg_cursors
+					WHERE statement LIKE '%FROM users%ORDER BY id%' AND statement NOT LIKE '%pg_cursors%'
+					""", Long.class));
+		});
+
+		assertEquals(streamed.size(), rows);
+		assertEquals(List.of(alice, bob, carol), streamed.stream().filter(List.of(alice, bob, carol)::contains).toList());
+		assertEquals(1L, openCursors.get(0));
+	}
+
+	@Test
+	void streamProfilesSinceOrdersByUpdatedAtThenId() {
+		LocalDateTime since = LocalDateTime.of(2100, 1, 1, 0, 0);
+		insertUpdatedAt("zold", since.minusDays(1));
+		Long late = insertUpdatedAt("zlate", since.plusDays(2));
+		Long tieFirst = insertUpdatedAt("ztiea", since.plusDays(1));
+		Long tieSecond = insertUpdatedAt("ztieb", since.plusDays(1));
+		List<Long> streamed = new ArrayList<>();
+
+		long rows = repository.streamProfiles(since, 1, profile -> streamed.add(profile.id()));
+
+		assertEquals(List.of(tieFirst, tieSecond, late), streamed);
+		assertEquals(3, rows);
+	}
+
+	@Test
+	void findAllByKeysReturnsEachMatchedRowOnce() {
+		Long alice = insert("zalice", "Alice", "Zebrafield");
+		Long bob = insert("zbob", "Bob", "Zebrafield");
+
+		List<User> found = repository.findAllByKeys(List.of(alice, Long.MAX_VALUE, alice),
+				List.of("zalice", "zbob", "znobody"), List.of("zbob@test.example.com"));
+
+		assertEquals(List.of(alice, bob), found.stream().map(User::getId).sorted().toList());
+		assertTrue(repository.findAllByKeys(List.of(Long.MAX_VALUE), List.of(), List.of("znobody@test.example.com")).isEmpty());
+		assertTrue(repository.findAllByKeys(List.of(), List.of(), List.of()).isEmpty());
+	}
+
+	@Test
+	void deletionCounterCountsOnlyDeletedRows() {
+		UserRepository.VersionStamp initial = repository.findVersionStamp();
+		Long alice = insert("zalice", "Alice", "Zebrafield");
+		UserRepository.VersionStamp inserted = repository.findVersionStamp();
+
+		jdbcTemplate.update("DELETE FROM users WHERE id = ?", Long.MAX_VALUE);
+		assertEquals(inserted, repository.findVersionStamp());
+
+		jdbcTemplate.update("DELETE FROM users WHERE id = ?", alice);
+		UserRepository.VersionStamp deleted = repository.findVersionStamp();
+
+		assertEquals(initial.deletions(), inserted.deletions());
+		assertEquals(inserted.deletions() + 1, deleted.deletions());
+	}
+
+	// Inserted with SQL so fixtures do not depend on how the entity binds its columns
+	private Long insert(String username, String firstName, String lastName) {
+		return jdbcTemplate.queryForObject("""
+				INSERT INTO users (username, email, password_hash, first_name, last_name)
+				VALUES (?, ?, 'hash', ?, ?)
+				RETURNING id
+				""", Long.class, username, username + "@test.example.com", firstName, lastName);
+	}
+
+	private Long insertUpdatedAt(String username, LocalDateTime updatedAt) {
+		return jdbcTemplate.queryForObject("""
+				INSERT INTO users (username, email, password_hash, first_name, last_name, updated_at)
+				VALUES (?, ?, 'hash', 'Test', 'Zebrafield', ?)
+				RETURNING id
+				""", Long.class, username, username + "@test.example.com", Timestamp.valueOf(updatedAt));
+	}
+
+	private static List<Long> ids(List<UserRepository.NameMatch> matches) {
+		return matches.stream().map(match -> match.summary().id()).toList();
+	}
+
+}
@@ -0,0 +1,99 @@
+package com.hammefatal.digitalworkshop.identity_service.application.service;
+
+import com.hammefatal.digitalworkshop.identity_service.adapter.out.crypto.RsaJwtCodec;
+import com.hammefatal.digitalworkshop.identity_service.adapter.out.memory.InMemoryUserRepository;
+import com.hammefatal.digitalworkshop.identity_service.application.port.in.AccessTokenUseCase;
+import com.hammefatal.digitalworkshop.identity_service.domain.AccessTokenClaims;
+import com.hammefatal.digitalworkshop.identity_service.domain.User;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccessTokenServiceTest {
+
+	private final InMemoryUserRepository repository = new InMemoryUserRepository();
+	private final SessionEpochRegistry sessionEpochRegistry = new SessionEpochRegistry(repository, Duration.ofMinutes(1), 1_000);
+	private final AccessTokenService accessTokenService = new AccessTokenService(
+			new RsaJwtCodec("identity-service", "", false, 3, 1_000),
+			sessionEpochRegistry,
+			new SecurityEventLog(events -> { }, 64, 16, Duration.ofSeconds(1), SecurityEventLog.OverflowPolicy.DROP, Duration.ZERO),
+			Duration.ofMinutes(15));
+
+	@Test
+	void issuedTokenCarriesCurrentEpochAndTtl() {
+		User alice = insert("alice");
+		revokeSessions(alice);
+
+		AccessTokenUseCase.IssuedAccessToken issued = accessTokenService.issueAccessToken(alice.getId(), 11L);
+		AccessTokenClaims claims = accessTokenService.verifyAccessToken(issued.accessToken()).orElseThrow();
+
+		assertEquals(alice.getId(), claims.userId());
+		assertEquals(11L, claims.sessionId());
+		assertEquals(1, claims.sessionEpoch());
+		assertEquals(issued.expiresAt(), claims.expiresAt());
+		assertEquals(Duration.ofMinutes(15), Duration.between(claims.issuedAt(), claims.expiresAt()));
+	}
+
+	@Test
+	void rejectsTokenIssuedBeforeSessionsWereRevoked() {
+		User alice = insert("alice");
+		String token = accessTokenService.issueAccessToken(alice.getId(), 11L).accessToken();
+		assertTrue(accessTokenService.verifyAccessToken(token).isPresent());
+
+		revokeSessions(alice);
+
+		assertEquals(Optional.empty(), accessTokenService.verifyAccessToken(token));
+		String reissued = accessTokenService.issueAccessToken(alice.getId(), 11L).accessToken();
+		assertTrue(accessTokenService.verifyAccessToken(reissued).isPresent());
+	}
+
+	@Test
+	void rejectsTokenOfDeletedUser() {
+		User alice = insert("alice");
+		String token = accessTokenService.issueAccessToken(alice.getId(), 11L).accessToken();
+
+		repository.deleteById(alice.getId());
+		sessionEpochRegistry.forget(alice.getId());
+
+		assertEquals(Optional.empty(), accessTokenService.verifyAccessToken(token));
+	}
+
+	@Test
+	void rejectsMissingOrMalformedToken() {
+		assertEquals(Optional.empty(), accessTokenService.verifyAccessToken(null));
+		assertEquals(Optional.empty(), accessTokenService.verifyAccessToken(""));
+		assertEquals(Optional.empty(), accessTokenService.verifyAccessToken("not.a.token"));
+	}
+
+	@Test
+	void rotationPublishesNewKeyAndKeepsIssuedTokensValid() {
+		User alice = insert("alice");
+		String token = accessTokenService.issueAccessToken(alice.getId(), 11L).accessToken();
+
+		String kid = accessTokenService.rotateSigningKey();
+
+		assertTrue(accessTokenService.getPublicKeySet().startsWith("{\"keys\":[{\"kty\":\"RSA\",\"use\":\"sig\",\"alg\":\"RS256\",\"kid\":\"" + kid + "\""));
+		assertTrue(accessTokenService.verifyAccessToken(token).isPresent());
+	}
+
+	// What logout-all does: bump the row, then record the new epoch on this node
+	private void revokeSessions(User user) {
+		User updated = repository.incrementSessionEpoch(user.getId()).orElseThrow();
+		sessionEpochRegistry.advance(user.getId(), updated.getSessionEpoch());
+	}
+
+	private User insert(String username) {
+		User user = new User();
+		user.setUsername(username);
+		user.setEmail(username + "@example.com");
+		user.setPasswordHash("plain:password");
+		user.setFirstName("Alice");
+		user.setLastName("Smith");
+		return repository.insert(user);
+	}
+
+}
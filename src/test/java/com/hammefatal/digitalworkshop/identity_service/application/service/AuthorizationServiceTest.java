@@ -0,0 +1,173 @@
+package com.hammefatal.digitalworkshop.identity_service.application.service;
+
+import com.hammefatal.digitalworkshop.identity_service.application.port.in.AuthorizationUseCase;
+import com.hammefatal.digitalworkshop.identity_service.application.port.out.AuthorizationRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AuthorizationServiceTest {
+
+	private static final long READER = 1;
+	private static final long WRITER = 2;
+
+	private final FakeAuthorizationRepository repository = new FakeAuthorizationRepository();
+	private final AuthorizationService authorizationService = new AuthorizationService(repository,
+			new SecurityEventLog(events -> { }, 64, 16, Duration.ofSeconds(1), SecurityEventLog.OverflowPolicy.DROP, Duration.ZERO),
+			Duration.ofMinutes(1), 1_000);
+
+	AuthorizationServiceTest() {
+		repository.permissions.add(new AuthorizationRepository.PermissionDefinition(10L, "users", "read"));
+		repository.permissions.add(new AuthorizationRepository.PermissionDefinition(11L, "users", "write"));
+		repository.rolePermissions.add(new AuthorizationRepository.RolePermission(READER, 10L));
+		repository.rolePermissions.add(new AuthorizationRepository.RolePermission(WRITER, 11L));
+	}
+
+	@Test
+	void grantsOnlyPermissionsOfTheUsersRoles() {
+		repository.grant(1L, READER, null);
+		repository.grant(2L, READER, null);
+		repository.grant(2L, WRITER, null);
+
+		assertEquals(List.of(true, false, true, true, false), authorizationService.check(List.of(
+				check(1L, "users", "read"),
+				check(1L, "users", "write"),
+				check(2L, "users", "read"),
+				check(2L, "users", "write"),
+				check(3L, "users", "read"))));
+		assertEquals(Set.of("users:read", "users:write"), authorizationService.getEffectivePermissions(2L));
+		assertEquals(Set.of(), authorizationService.getEffectivePermissions(3L));
+	}
+
+	@Test
+	void deniesUnknownPermissions() {
+		repository.grant(1L, READER, null);
+		repository.grant(1L, WRITER, null);
+
+		assertEquals(List.of(false, false), authorizationService.check(List.of(
+				check(1L, "users", "delete"),
+				check(1L, "audit", "read"))));
+	}
+
+	@Test
+	void loadsAllMissesWithOneQueryAndCachesThem() {
+		repository.grant(1L, READER, null);
+		List<AuthorizationUseCase.PermissionCheck> checks = List.of(
+				check(1L, "users", "read"),
+				check(2L, "users", "read"),
+				check(1L, "users", "write"));
+
+		authorizationService.check(checks);
+		authorizationService.check(checks);
+
+		assertEquals(1, repository.grantQueries.get());
+		assertEquals(2, authorizationService.getCachedUserCount());
+	}
+
+	@Test
+	void grantAndRevokeTakeEffectImmediately() {
+		assertEquals(List.of(false), authorizationService.check(List.of(check(1L, "users", "write"))));
+
+		authorizationService.grantRole(new AuthorizationUseCase.GrantRoleCommand(1L, WRITER, null, null));
+		assertEquals(List.of(true), authorizationService.check(List.of(check(1L, "users", "write"))));
+
+		authorizationService.revokeRole(1L, WRITER);
+		assertEquals(List.of(false), authorizationService.check(List.of(check(1L, "users", "write"))));
+	}
+
+	@Test
+	void revokingAbsentGrantFails() {
+		assertThrows(IllegalArgumentException.class, () -> authorizationService.revokeRole(1L, WRITER));
+	}
+
+	@Test
+	void expiringGrantBoundsCaching() {
+		repository.grant(1L, READER, LocalDateTime.now().minusSeconds(1));
+
+		authorizationService.check(List.of(check(1L, "users", "read")));
+		authorizationService.check(List.of(check(1L, "users", "read")));
+
+		assertEquals(2, repository.grantQueries.get());
+	}
+
+	@Test
+	void reloadedCatalogAppliesToCachedUsersWithoutReloadingGrants() {
+		repository.grant(1L, READER, null);
+		assertEquals(List.of(false), authorizationService.check(List.of(check(1L, "users", "write"))));
+
+		repository.rolePermissions.add(new AuthorizationRepository.RolePermission(READER, 11L));
+		authorizationService.reloadCatalog();
+
+		assertEquals(List.of(true), authorizationService.check(List.of(check(1L, "users", "write"))));
+		assertEquals(1, repository.grantQueries.get());
+	}
+
+	@Test
+	void rejectsTooManyChecks() {
+		List<AuthorizationUseCase.PermissionCheck> checks = Collections.nCopies(AuthorizationUseCase.MAX_CHECKS + 1,
+				check(1L, "users", "read"));
+
+		assertThrows(IllegalArgumentException.class, () -> authorizationService.check(checks));
+	}
+
+	private static AuthorizationUseCase.PermissionCheck check(Long userId, String resource, String action) {
+		return new AuthorizationUseCase.PermissionCheck(userId, resource, action);
+	}
+
+	private static final class FakeAuthorizationRepository implements AuthorizationRepository {
+
+		private final List<PermissionDefinition> permissions = new CopyOnWriteArrayList<>();
+		private final List<RolePermission> rolePermissions = new CopyOnWriteArrayList<>();
+		private final List<RoleGrant> grants = new CopyOnWriteArrayList<>();
+		private final AtomicInteger grantQueries = new AtomicInteger();
+
+		void grant(Long userId, Long roleId, LocalDateTime expiresAt) {
+			grants.add(new RoleGrant(userId, roleId, expiresAt));
+		}
+
+		@Override
+		public List<PermissionDefinition> findActivePermissions() {
+			return List.copyOf(permissions);
+		}
+
+		@Override
+		public List<RolePermission> findActiveRolePermissions() {
+			return List.copyOf(rolePermissions);
+		}
+
+		@Override
+		public List<RoleGrant> findActiveRoleGrants(Collection<Long> userIds) {
+			grantQueries.incrementAndGet();
+			List<RoleGrant> found = new ArrayList<>();
+			for (RoleGrant grant : grants) {
+				if (userIds.contains(grant.userId())) {
+					found.add(grant);
+				}
+			}
+			return found;
+		}
+
+		@Override
+		public boolean grantRole(Long userId, Long roleId, Long grantedBy, LocalDateTime expiresAt) {
+			grant(userId, roleId, expiresAt);
+			return true;
+		}
+
+		@Override
+		public boolean revokeRole(Long userId, Long roleId) {
+			return grants.removeIf(grant -> grant.userId().equals(userId) && grant.roleId().equals(roleId));
+		}
+	}
+
+}
@@ -0,0 +1,133 @@
+package com.hammefatal.digitalworkshop.identity_service.application.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CountingBloomFilterTest {
+
+	@Test
+	void reportsEveryAddedKey() {
+		CountingBloomFilter filter = new CountingBloomFilter(10_000, 0.01);
+		for (int i = 0; i < 10_000; i++) {
+			filter.add("user" + i);
+		}
+		for (int i = 0; i < 10_000; i++) {
+			assertTrue(filter.mightContain("user" + i), "false negative for user" + i);
+		}
+	}
+
+	@Test
+	void keepsFalsePositiveRateNearConfiguredBound() {
+		CountingBloomFilter filter = new CountingBloomFilter(10_000, 0.01);
+		for (int i = 0; i < 10_000; i++) {
+			filter.add("present" + i);
+		}
+		int falsePositives = 0;
+		for (int i = 0; i < 100_000; i++) {
+			if (filter.mightContain("absent" + i)) {
+				falsePositives++;
+			}
+		}
+		assertTrue(falsePositives < 3_000, "false positive rate too high: " + falsePositives + " / 100000");
+	}
+
+	@Test
+	void forgetsRemovedKey() {
+		CountingBloomFilter filter = new CountingBloomFilter(1_000_000, 0.01);
+		filter.add("alice");
+		filter.remove("alice");
+
+		assertFalse(filter.mightContain("alice"));
+	}
+
+	@Test
+	void removingOneKeyKeepsTheOthers() {
+		CountingBloomFilter filter = new CountingBloomFilter(2_000, 0.01);
+		for (int i = 0; i < 2_000; i++) {
+			filter.add("user" + i);
+		}
+		for (int i = 0; i < 2_000; i += 2) {
+			filter.remove("user" + i);
+		}
+		for (int i = 1; i < 2_000; i += 2) {
+			assertTrue(filter.mightContain("user" + i), "false negative for user" + i);
+		}
+	}
+
+	@Test
+	void keyAddedTwiceSurvivesOneRemove() {
+		CountingBloomFilter filter = new CountingBloomFilter(1_000_000, 0.01);
+		filter.add("alice");
+		filter.add("alice");
+		filter.remove("alice");
+
+		assertTrue(filter.mightContain("alice"));
+	}
+
+	@Test
+	void saturatedCountersAreNeverDecremented() {
+		CountingBloomFilter filter = new CountingBloomFilter(1_000_000, 0.01);
+		// Sixteen adds overflow a 4-bit counter, which then sticks at its maximum
+		for (int i = 0; i < 16; i++) {
+			filter.add("alice");
+		}
+		for (int i = 0; i < 16; i++) {
+			filter.remove("alice");
+		}
+
+		assertTrue(filter.mightContain("alice"));
+	}
+
+	@Test
+	void removingAbsentKeyDoesNotUnderflow() {
+		CountingBloomFilter filter = new CountingBloomFilter(1_000_000, 0.01);
+		filter.remove("alice");
+		filter.add("alice");
+
+		assertTrue(filter.mightContain("alice"));
+	}
+
+	@Test
+	void concurrentAddsAreNotLost() throws Exception {
+		CountingBloomFilter filter = new CountingBloomFilter(80_000, 0.01);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 8; t++) {
+				int thread = t;
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < 10_000; i++) {
+						filter.add("t" + thread + "-" + i);
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		for (int t = 0; t < 8; t++) {
+			for (int i = 0; i < 10_000; i++) {
+				assertTrue(filter.mightContain("t" + t + "-" + i), "false negative for t" + t + "-" + i);
+			}
+		}
+	}
+
+	@Test
+	void rejectsInvalidSizing() {
+		assertThrows(IllegalArgumentException.class, () -> new CountingBloomFilter(0, 0.01));
+		assertThrows(IllegalArgumentException.class, () -> new CountingBloomFilter(1_000, 0));
+		assertThrows(IllegalArgumentException.class, () -> new CountingBloomFilter(1_000, 1));
+	}
+
+}
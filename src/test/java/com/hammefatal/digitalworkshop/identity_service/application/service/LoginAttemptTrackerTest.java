@@ -0,0 +1,147 @@
+package com.hammefatal.digitalworkshop.identity_service.application.service;
+
+import com.hammefatal.digitalworkshop.identity_service.adapter.out.memory.InMemoryUserRepository;
+import com.hammefatal.digitalworkshop.identity_service.domain.User;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoginAttemptTrackerTest {
+
+	private final InMemoryUserRepository repository = new InMemoryUserRepository();
+	private final SessionEpochRegistry epochs = new SessionEpochRegistry(repository, Duration.ofMinutes(1), 1_000);
+	private final LoginAttemptTracker tracker = new LoginAttemptTracker(repository, epochs,
+			new UserCountTracker(repository, UserCountTracker.Mode.EXACT), 3, 5, Duration.ofMinutes(5));
+
+	@Test
+	void locksAfterMaxFailedAttempts() {
+		User alice = insert("alice");
+
+		assertFalse(tracker.recordFailure(alice, "10.0.0.1"));
+		assertFalse(tracker.recordFailure(alice, "10.0.0.1"));
+		assertTrue(tracker.recordFailure(alice, "10.0.0.1"));
+		assertTrue(tracker.isLocked(alice));
+	}
+
+	@Test
+	void continuesFromPersistedFailureCount() {
+		User alice = insert("alice");
+		alice.setFailedLoginAttempts(2);
+
+		assertTrue(tracker.recordFailure(alice, null));
+	}
+
+	@Test
+	void flushPersistsCountersAndDropsEntry() {
+		User alice = insert("alice");
+		tracker.recordFailure(alice, null);
+		tracker.recordFailure(alice, null);
+
+		tracker.flush();
+
+		assertEquals(2, repository.findById(alice.getId()).orElseThrow().getFailedLoginAttempts());
+		assertEquals(0, tracker.getTrackedUserCount());
+	}
+
+	@Test
+	void flushedLockIsDecidedByPersistedRow() {
+		User alice = insert("alice");
+		for (int i = 0; i < 3; i++) {
+			tracker.recordFailure(alice, null);
+		}
+
+		tracker.flush();
+
+		User stored = repository.findById(alice.getId()).orElseThrow();
+		assertEquals(User.AccountStatus.LOCKED, stored.getAccountStatus());
+		assertEquals(1, stored.getSessionEpoch());
+		assertTrue(tracker.isLocked(stored));
+
+		// An unlock written elsewhere is honoured because no stale local entry remains
+		repository.updateAccountStatus(alice.getId(), User.AccountStatus.ACTIVE);
+		assertFalse(tracker.isLocked(repository.findById(alice.getId()).orElseThrow()));
+	}
+
+	@Test
+	void failureAfterFlushIsFlushedAgain() {
+		User alice = insert("alice");
+		tracker.recordFailure(alice, null);
+		tracker.flush();
+
+		User stored = repository.findById(alice.getId()).orElseThrow();
+		tracker.recordFailure(stored, null);
+		tracker.flush();
+
+		assertEquals(2, repository.findById(alice.getId()).orElseThrow().getFailedLoginAttempts());
+	}
+
+	@Test
+	void successClearsFailuresAndRecordsLoginTime() {
+		User alice = insert("alice");
+		tracker.recordFailure(alice, null);
+		tracker.recordSuccess(alice);
+
+		tracker.flush();
+
+		User stored = repository.findById(alice.getId()).orElseThrow();
+		assertEquals(0, stored.getFailedLoginAttempts());
+		assertNotNull(stored.getLastLoginAt());
+	}
+
+	@Test
+	void resetForgetsLocalState() {
+		User alice = insert("alice");
+		for (int i = 0; i < 3; i++) {
+			tracker.recordFailure(alice, null);
+		}
+
+		tracker.reset(alice.getId());
+
+		assertFalse(tracker.isLocked(alice));
+		assertEquals(0, tracker.getTrackedUserCount());
+	}
+
+	@Test
+	void blocksIpAfterMaxFailuresInWindow() {
+		for (int i = 0; i < 4; i++) {
+			tracker.recordIpFailure("10.0.0.1");
+		}
+		assertFalse(tracker.isIpBlocked("10.0.0.1"));
+
+		tracker.recordIpFailure("10.0.0.1");
+
+		assertTrue(tracker.isIpBlocked("10.0.0.1"));
+		assertFalse(tracker.isIpBlocked("10.0.0.2"));
+		assertFalse(tracker.isIpBlocked(null));
+	}
+
+	@Test
+	void evictsIpWindowsThatHaveEnded() throws InterruptedException {
+		LoginAttemptTracker shortWindow = new LoginAttemptTracker(repository, epochs,
+				new UserCountTracker(repository, UserCountTracker.Mode.EXACT), 3, 1, Duration.ofMillis(20));
+		shortWindow.recordIpFailure("10.0.0.1");
+		assertEquals(1, shortWindow.getTrackedIpCount());
+
+		Thread.sleep(50);
+		shortWindow.evictExpiredIpWindows();
+
+		assertFalse(shortWindow.isIpBlocked("10.0.0.1"));
+		assertEquals(0, shortWindow.getTrackedIpCount());
+	}
+
+	private User insert(String username) {
+		User user = new User();
+		user.setUsername(username);
+		user.setEmail(username + "@example.com");
+		user.setPasswordHash("hash");
+		user.setFirstName("Alice");
+		user.setLastName("Smith");
+		return repository.insert(user);
+	}
+
+}
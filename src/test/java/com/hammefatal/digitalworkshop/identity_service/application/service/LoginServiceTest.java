@@ -0,0 +1,142 @@
+package com.hammefatal.digitalworkshop.identity_service.application.service;
+
+import com.hammefatal.digitalworkshop.identity_service.adapter.out.memory.InMemoryUserRepository;
+import com.hammefatal.digitalworkshop.identity_service.application.port.in.LoginFailedException;
+import com.hammefatal.digitalworkshop.identity_service.application.port.in.LoginUseCase;
+import com.hammefatal.digitalworkshop.identity_service.domain.User;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LoginServiceTest {
+
+	private final NodeLocalRepository repository = new NodeLocalRepository();
+	private final LoginAttemptTracker tracker = new LoginAttemptTracker(repository,
+			new SessionEpochRegistry(repository, Duration.ofMinutes(1), 1_000),
+			new UserCountTracker(repository, UserCountTracker.Mode.EXACT), 5, 100, Duration.ofMinutes(5));
+	private final LoginService loginService = new LoginService(repository, new PlainPasswordHasher(), tracker,
+			new SecurityEventLog(events -> { }, 64, 16, Duration.ofSeconds(1), SecurityEventLog.OverflowPolicy.DROP, Duration.ZERO));
+
+	@Test
+	void logsInWithCurrentPassword() {
+		User alice = insert("alice", "password");
+
+		assertEquals(alice.getId(), login("alice", "password").userId());
+		assertEquals(alice.getId(), login("alice@example.com", "password").userId());
+	}
+
+	@Test
+	void rejectsPasswordChangedOnAnotherNode() {
+		User alice = insert("alice", "old-password");
+		repository.cacheAll();
+		repository.updatePassword(alice.getId(), "plain:old-password", "plain:new-password");
+
+		assertFailure(LoginFailedException.Reason.INVALID_CREDENTIALS, "alice", "old-password");
+		assertEquals(alice.getId(), login("alice", "new-password").userId());
+	}
+
+	@Test
+	void rejectsAccountSuspendedOnAnotherNode() {
+		insert("alice", "password");
+		repository.cacheAll();
+		repository.updateAccountStatus(1L, User.AccountStatus.SUSPENDED);
+
+		assertFailure(LoginFailedException.Reason.ACCOUNT_DISABLED, "alice", "password");
+	}
+
+	@Test
+	void rejectsAccountLockedOnAnotherNode() {
+		insert("alice", "password");
+		repository.cacheAll();
+		repository.updateAccountStatus(1L, User.AccountStatus.LOCKED);
+
+		assertFailure(LoginFailedException.Reason.ACCOUNT_LOCKED, "alice@example.com", "password");
+	}
+
+	@Test
+	void rejectsUserDeletedOnAnotherNode() {
+		User alice = insert("alice", "password");
+		repository.cacheAll();
+		repository.deleteById(alice.getId());
+
+		assertFailure(LoginFailedException.Reason.INVALID_CREDENTIALS, "alice", "password");
+	}
+
+	@Test
+	void followsUsernameRenamedOnAnotherNode() {
+		User alice = insert("alice", "alice-password");
+		repository.cacheAll();
+		alice.setUsername("alicia");
+		repository.save(alice);
+		User bob = insert("bob", "bob-password");
+		bob.setUsername("alice");
+		repository.save(bob);
+
+		assertFailure(LoginFailedException.Reason.INVALID_CREDENTIALS, "alice", "alice-password");
+		assertEquals(bob.getId(), login("alice", "bob-password").userId());
+	}
+
+	private LoginUseCase.LoginResult login(String identifier, String password) {
+		return loginService.login(new LoginUseCase.LoginCommand(identifier, password, "10.0.0.1", "test"));
+	}
+
+	private void assertFailure(LoginFailedException.Reason reason, String identifier, String password) {
+		LoginFailedException failure = assertThrows(LoginFailedException.class, () -> login(identifier, password));
+		assertEquals(reason, failure.getReason());
+	}
+
+	private User insert(String username, String password) {
+		User user = new User();
+		user.setUsername(username);
+		user.setEmail(username + "@example.com");
+		user.setPasswordHash("plain:" + password);
+		user.setFirstName("Test");
+		user.setLastName("User");
+		return repository.insert(user);
+	}
+
+	/**
+	 * Serves username and email lookups from copies taken by {@link #cacheAll()}, like another node's
+	 * user cache, and replaces a copy once the row is read directly, like the caching repository does.
+	 */
+	private static final class NodeLocalRepository extends InMemoryUserRepository {
+
+		private final Map<String, User> cached = new ConcurrentHashMap<>();
+
+		void cacheAll() {
+			for (long id = 1; id <= count(); id++) {
+				super.findById(id).ifPresent(this::cache);
+			}
+		}
+
+		@Override
+		public Optional<User> findByUsername(String username) {
+			return Optional.ofNullable(cached.get(username)).or(() -> super.findByUsername(username));
+		}
+
+		@Override
+		public Optional<User> findByEmail(String email) {
+			return Optional.ofNullable(cached.get(email)).or(() -> super.findByEmail(email));
+		}
+
+		@Override
+		public Optional<User> findCurrentById(Long id) {
+			cached.values().removeIf(user -> user.getId().equals(id));
+			Optional<User> current = super.findCurrentById(id);
+			current.ifPresent(this::cache);
+			return current;
+		}
+
+		private void cache(User user) {
+			cached.put(user.getUsername(), user);
+			cached.put(user.getEmail(), user);
+		}
+	}
+
+}
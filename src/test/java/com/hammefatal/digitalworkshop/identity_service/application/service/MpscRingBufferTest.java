@@ -0,0 +1,126 @@
+package com.hammefatal.digitalworkshop.identity_service.application.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MpscRingBufferTest {
+
+	@Test
+	void roundsCapacityUpToPowerOfTwo() {
+		assertEquals(2, new MpscRingBuffer<Integer>(2).capacity());
+		assertEquals(8, new MpscRingBuffer<Integer>(5).capacity());
+		assertEquals(8, new MpscRingBuffer<Integer>(8).capacity());
+		assertThrows(IllegalArgumentException.class, () -> new MpscRingBuffer<Integer>(1));
+	}
+
+	@Test
+	void drainsInOfferOrder() {
+		MpscRingBuffer<Integer> ring = new MpscRingBuffer<>(8);
+		for (int i = 0; i < 5; i++) {
+			assertTrue(ring.offer(i));
+		}
+		List<Integer> sink = new ArrayList<>();
+
+		assertEquals(5, ring.drainTo(sink, 100));
+		assertEquals(List.of(0, 1, 2, 3, 4), sink);
+		assertEquals(0, ring.size());
+	}
+
+	@Test
+	void rejectsOfferWhenFullUntilDrained() {
+		MpscRingBuffer<Integer> ring = new MpscRingBuffer<>(4);
+		for (int i = 0; i < 4; i++) {
+			assertTrue(ring.offer(i));
+		}
+
+		assertFalse(ring.offer(4));
+		assertEquals(4, ring.size());
+
+		ring.drainTo(new ArrayList<>(), 1);
+		assertTrue(ring.offer(4));
+	}
+
+	@Test
+	void drainStopsAtLimit() {
+		MpscRingBuffer<Integer> ring = new MpscRingBuffer<>(8);
+		for (int i = 0; i < 6; i++) {
+			ring.offer(i);
+		}
+		List<Integer> sink = new ArrayList<>();
+
+		assertEquals(4, ring.drainTo(sink, 4));
+		assertEquals(List.of(0, 1, 2, 3), sink);
+		assertEquals(2, ring.size());
+	}
+
+	@Test
+	void keepsOrderAcrossWraparound() {
+		MpscRingBuffer<Integer> ring = new MpscRingBuffer<>(4);
+		List<Integer> sink = new ArrayList<>();
+		int next = 0;
+		for (int round = 0; round < 100; round++) {
+			for (int i = 0; i < 3; i++) {
+				assertTrue(ring.offer(next++));
+			}
+			ring.drainTo(sink, 3);
+		}
+
+		assertEquals(300, sink.size());
+		for (int i = 0; i < sink.size(); i++) {
+			assertEquals(i, (int) sink.get(i));
+		}
+	}
+
+	@Test
+	void deliversEveryElementOnceWithConcurrentProducers() throws Exception {
+		int producers = 4;
+		int perProducer = 50_000;
+		MpscRingBuffer<long[]> ring = new MpscRingBuffer<>(1_024);
+		ExecutorService executor = Executors.newFixedThreadPool(producers);
+		CountDownLatch start = new CountDownLatch(1);
+		for (int p = 0; p < producers; p++) {
+			int producer = p;
+			executor.submit(() -> {
+				start.await();
+				for (int i = 0; i < perProducer; i++) {
+					while (!ring.offer(new long[] {producer, i})) {
+						Thread.onSpinWait();
+					}
+				}
+				return null;
+			});
+		}
+		start.countDown();
+
+		int[] nextByProducer = new int[producers];
+		List<long[]> batch = new ArrayList<>();
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+		int received = 0;
+		while (received < producers * perProducer && System.nanoTime() < deadline) {
+			batch.clear();
+			ring.drainTo(batch, 256);
+			for (long[] element : batch) {
+				int producer = (int) element[0];
+				// Each producer's elements arrive in the order it offered them, with none lost or repeated
+				assertEquals(nextByProducer[producer], (int) element[1]);
+				nextByProducer[producer]++;
+			}
+			received += batch.size();
+		}
+		executor.shutdownNow();
+
+		assertEquals(producers * perProducer, received);
+	}
+
+}
@@ -0,0 +1,104 @@
+package com.hammefatal.digitalworkshop.identity_service.application.service;
+
+import com.hammefatal.digitalworkshop.identity_service.application.port.out.AuthorizationRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PermissionCatalogTest {
+
+	private static final long READER = 1;
+	private static final long WRITER = 2;
+	private static final long EMPTY = 3;
+
+	private final PermissionCatalog catalog = PermissionCatalog.compile(
+			List.of(
+					permission(10, "users", "read"),
+					permission(11, "users", "write"),
+					permission(12, "roles", "read")),
+			List.of(
+					rolePermission(READER, 10),
+					rolePermission(READER, 12),
+					rolePermission(WRITER, 11),
+					// Inactive permission, left out of the definitions
+					rolePermission(WRITER, 99)));
+
+	@Test
+	void assignsBitsInDefinitionOrder() {
+		assertEquals(0, catalog.bitOf("users", "read"));
+		assertEquals(1, catalog.bitOf("users", "write"));
+		assertEquals(2, catalog.bitOf("roles", "read"));
+		assertEquals(3, catalog.permissionCount());
+		assertEquals(2, catalog.roleCount());
+	}
+
+	@Test
+	void unknownPermissionsHaveNoBit() {
+		assertEquals(-1, catalog.bitOf("users", "delete"));
+		assertEquals(-1, catalog.bitOf("audit", "read"));
+		assertFalse(PermissionCatalog.test(catalog.union(new long[] {READER, WRITER}), -1));
+	}
+
+	@Test
+	void roleGrantsOnlyItsOwnPermissions() {
+		long[] reader = catalog.union(new long[] {READER});
+
+		assertTrue(PermissionCatalog.test(reader, catalog.bitOf("users", "read")));
+		assertFalse(PermissionCatalog.test(reader, catalog.bitOf("users", "write")));
+		assertTrue(PermissionCatalog.test(reader, catalog.bitOf("roles", "read")));
+		assertEquals(Set.of("users:read", "roles:read"), catalog.names(reader));
+	}
+
+	@Test
+	void rolesComposeByUnion() {
+		long[] both = catalog.union(new long[] {READER, WRITER});
+
+		assertEquals(Set.of("users:read", "users:write", "roles:read"), catalog.names(both));
+		// The union is a copy; the role's own bitset is unchanged
+		assertEquals(Set.of("users:read", "roles:read"), catalog.names(catalog.union(new long[] {READER})));
+	}
+
+	@Test
+	void rolesWithoutActivePermissionsGrantNothing() {
+		long[] none = catalog.union(new long[] {EMPTY, 42});
+
+		assertEquals(0, none.length);
+		assertFalse(PermissionCatalog.test(none, catalog.bitOf("users", "read")));
+		assertEquals(Set.of(), catalog.names(catalog.union(new long[0])));
+	}
+
+	@Test
+	void bitsetsSpanSeveralWords() {
+		List<AuthorizationRepository.PermissionDefinition> permissions = new ArrayList<>();
+		for (int i = 0; i < 130; i++) {
+			permissions.add(permission(i, "resource" + i, "use"));
+		}
+		PermissionCatalog wide = PermissionCatalog.compile(permissions,
+				List.of(rolePermission(READER, 0), rolePermission(READER, 64), rolePermission(WRITER, 129)));
+
+		long[] reader = wide.union(new long[] {READER});
+		long[] both = wide.union(new long[] {READER, WRITER});
+
+		assertEquals(3, reader.length);
+		assertTrue(PermissionCatalog.test(reader, 64));
+		assertFalse(PermissionCatalog.test(reader, 63));
+		assertFalse(PermissionCatalog.test(reader, 129));
+		assertFalse(PermissionCatalog.test(reader, 192));
+		assertEquals(Set.of("resource0:use", "resource64:use", "resource129:use"), wide.names(both));
+	}
+
+	private static AuthorizationRepository.PermissionDefinition permission(long id, String resource, String action) {
+		return new AuthorizationRepository.PermissionDefinition(id, resource, action);
+	}
+
+	private static AuthorizationRepository.RolePermission rolePermission(long roleId, long permissionId) {
+		return new AuthorizationRepository.RolePermission(roleId, permissionId);
+	}
+
+}
@@ -0,0 +1,32 @@
+package com.hammefatal.digitalworkshop.identity_service.application.service;
+
+import com.hammefatal.digitalworkshop.identity_service.application.port.out.PasswordHasher;
+
+import java.util.List;
+
+/**
+ * Reversible stand-in for the PBKDF2 hasher, for tests that exercise services rather than hashing.
+ */
+public class PlainPasswordHasher implements PasswordHasher {
+
+	@Override
+	public String hash(String rawPassword) {
+		return "plain:" + rawPassword;
+	}
+
+	@Override
+	public List<String> hashAll(List<String> rawPasswords) {
+		return rawPasswords.stream().map(this::hash).toList();
+	}
+
+	@Override
+	public boolean matches(String rawPassword, String encodedPassword) {
+		return hash(rawPassword).equals(encodedPassword);
+	}
+
+	@Override
+	public boolean needsRehash(String encodedPassword) {
+		return false;
+	}
+
+}
@@ -0,0 +1,116 @@
+package com.hammefatal.digitalworkshop.identity_service.application.service;
+
+import com.hammefatal.digitalworkshop.identity_service.adapter.out.memory.InMemoryUserRepository;
+import com.hammefatal.digitalworkshop.identity_service.domain.User;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SessionEpochRegistryTest {
+
+	private final InMemoryUserRepository repository = new InMemoryUserRepository();
+
+	@Test
+	void loadsEpochFromRowAndCachesItUntilRefresh() {
+		SessionEpochRegistry registry = new SessionEpochRegistry(repository, Duration.ofMinutes(1), 1_000);
+		User alice = insert("alice");
+
+		assertEquals(0, registry.currentEpoch(alice.getId()));
+		repository.incrementSessionEpoch(alice.getId());
+
+		// Another node's bump is seen only once the entry is refreshed or forgotten
+		assertEquals(0, registry.currentEpoch(alice.getId()));
+		registry.forget(alice.getId());
+		assertEquals(1, registry.currentEpoch(alice.getId()));
+	}
+
+	@Test
+	void expiredEntriesAreReloaded() {
+		SessionEpochRegistry registry = new SessionEpochRegistry(repository, Duration.ZERO, 1_000);
+		User alice = insert("alice");
+		registry.currentEpoch(alice.getId());
+
+		repository.incrementSessionEpoch(alice.getId());
+
+		assertEquals(1, registry.currentEpoch(alice.getId()));
+	}
+
+	@Test
+	void sessionFromBeforeBumpIsNotCurrent() {
+		SessionEpochRegistry registry = new SessionEpochRegistry(repository, Duration.ofMinutes(1), 1_000);
+		User alice = insert("alice");
+
+		registry.advance(alice.getId(), repository.incrementSessionEpoch(alice.getId()).orElseThrow().getSessionEpoch());
+
+		assertFalse(registry.isCurrent(alice.getId(), 0));
+		assertTrue(registry.isCurrent(alice.getId(), 1));
+	}
+
+	@Test
+	void advanceNeverMovesBackwards() {
+		SessionEpochRegistry registry = new SessionEpochRegistry(repository, Duration.ofMinutes(1), 1_000);
+		User alice = insert("alice");
+
+		registry.advance(alice.getId(), 5);
+		registry.advance(alice.getId(), 3);
+
+		assertEquals(5, registry.currentEpoch(alice.getId()));
+		assertFalse(registry.isCurrent(alice.getId(), 4));
+	}
+
+	@Test
+	void refreshFromStaleRowKeepsNewerEpoch() {
+		// Every read reloads, and the row still holds 0: a lagging replica or a write not yet visible here
+		SessionEpochRegistry registry = new SessionEpochRegistry(repository, Duration.ZERO, 1_000);
+		User alice = insert("alice");
+
+		registry.advance(alice.getId(), 2);
+
+		assertEquals(2, registry.currentEpoch(alice.getId()));
+		assertFalse(registry.isCurrent(alice.getId(), 1));
+	}
+
+	@Test
+	void missingUserIsRevoked() {
+		SessionEpochRegistry registry = new SessionEpochRegistry(repository, Duration.ofMinutes(1), 1_000);
+		User alice = insert("alice");
+		registry.currentEpoch(alice.getId());
+
+		repository.deleteById(alice.getId());
+		registry.advance(alice.getId(), SessionEpochRegistry.REVOKED);
+
+		assertEquals(SessionEpochRegistry.REVOKED, registry.currentEpoch(alice.getId()));
+		assertFalse(registry.isCurrent(alice.getId(), 0));
+		assertFalse(registry.isCurrent(404L, 0));
+	}
+
+	@Test
+	void fullRegistryAnswersWithoutCaching() {
+		SessionEpochRegistry registry = new SessionEpochRegistry(repository, Duration.ofMinutes(1), 2);
+		User alice = insert("alice");
+		User bob = insert("bob");
+		User carol = insert("carol");
+		repository.incrementSessionEpoch(carol.getId());
+
+		registry.currentEpoch(alice.getId());
+		registry.currentEpoch(bob.getId());
+
+		assertEquals(1, registry.currentEpoch(carol.getId()));
+		assertEquals(2, registry.size());
+	}
+
+	private User insert(String username) {
+		User user = new User();
+		user.setUsername(username);
+		user.setEmail(username + "@example.com");
+		user.setPasswordHash("plain:password");
+		user.setFirstName("Test");
+		user.setLastName("User");
+		return repository.insert(user);
+	}
+
+}
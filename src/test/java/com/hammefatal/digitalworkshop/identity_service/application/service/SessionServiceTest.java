@@ -0,0 +1,255 @@
+package com.hammefatal.digitalworkshop.identity_service.application.service;
+
+import com.hammefatal.digitalworkshop.identity_service.adapter.out.memory.InMemoryUserRepository;
+import com.hammefatal.digitalworkshop.identity_service.application.port.in.SessionUseCase;
+import com.hammefatal.digitalworkshop.identity_service.application.port.in.UpdateUserUseCase;
+import com.hammefatal.digitalworkshop.identity_service.application.port.out.SessionRepository;
+import com.hammefatal.digitalworkshop.identity_service.domain.User;
+import com.hammefatal.digitalworkshop.identity_service.domain.UserSession;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SessionServiceTest {
+
+	private final InMemoryUserRepository repository = new InMemoryUserRepository();
+	private final InMemorySessionRepository sessionRepository = new InMemorySessionRepository();
+	private final SessionEpochRegistry sessionEpochRegistry = new SessionEpochRegistry(repository, Duration.ofMinutes(1), 1_000);
+	private final SecurityEventLog securityEventLog = new SecurityEventLog(events -> { }, 64, 16, Duration.ofSeconds(1),
+			SecurityEventLog.OverflowPolicy.DROP, Duration.ZERO);
+	private final UserCountTracker userCountTracker = new UserCountTracker(repository, UserCountTracker.Mode.EXACT);
+	private final LoginAttemptTracker loginAttemptTracker = new LoginAttemptTracker(repository, sessionEpochRegistry,
+			userCountTracker, 3, 100, Duration.ofMinutes(5));
+	private final SessionAccessRecorder sessionAccessRecorder = new SessionAccessRecorder(sessionRepository);
+	private final SessionService sessionService = sessionService(Duration.ofHours(1));
+	private final UserService userService = new UserService(
+			repository,
+			(userId, beforeId, limit) -> List.of(),
+			new UserIdentifierFilter(repository, 1_000, 0.01),
+			new PlainPasswordHasher(),
+			loginAttemptTracker,
+			sessionEpochRegistry,
+			securityEventLog,
+			userCountTracker,
+			new NoTransactionManager());
+
+	@Test
+	void validatesIssuedSessionAndRecordsAccess() {
+		User alice = insert("alice");
+
+		SessionUseCase.IssuedSession issued = sessionService.createSession(command(alice));
+		SessionUseCase.ValidatedSession validated = sessionService.validateSession(issued.sessionToken()).orElseThrow();
+
+		assertEquals(issued.sessionId(), validated.sessionId());
+		assertEquals(alice.getId(), validated.userId());
+		assertEquals(1, sessionAccessRecorder.getPendingCount());
+		assertEquals(Optional.empty(), sessionService.validateSession(issued.refreshToken()));
+		assertEquals(Optional.empty(), sessionService.validateSession(""));
+	}
+
+	@Test
+	void logoutAllRejectsEarlierSessions() {
+		User alice = insert("alice");
+		SessionUseCase.IssuedSession earlier = sessionService.createSession(command(alice));
+
+		sessionService.endAllSessions(alice.getId());
+
+		assertEquals(Optional.empty(), sessionService.validateSession(earlier.sessionToken()));
+		assertThrows(IllegalArgumentException.class, () -> sessionService.refreshSession(earlier.refreshToken()));
+		SessionUseCase.IssuedSession later = sessionService.createSession(command(alice));
+		assertTrue(sessionService.validateSession(later.sessionToken()).isPresent());
+	}
+
+	@Test
+	void statusChangeRejectsEarlierSessions() {
+		User alice = insert("alice");
+		SessionUseCase.IssuedSession issued = sessionService.createSession(command(alice));
+
+		userService.updateUserStatus(new UpdateUserUseCase.UpdateUserStatusCommand(alice.getId(), User.AccountStatus.SUSPENDED));
+
+		assertEquals(Optional.empty(), sessionService.validateSession(issued.sessionToken()));
+	}
+
+	@Test
+	void lockRejectsEarlierSessions() {
+		User alice = insert("alice");
+		SessionUseCase.IssuedSession issued = sessionService.createSession(command(alice));
+		// Cached before the lock, so only the flush's forget makes the bump visible
+		assertTrue(sessionService.validateSession(issued.sessionToken()).isPresent());
+
+		for (int i = 0; i < 3; i++) {
+			loginAttemptTracker.recordFailure(alice, null);
+		}
+		loginAttemptTracker.flush();
+
+		assertEquals(User.AccountStatus.LOCKED, repository.findById(alice.getId()).orElseThrow().getAccountStatus());
+		assertEquals(Optional.empty(), sessionService.validateSession(issued.sessionToken()));
+	}
+
+	@Test
+	void deletedUserSessionsAreRevoked() {
+		User alice = insert("alice");
+		SessionUseCase.IssuedSession issued = sessionService.createSession(command(alice));
+
+		userService.deleteUser(alice.getId());
+
+		assertEquals(Optional.empty(), sessionService.validateSession(issued.sessionToken()));
+		assertEquals(SessionEpochRegistry.REVOKED, sessionEpochRegistry.currentEpoch(alice.getId()));
+	}
+
+	@Test
+	void sessionCreatedForMissingUserNeverValidates() {
+		SessionUseCase.IssuedSession issued = sessionService.createSession(
+				new SessionUseCase.CreateSessionCommand(404L, "device", "10.0.0.1", "test"));
+
+		// Stamped with REVOKED itself, which no epoch exceeds; the missing row must still reject it
+		assertEquals(SessionEpochRegistry.REVOKED, sessionRepository.sessions.get(issued.sessionId()).sessionEpoch());
+		assertEquals(Optional.empty(), sessionService.validateSession(issued.sessionToken()));
+		assertThrows(IllegalArgumentException.class, () -> sessionService.refreshSession(issued.refreshToken()));
+	}
+
+	@Test
+	void refreshRotatesTokensOnce() {
+		User alice = insert("alice");
+		SessionUseCase.IssuedSession issued = sessionService.createSession(command(alice));
+
+		SessionUseCase.IssuedSession refreshed = sessionService.refreshSession(issued.refreshToken());
+
+		assertEquals(issued.sessionId(), refreshed.sessionId());
+		assertNotEquals(issued.sessionToken(), refreshed.sessionToken());
+		assertEquals(Optional.empty(), sessionService.validateSession(issued.sessionToken()));
+		assertTrue(sessionService.validateSession(refreshed.sessionToken()).isPresent());
+		assertThrows(IllegalArgumentException.class, () -> sessionService.refreshSession(issued.refreshToken()));
+	}
+
+	@Test
+	void endSessionDeactivatesOnlyThatSession() {
+		User alice = insert("alice");
+		SessionUseCase.IssuedSession first = sessionService.createSession(command(alice));
+		SessionUseCase.IssuedSession second = sessionService.createSession(command(alice));
+
+		sessionService.endSession(first.sessionToken());
+
+		assertEquals(Optional.empty(), sessionService.validateSession(first.sessionToken()));
+		assertTrue(sessionService.validateSession(second.sessionToken()).isPresent());
+	}
+
+	@Test
+	void expiredSessionIsRejected() {
+		User alice = insert("alice");
+		SessionService shortLived = sessionService(Duration.ZERO);
+		SessionUseCase.IssuedSession issued = shortLived.createSession(command(alice));
+
+		assertEquals(Optional.empty(), shortLived.validateSession(issued.sessionToken()));
+		assertThrows(IllegalArgumentException.class, () -> shortLived.refreshSession(issued.refreshToken()));
+	}
+
+	private SessionService sessionService(Duration lifetime) {
+		return new SessionService(sessionRepository, repository, sessionAccessRecorder, sessionEpochRegistry,
+				securityEventLog, lifetime);
+	}
+
+	private static SessionUseCase.CreateSessionCommand command(User user) {
+		return new SessionUseCase.CreateSessionCommand(user.getId(), "device", "10.0.0.1", "test");
+	}
+
+	private User insert(String username) {
+		User user = new User();
+		user.setUsername(username);
+		user.setEmail(username + "@example.com");
+		user.setPasswordHash("plain:password");
+		user.setFirstName("Test");
+		user.setLastName("User");
+		return repository.insert(user);
+	}
+
+	private static final class InMemorySessionRepository implements SessionRepository {
+
+		private final Map<Long, UserSession> sessions = new ConcurrentHashMap<>();
+		private final AtomicLong sequence = new AtomicLong();
+
+		@Override
+		public UserSession insert(UserSession session) {
+			UserSession stored = new UserSession(sequence.incrementAndGet(), session.userId(), session.sessionEpoch(),
+					session.sessionTokenHash(), session.refreshTokenHash(), session.deviceInfo(), session.ipAddress(),
+					session.userAgent(), session.active(), session.createdAt(), session.expiresAt(), session.lastAccessedAt());
+			sessions.put(stored.id(), stored);
+			return stored;
+		}
+
+		@Override
+		public Optional<UserSession> findActiveBySessionTokenHash(String sessionTokenHash) {
+			return sessions.values().stream()
+					.filter(session -> session.active() && session.sessionTokenHash().equals(sessionTokenHash))
+					.findFirst();
+		}
+
+		@Override
+		public Optional<UserSession> findActiveByRefreshTokenHash(String refreshTokenHash) {
+			return sessions.values().stream()
+					.filter(session -> session.active() && session.refreshTokenHash().equals(refreshTokenHash))
+					.findFirst();
+		}
+
+		@Override
+		public Optional<UserSession> rotateTokens(Long id, String expectedRefreshTokenHash, String newSessionTokenHash,
+				String newRefreshTokenHash, LocalDateTime expiresAt) {
+			UserSession current = sessions.get(id);
+			if (current == null || !current.active() || !current.refreshTokenHash().equals(expectedRefreshTokenHash)) {
+				return Optional.empty();
+			}
+			UserSession rotated = new UserSession(id, current.userId(), current.sessionEpoch(), newSessionTokenHash,
+					newRefreshTokenHash, current.deviceInfo(), current.ipAddress(), current.userAgent(), true,
+					current.createdAt(), expiresAt, current.lastAccessedAt());
+			return sessions.replace(id, current, rotated) ? Optional.of(rotated) : Optional.empty();
+		}
+
+		@Override
+		public boolean deactivate(Long id) {
+			UserSession current = sessions.get(id);
+			if (current == null || !current.active()) {
+				return false;
+			}
+			return sessions.replace(id, current, new UserSession(id, current.userId(), current.sessionEpoch(),
+					current.sessionTokenHash(), current.refreshTokenHash(), current.deviceInfo(), current.ipAddress(),
+					current.userAgent(), false, current.createdAt(), current.expiresAt(), current.lastAccessedAt()));
+		}
+
+		@Override
+		public void updateLastAccessedAt(Collection<SessionAccess> accesses) {
+		}
+	}
+
+	private static final class NoTransactionManager implements PlatformTransactionManager {
+
+		@Override
+		public TransactionStatus getTransaction(TransactionDefinition definition) {
+			return new SimpleTransactionStatus();
+		}
+
+		@Override
+		public void commit(TransactionStatus status) {
+		}
+
+		@Override
+		public void rollback(TransactionStatus status) {
+		}
+	}
+
+}
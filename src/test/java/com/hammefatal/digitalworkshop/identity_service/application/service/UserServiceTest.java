@@ -0,0 +1,88 @@
+package com.hammefatal.digitalworkshop.identity_service.application.service;
+
+import com.hammefatal.digitalworkshop.identity_service.adapter.out.memory.InMemoryUserRepository;
+import com.hammefatal.digitalworkshop.identity_service.application.port.in.UpdateUserUseCase;
+import com.hammefatal.digitalworkshop.identity_service.domain.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class UserServiceTest {
+
+	private final InMemoryUserRepository repository = new InMemoryUserRepository();
+	private final SessionEpochRegistry sessionEpochRegistry = new SessionEpochRegistry(repository, Duration.ofMinutes(1), 1_000);
+	private final UserCountTracker userCountTracker = new UserCountTracker(repository, UserCountTracker.Mode.EXACT);
+	private final LoginAttemptTracker loginAttemptTracker = new LoginAttemptTracker(repository, sessionEpochRegistry,
+			userCountTracker, 5, 100, Duration.ofMinutes(5));
+	private final UserService userService = new UserService(
+			repository,
+			(userId, beforeId, limit) -> List.of(),
+			new UserIdentifierFilter(repository, 1_000, 0.01),
+			new PlainPasswordHasher(),
+			loginAttemptTracker,
+			sessionEpochRegistry,
+			new SecurityEventLog(events -> { }, 64, 16, Duration.ofSeconds(1), SecurityEventLog.OverflowPolicy.DROP, Duration.ZERO),
+			userCountTracker,
+			new NoTransactionManager());
+
+	@Test
+	void suspensionKeepsPendingLoginFailures() {
+		User alice = insert("alice");
+		loginAttemptTracker.recordFailure(alice, null);
+		loginAttemptTracker.recordFailure(alice, null);
+
+		userService.updateUserStatus(new UpdateUserUseCase.UpdateUserStatusCommand(alice.getId(), User.AccountStatus.SUSPENDED));
+		loginAttemptTracker.flush();
+
+		User stored = repository.findById(alice.getId()).orElseThrow();
+		assertEquals(User.AccountStatus.SUSPENDED, stored.getAccountStatus());
+		assertEquals(2, stored.getFailedLoginAttempts());
+	}
+
+	@Test
+	void reactivationDropsPendingLoginFailures() {
+		User alice = insert("alice");
+		repository.updateAccountStatus(alice.getId(), User.AccountStatus.SUSPENDED);
+		loginAttemptTracker.recordFailure(alice, null);
+
+		userService.updateUserStatus(new UpdateUserUseCase.UpdateUserStatusCommand(alice.getId(), User.AccountStatus.ACTIVE));
+		loginAttemptTracker.flush();
+
+		assertEquals(0, loginAttemptTracker.getTrackedUserCount());
+		assertEquals(0, repository.findById(alice.getId()).orElseThrow().getFailedLoginAttempts());
+	}
+
+	private User insert(String username) {
+		User user = new User();
+		user.setUsername(username);
+		user.setEmail(username + "@example.com");
+		user.setPasswordHash("plain:password");
+		user.setFirstName("Alice");
+		user.setLastName("Smith");
+		return repository.insert(user);
+	}
+
+	private static final class NoTransactionManager implements PlatformTransactionManager {
+
+		@Override
+		public TransactionStatus getTransaction(TransactionDefinition definition) {
+			return new SimpleTransactionStatus();
+		}
+
+		@Override
+		public void commit(TransactionStatus status) {
+		}
+
+		@Override
+		public void rollback(TransactionStatus status) {
+		}
+	}
+
+}